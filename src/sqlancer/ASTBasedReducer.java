@@ -4,9 +4,12 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import sqlancer.common.query.Query;
 import sqlancer.common.query.SQLQueryAdapter;
+import sqlancer.transformations.ReductionContext;
 import sqlancer.transformations.RemoveClausesOfSelect;
 import sqlancer.transformations.RemoveColumnsOfSelect;
 import sqlancer.transformations.RemoveElementsOfExpressionList;
@@ -30,6 +33,10 @@ public class ASTBasedReducer<G extends GlobalState<O, ?, C>, O extends DBMSSpeci
     private List<Query<C>> reducedStatements;
     // statement after reduction.
 
+    private ReducerDatabaseManager<G, O, C> databases;
+    // index of the statement that is currently being transformed
+    private int currentStatementIndex;
+
     public ASTBasedReducer(DatabaseProvider<G, O, C> provider) {
         this.provider = provider;
     }
@@ -47,8 +54,8 @@ public class ASTBasedReducer<G extends GlobalState<O, ?, C>, O extends DBMSSpeci
         this.newGlobalState = newGlobalState;
         this.reproducer = reproducer;
 
-        long maxReduceTime = state.getOptions().getMaxStatementReduceTime();
-        long maxReduceSteps = state.getOptions().getMaxStatementReduceSteps();
+        long maxReduceTime = state.getOptions().getMaxASTReduceTime();
+        long maxReduceSteps = state.getOptions().getMaxASTReduceSteps();
 
         List<Query<?>> initialBugInducingStatements = state.getState().getStatements();
         newGlobalState.getState().setStatements(new ArrayList<>(initialBugInducingStatements));
@@ -64,20 +71,41 @@ public class ASTBasedReducer<G extends GlobalState<O, ?, C>, O extends DBMSSpeci
         transformations.add(new SimplifyConstant());
         transformations.add(new RoundDoubleConstant());
 
-        Transformation.setBugJudgement(() -> {
-            try {
-                return this.bugStillTriggers();
-            } catch (Exception ignored) {
-            }
-            return false;
-        });
+        ReductionContext context = new ReductionContext(
+                () -> reducedStatements.stream().map(Query::getQueryString).collect(Collectors.toList()), () -> {
+                    try {
+                        return this.bugStillTriggers();
+                    } catch (Exception ignored) {
+                    }
+                    return false;
+                });
+        for (Transformation t : transformations) {
+            t.setReductionContext(context);
+        }
 
-        boolean observeChange;
         reducedStatements = new ArrayList<>();
         for (Query<?> query : initialBugInducingStatements) {
             reducedStatements.add((Query<C>) query);
         }
 
+        databases = new ReducerDatabaseManager<>(provider, newGlobalState);
+        try {
+            reduceStatements(transformations, context, maxReduceTime, maxReduceSteps);
+        } finally {
+            databases.close();
+            databases = null;
+        }
+
+        for (Map.Entry<String, ReductionContext.Statistics> e : context.getStatistics().entrySet()) {
+            newGlobalState.getLogger().logReducer(e.getKey() + " - " + e.getValue() + System.lineSeparator());
+        }
+        newGlobalState.getState().setStatements(new ArrayList<>(reducedStatements));
+        newGlobalState.getLogger().logReduced(newGlobalState.getState());
+    }
+
+    private void reduceStatements(List<Transformation> transformations, ReductionContext context, long maxReduceTime,
+            long maxReduceSteps) {
+        boolean observeChange;
         Instant startTime = Instant.now();
         reduceProcess: do {
             observeChange = false;
@@ -91,11 +119,12 @@ public class ASTBasedReducer<G extends GlobalState<O, ?, C>, O extends DBMSSpeci
                     }
 
                     if (maxReduceSteps != MainOptions.NO_REDUCE_LIMIT
-                            && Transformation.getReduceSteps() >= maxReduceSteps) {
+                            && context.getReduceSteps() >= maxReduceSteps) {
                         break reduceProcess;
                     }
 
                     Query<?> query = reducedStatements.get(i);
+                    currentStatementIndex = i;
                     boolean initFlag = t.init(query.getQueryString());
                     int index = i;
                     t.setStatementChangedCallBack((statementString) -> {
@@ -112,32 +141,21 @@ public class ASTBasedReducer<G extends GlobalState<O, ?, C>, O extends DBMSSpeci
                 }
             }
         } while (observeChange);
-
-        newGlobalState.getState().setStatements(new ArrayList<>(reducedStatements));
-        newGlobalState.getLogger().logReduced(newGlobalState.getState());
     }
 
     public boolean bugStillTriggers() throws Exception {
-        try (C con2 = provider.createDatabase(newGlobalState)) {
-            newGlobalState.setConnection(con2);
-            List<Query<C>> candidateStatements = new ArrayList<>(reducedStatements);
-            newGlobalState.getState().setStatements(new ArrayList<>(candidateStatements));
-
-            for (Query<C> s : candidateStatements) {
-                try {
-                    s.execute(newGlobalState);
-                } catch (Throwable ignoredException) {
-                    // ignore
-                }
+        List<Query<C>> candidateStatements = new ArrayList<>(reducedStatements);
+        newGlobalState.getState().setStatements(new ArrayList<>(candidateStatements));
+
+        // the candidates of a transformation only differ in the statement that is being transformed
+        databases.prepare(newGlobalState, candidateStatements, currentStatementIndex);
+        try {
+            if (reproducer.bugStillTriggers(newGlobalState)) {
+                newGlobalState.getLogger().logReduced(newGlobalState.getState());
+                return true;
             }
-            try {
-                if (reproducer.bugStillTriggers(newGlobalState)) {
-                    newGlobalState.getLogger().logReduced(newGlobalState.getState());
-                    return true;
-                }
-            } catch (Throwable ignoredException) {
+        } catch (Throwable ignoredException) {
 
-            }
         }
         return false;
     }
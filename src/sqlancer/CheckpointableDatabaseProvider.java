@@ -0,0 +1,94 @@
+package sqlancer;
+
+import sqlancer.common.query.Query;
+
+/**
+ * A {@link DatabaseProvider} that can save the content of a database and later restore it more cheaply than by
+ * re-creating the database and executing all statements again. The reducers use checkpoints to avoid re-executing the
+ * statements that a sequence of candidates has in common. A checkpoint only contains the database, not the state of
+ * the session that executed the statements, so that the reducers ask the provider which statements affect the session
+ * (see {@link #getSessionEffect}).
+ *
+ * @param <G>
+ *            the global state type
+ * @param <C>
+ *            the connection type
+ */
+public interface CheckpointableDatabaseProvider<G extends GlobalState<?, ?, C>, C extends SQLancerDBConnection> {
+
+    /**
+     * A saved database content, which is discarded when closed.
+     */
+    interface Checkpoint extends AutoCloseable {
+    }
+
+    /**
+     * The effect of a statement on the session that executes it, which is lost when the connection is replaced.
+     */
+    enum SessionEffect {
+        /** The statement only changes the database. */
+        NONE,
+        /** The statement changes a setting, which is applied again to the session of a restored database. */
+        SETTING,
+        /**
+         * The statement creates state that only exists in the session, such as a temporary table or an open
+         * transaction, so that no checkpoint is created after it.
+         */
+        SESSION_STATE
+    }
+
+    /**
+     * Returns whether checkpoints can be used for the given configuration.
+     *
+     * @param globalState
+     *            the state whose database would be checkpointed
+     *
+     * @return whether {@link #createCheckpoint} and {@link #restoreCheckpoint} are supported
+     */
+    default boolean supportsCheckpoints(G globalState) {
+        return true;
+    }
+
+    /**
+     * Classifies a statement by its effect on the session.
+     *
+     * @param statement
+     *            a statement that has been executed on the database
+     *
+     * @return the effect of the statement on the session
+     */
+    default SessionEffect getSessionEffect(Query<C> statement) {
+        return SessionEffect.NONE;
+    }
+
+    /**
+     * Saves the current content of the database of the global state. Implementations may replace the connection of
+     * the global state, for example, if saving requires closing the connection first.
+     *
+     * @param globalState
+     *            the state whose database is saved
+     *
+     * @return the checkpoint
+     *
+     * @throws Exception
+     *             if the checkpoint cannot be created
+     */
+    Checkpoint createCheckpoint(G globalState) throws Exception;
+
+    /**
+     * Replaces the database of the global state with the content saved by the checkpoint. The previous connection has
+     * been closed by the caller.
+     *
+     * @param globalState
+     *            the state whose database is restored
+     * @param checkpoint
+     *            a checkpoint created by this provider for a database of the same name
+     *
+     * @return a connection to the restored database
+     *
+     * @throws Exception
+     *             if the checkpoint cannot be restored
+     */
+    C restoreCheckpoint(G globalState, Checkpoint checkpoint) throws Exception;
+
+}
@@ -6,6 +6,7 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
@@ -38,6 +39,36 @@ public final class ComparatorHelper {
 
     public static List<String> getResultSetFirstColumnAsString(String queryString, ExpectedErrors errors,
             SQLGlobalState<?, ?> state) throws SQLException {
+        List<String> resultSet = new ArrayList<>();
+        forEachFirstColumnValue(queryString, errors, state, resultSet::add);
+        return resultSet;
+    }
+
+    /**
+     * Executes the query and summarizes the values of its first column while the rows are fetched, rather than
+     * collecting them in a list. The values are canonicalized like by {@link #getResultSetFirstColumnAsString}.
+     *
+     * @param queryString
+     *            the query to execute
+     * @param errors
+     *            the errors that the query might result in
+     * @param state
+     *            the global state
+     *
+     * @return the fingerprint of the result set
+     *
+     * @throws SQLException
+     *             if the query results in an error
+     */
+    public static ResultSetFingerprint getResultSetFirstColumnFingerprint(String queryString, ExpectedErrors errors,
+            SQLGlobalState<?, ?> state) throws SQLException {
+        ResultSetFingerprint fingerprint = new ResultSetFingerprint();
+        forEachFirstColumnValue(queryString, errors, state, fingerprint::add);
+        return fingerprint;
+    }
+
+    private static void forEachFirstColumnValue(String queryString, ExpectedErrors errors, SQLGlobalState<?, ?> state,
+            Consumer<String> consumer) throws SQLException {
         if (state.getOptions().logEachSelect()) {
             // TODO: refactor me
             state.getLogger().writeCurrent(queryString);
@@ -50,7 +81,6 @@ public final class ComparatorHelper {
         }
         boolean canonicalizeString = state.getOptions().canonicalizeSqlString();
         SQLQueryAdapter q = new SQLQueryAdapter(queryString, errors, true, canonicalizeString);
-        List<String> resultSet = new ArrayList<>();
         SQLancerResultSet result = null;
         try {
             result = q.executeAndGet(state);
@@ -58,12 +88,8 @@ public final class ComparatorHelper {
                 throw new IgnoreMeException();
             }
             while (result.next()) {
-                String resultTemp = result.getString(1);
-                if (resultTemp != null) {
-                    resultTemp = resultTemp.replaceAll("[\\.]0+$", ""); // Remove the trailing zeros as many DBMS treat
-                    // it as non-bugs
-                }
-                resultSet.add(resultTemp);
+                // Remove the trailing zeros as many DBMS treat it as non-bugs
+                consumer.accept(removeTrailingZeros(result.getString(1)));
             }
         } catch (Exception e) {
             if (e instanceof IgnoreMeException) {
@@ -82,52 +108,132 @@ public final class ComparatorHelper {
                 result.close();
             }
         }
-        return resultSet;
+    }
+
+    /*
+     * Equivalent to value.replaceAll("[\\.]0+$", ""), but only allocates a new string if the value has trailing
+     * zeros. Like $, the trailing zeros may be followed by a final line terminator.
+     */
+    static String removeTrailingZeros(String value) {
+        if (value == null) {
+            return null;
+        }
+        int end = value.length();
+        if (value.endsWith("\r\n")) {
+            end -= 2;
+        } else if (end > 0 && isLineTerminator(value.charAt(end - 1))) {
+            end--;
+        }
+        int start = end;
+        while (start > 0 && value.charAt(start - 1) == '0') {
+            start--;
+        }
+        if (start == end || start == 0 || value.charAt(start - 1) != '.') {
+            return value;
+        }
+        return value.substring(0, start - 1) + value.substring(end);
+    }
+
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
     }
 
     public static void assumeResultSetsAreEqual(List<String> resultSet, List<String> secondResultSet,
             String originalQueryString, List<String> combinedString, SQLGlobalState<?, ?> state) {
         if (resultSet.size() != secondResultSet.size()) {
-            String queryFormatString = "-- %s;" + System.lineSeparator() + "-- cardinality: %d"
-                    + System.lineSeparator();
-            String firstQueryString = String.format(queryFormatString, originalQueryString, resultSet.size());
-            String combinedQueryString = String.join(";", combinedString);
-            String secondQueryString = String.format(queryFormatString, combinedQueryString, secondResultSet.size());
-            state.getState().getLocalState()
-                    .log(String.format("%s" + System.lineSeparator() + "%s", firstQueryString, secondQueryString));
-            String assertionMessage = String.format(
-                    "The size of the result sets mismatch (%d and %d)!" + System.lineSeparator()
-                            + "First query: \"%s\", whose cardinality is: %d" + System.lineSeparator()
-                            + "Second query:\"%s\", whose cardinality is: %d",
-                    resultSet.size(), secondResultSet.size(), originalQueryString, resultSet.size(),
-                    combinedQueryString, secondResultSet.size());
-            throw new AssertionError(assertionMessage);
-        }
-
-        Set<String> firstHashSet = new HashSet<>(resultSet);
-        Set<String> secondHashSet = new HashSet<>(secondResultSet);
+            throwCardinalityMismatch(resultSet.size(), secondResultSet.size(), originalQueryString, combinedString,
+                    state);
+        }
 
         boolean validateResultSizeOnly = state.getOptions().validateResultSizeOnly();
-        if (!validateResultSizeOnly && !firstHashSet.equals(secondHashSet)) {
-            Set<String> firstResultSetMisses = new HashSet<>(firstHashSet);
-            firstResultSetMisses.removeAll(secondHashSet);
-            Set<String> secondResultSetMisses = new HashSet<>(secondHashSet);
-            secondResultSetMisses.removeAll(firstHashSet);
-
-            String queryFormatString = "-- Query: \"%s\"; It misses: \"%s\"";
-            String firstQueryString = String.format(queryFormatString, originalQueryString, firstResultSetMisses);
-            String secondQueryString = String.format(queryFormatString, String.join(";", combinedString),
-                    secondResultSetMisses);
-            // update the SELECT queries to be logged at the bottom of the error log file
-            state.getState().getLocalState()
-                    .log(String.format("%s" + System.lineSeparator() + "%s", firstQueryString, secondQueryString));
-            String assertionMessage = String.format("The content of the result sets mismatch!" + System.lineSeparator()
-                    + "First query : \"%s\"" + System.lineSeparator() + "Second query: \"%s\"", originalQueryString,
-                    secondQueryString);
-            throw new AssertionError(assertionMessage);
+        if (!validateResultSizeOnly && !getFingerprint(resultSet).hasSameValues(getFingerprint(secondResultSet))) {
+            throwContentMismatch(resultSet, secondResultSet, originalQueryString, combinedString, state);
         }
     }
 
+    /**
+     * Compares two result sets with the same semantics as {@link #assumeResultSetsAreEqual(List, List, String, List,
+     * SQLGlobalState)}. Since the fingerprints do not contain the values, the queries are executed again to report the
+     * values that differ in case of a mismatch.
+     *
+     * @param resultSet
+     *            the fingerprint of the result set of the original query
+     * @param secondResultSet
+     *            the fingerprint of the combined result sets of the queries in combinedString
+     * @param originalQueryString
+     *            the original query
+     * @param combinedString
+     *            the queries whose results were combined
+     * @param state
+     *            the global state
+     */
+    public static void assumeResultSetsAreEqual(ResultSetFingerprint resultSet, ResultSetFingerprint secondResultSet,
+            String originalQueryString, List<String> combinedString, SQLGlobalState<?, ?> state) {
+        if (resultSet.getNrRows() != secondResultSet.getNrRows()) {
+            throwCardinalityMismatch(resultSet.getNrRows(), secondResultSet.getNrRows(), originalQueryString,
+                    combinedString, state);
+        }
+
+        boolean validateResultSizeOnly = state.getOptions().validateResultSizeOnly();
+        if (!validateResultSizeOnly && !resultSet.hasSameValues(secondResultSet)) {
+            List<String> firstValues = new ArrayList<>();
+            List<String> secondValues = new ArrayList<>();
+            try {
+                firstValues = getResultSetFirstColumnAsString(originalQueryString, ExpectedErrors.from(), state);
+                for (String query : combinedString) {
+                    secondValues.addAll(getResultSetFirstColumnAsString(query, ExpectedErrors.from(), state));
+                }
+            } catch (SQLException | IgnoreMeException | AssertionError e) {
+                // still report the mismatch, albeit without the differing values
+            }
+            throwContentMismatch(firstValues, secondValues, originalQueryString, combinedString, state);
+        }
+    }
+
+    private static ResultSetFingerprint getFingerprint(List<String> resultSet) {
+        ResultSetFingerprint fingerprint = new ResultSetFingerprint();
+        for (String value : resultSet) {
+            fingerprint.add(value);
+        }
+        return fingerprint;
+    }
+
+    private static void throwCardinalityMismatch(int size, int secondSize, String originalQueryString,
+            List<String> combinedString, SQLGlobalState<?, ?> state) {
+        String queryFormatString = "-- %s;" + System.lineSeparator() + "-- cardinality: %d" + System.lineSeparator();
+        String firstQueryString = String.format(queryFormatString, originalQueryString, size);
+        String combinedQueryString = String.join(";", combinedString);
+        String secondQueryString = String.format(queryFormatString, combinedQueryString, secondSize);
+        state.getState().getLocalState()
+                .log(String.format("%s" + System.lineSeparator() + "%s", firstQueryString, secondQueryString));
+        String assertionMessage = String.format(
+                "The size of the result sets mismatch (%d and %d)!" + System.lineSeparator()
+                        + "First query: \"%s\", whose cardinality is: %d" + System.lineSeparator()
+                        + "Second query:\"%s\", whose cardinality is: %d",
+                size, secondSize, originalQueryString, size, combinedQueryString, secondSize);
+        throw new AssertionError(assertionMessage);
+    }
+
+    private static void throwContentMismatch(List<String> resultSet, List<String> secondResultSet,
+            String originalQueryString, List<String> combinedString, SQLGlobalState<?, ?> state) {
+        Set<String> firstResultSetMisses = new HashSet<>(resultSet);
+        secondResultSet.forEach(firstResultSetMisses::remove);
+        Set<String> secondResultSetMisses = new HashSet<>(secondResultSet);
+        resultSet.forEach(secondResultSetMisses::remove);
+
+        String queryFormatString = "-- Query: \"%s\"; It misses: \"%s\"";
+        String firstQueryString = String.format(queryFormatString, originalQueryString, firstResultSetMisses);
+        String secondQueryString = String.format(queryFormatString, String.join(";", combinedString),
+                secondResultSetMisses);
+        // update the SELECT queries to be logged at the bottom of the error log file
+        state.getState().getLocalState()
+                .log(String.format("%s" + System.lineSeparator() + "%s", firstQueryString, secondQueryString));
+        String assertionMessage = String.format("The content of the result sets mismatch!" + System.lineSeparator()
+                + "First query : \"%s\"" + System.lineSeparator() + "Second query: \"%s\"", originalQueryString,
+                secondQueryString);
+        throw new AssertionError(assertionMessage);
+    }
+
     public static void assumeResultSetsAreEqual(List<String> resultSet, List<String> secondResultSet,
             String originalQueryString, List<String> combinedString, SQLGlobalState<?, ?> state,
             UnaryOperator<String> canonicalizationRule) {
@@ -161,6 +267,49 @@ public final class ComparatorHelper {
         return secondResultSet;
     }
 
+    /**
+     * Like {@link #getCombinedResultSet}, but summarizes the combined result set while the rows are fetched.
+     *
+     * @param firstQueryString
+     *            the first query
+     * @param secondQueryString
+     *            the second query
+     * @param thirdQueryString
+     *            the third query
+     * @param combinedString
+     *            the list to which the executed queries are added
+     * @param asUnion
+     *            whether the queries are combined using UNION ALL, rather than executed individually
+     * @param state
+     *            the global state
+     * @param errors
+     *            the errors that the queries might result in
+     *
+     * @return the fingerprint of the combined result set
+     *
+     * @throws SQLException
+     *             if a query results in an error
+     */
+    public static ResultSetFingerprint getCombinedResultSetFingerprint(String firstQueryString,
+            String secondQueryString, String thirdQueryString, List<String> combinedString, boolean asUnion,
+            SQLGlobalState<?, ?> state, ExpectedErrors errors) throws SQLException {
+        ResultSetFingerprint fingerprint = new ResultSetFingerprint();
+        if (asUnion) {
+            String unionString = firstQueryString + " UNION ALL " + secondQueryString + " UNION ALL "
+                    + thirdQueryString;
+            combinedString.add(unionString);
+            forEachFirstColumnValue(unionString, errors, state, fingerprint::add);
+        } else {
+            forEachFirstColumnValue(firstQueryString, errors, state, fingerprint::add);
+            forEachFirstColumnValue(secondQueryString, errors, state, fingerprint::add);
+            forEachFirstColumnValue(thirdQueryString, errors, state, fingerprint::add);
+            combinedString.add(firstQueryString);
+            combinedString.add(secondQueryString);
+            combinedString.add(thirdQueryString);
+        }
+        return fingerprint;
+    }
+
     public static List<String> getCombinedResultSetNoDuplicates(String firstQueryString, String secondQueryString,
             String thirdQueryString, List<String> combinedString, boolean asUnion, SQLGlobalState<?, ?> state,
             ExpectedErrors errors) throws SQLException {
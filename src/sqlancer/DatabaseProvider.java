@@ -32,6 +32,33 @@ public interface DatabaseProvider<G extends GlobalState<O, ?, C>, O extends DBMS
      */
     Reproducer<G> generateAndTestDatabase(G globalState) throws Exception;
 
+    /**
+     * Generates a single database, which is subsequently tested by {@link #testPreparedDatabase}. Together, both methods
+     * are equivalent to {@link #generateAndTestDatabase}, but allow generating the next database while the current one
+     * is being tested.
+     *
+     * @param globalState
+     *            the state created and is valid for this method and the following call of
+     *            {@link #testPreparedDatabase}.
+     *
+     * @throws Exception
+     *             if creating the database fails.
+     */
+    void prepareDatabase(G globalState) throws Exception;
+
+    /**
+     * Executes a test oracle a given number of times on a database generated by {@link #prepareDatabase}.
+     *
+     * @param globalState
+     *            the state passed to {@link #prepareDatabase}.
+     *
+     * @return Reproducer if a bug is found and a reproducer is available.
+     *
+     * @throws Exception
+     *             if testing fails.
+     */
+    Reproducer<G> testPreparedDatabase(G globalState) throws Exception;
+
     /**
      * The experimental feature: Query Plan Guidance.
      *
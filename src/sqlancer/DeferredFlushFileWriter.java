@@ -0,0 +1,149 @@
+package sqlancer;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A file writer for frequently written logs, such as the statements logged by {@code --log-each-select}. Rather than
+ * writing each record to the file when it is flushed, the writer collects the records in memory and writes them in one
+ * go, either when a background thread drains all open writers (every {@code --log-flush-interval} milliseconds), when
+ * {@code --log-flush-records} records are pending, or when the writer is closed. Pending records are also written when
+ * the JVM shuts down, so that they are only lost if the JVM is killed or crashes in native code; in this case, at most
+ * the records of the last interval, or fewer than {@code --log-flush-records} records, are lost.
+ */
+final class DeferredFlushFileWriter extends FileWriter {
+
+    private static final Set<DeferredFlushFileWriter> OPEN_WRITERS = ConcurrentHashMap.newKeySet();
+    private static ScheduledExecutorService drainer;
+
+    private final int maxPendingRecords;
+    private final StringBuilder pending = new StringBuilder();
+    private int nrPendingRecords;
+
+    private DeferredFlushFileWriter(File file, boolean append, int maxPendingRecords) throws IOException {
+        super(file, append);
+        this.maxPendingRecords = maxPendingRecords;
+    }
+
+    /**
+     * Creates a writer that defers flushes as configured by the options, or a plain {@link FileWriter} if flushes
+     * should not be deferred.
+     *
+     * @param file
+     *            the file to write to
+     * @param append
+     *            whether to append to the file rather than overwrite it
+     * @param options
+     *            the options that specify the flush policy
+     *
+     * @return the writer
+     *
+     * @throws IOException
+     *             if the file cannot be opened
+     */
+    static FileWriter create(File file, boolean append, MainOptions options) throws IOException {
+        if (options.getLogFlushInterval() == 0) {
+            return new FileWriter(file, append);
+        }
+        startDrainer(options.getLogFlushInterval());
+        DeferredFlushFileWriter writer = new DeferredFlushFileWriter(file, append, options.getLogFlushRecords());
+        OPEN_WRITERS.add(writer);
+        return writer;
+    }
+
+    private static synchronized void startDrainer(long intervalMillis) {
+        if (drainer != null) {
+            return;
+        }
+        drainer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "log-drainer");
+            t.setDaemon(true);
+            return t;
+        });
+        drainer.scheduleWithFixedDelay(DeferredFlushFileWriter::drainAll, intervalMillis, intervalMillis,
+                TimeUnit.MILLISECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(DeferredFlushFileWriter::drainAll));
+    }
+
+    private static void drainAll() {
+        for (DeferredFlushFileWriter writer : OPEN_WRITERS) {
+            try {
+                writer.drain();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    @Override
+    public synchronized void write(int c) {
+        pending.append((char) c);
+    }
+
+    @Override
+    public synchronized void write(char[] cbuf, int off, int len) {
+        pending.append(cbuf, off, len);
+    }
+
+    @Override
+    public synchronized void write(String str, int off, int len) {
+        pending.append(str, off, off + len);
+    }
+
+    // OutputStreamWriter passes appended characters directly to its encoder
+    @Override
+    public synchronized FileWriter append(CharSequence csq) {
+        pending.append(csq);
+        return this;
+    }
+
+    @Override
+    public synchronized FileWriter append(CharSequence csq, int start, int end) {
+        pending.append(csq == null ? "null" : csq, start, end);
+        return this;
+    }
+
+    @Override
+    public synchronized FileWriter append(char c) {
+        pending.append(c);
+        return this;
+    }
+
+    /**
+     * Marks the end of a record. The pending records are only written to the file if {@code --log-flush-records}
+     * records are pending; otherwise, they are written by the background thread.
+     */
+    @Override
+    public synchronized void flush() throws IOException {
+        if (maxPendingRecords != 0 && ++nrPendingRecords >= maxPendingRecords) {
+            drain();
+        }
+    }
+
+    private synchronized void drain() throws IOException {
+        nrPendingRecords = 0;
+        if (pending.length() == 0) {
+            return;
+        }
+        super.write(pending.toString(), 0, pending.length());
+        pending.setLength(0);
+        super.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        OPEN_WRITERS.remove(this);
+        try {
+            drain();
+        } finally {
+            super.close();
+        }
+    }
+
+}
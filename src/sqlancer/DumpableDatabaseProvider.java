@@ -0,0 +1,30 @@
+package sqlancer;
+
+import java.util.List;
+
+/**
+ * A {@link DatabaseProvider} that can describe the current content of a database as a sequence of statements, which
+ * recreate the database's schema, rows, and relevant settings when executed on a new database. The dump allows
+ * replacing a long history of statements in the {@link StateToReproduce} by statements whose number depends only on
+ * the size of the database.
+ *
+ * @param <G>
+ *            the global state type
+ */
+public interface DumpableDatabaseProvider<G extends GlobalState<?, ?, ?>> {
+
+    /**
+     * Dumps the database of the global state.
+     *
+     * @param globalState
+     *            the state whose database is dumped
+     *
+     * @return the statements that recreate the database, or null if the database contains objects that cannot be
+     *         dumped
+     *
+     * @throws Exception
+     *             if the database cannot be read
+     */
+    List<String> dumpDatabase(G globalState) throws Exception;
+
+}
@@ -1,12 +1,23 @@
 package sqlancer;
 
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import sqlancer.common.metrics.LatencyMetrics;
 import sqlancer.common.query.Query;
 import sqlancer.common.query.SQLancerResultSet;
 import sqlancer.common.schema.AbstractSchema;
 import sqlancer.common.schema.AbstractTable;
+import sqlancer.common.schema.TableIndex;
 
 public abstract class GlobalState<O extends DBMSSpecificOptions<?>, S extends AbstractSchema<?, ?>, C extends SQLancerDBConnection> {
 
+    // statements that might change the contents of tables, but not the tables, columns, views, or indexes
+    private static final Pattern STRUCTURE_PRESERVING_STATEMENT = Pattern
+            .compile("\\s*(INSERT|UPDATE|DELETE|REPLACE|BEGIN|START TRANSACTION|COMMIT)\\b", Pattern.CASE_INSENSITIVE);
+
     protected C databaseConnection;
     private Randomly r;
     private MainOptions options;
@@ -16,6 +27,9 @@ public abstract class GlobalState<O extends DBMSSpecificOptions<?>, S extends Ab
     private StateToReproduce state;
     private Main.QueryManager<C> manager;
     private String databaseName;
+    private int nrIncrementalSchemaUpdates;
+    private String statementKind;
+    private String dbmsName;
 
     public void setConnection(C con) {
         this.databaseConnection = con;
@@ -82,12 +96,31 @@ public abstract class GlobalState<O extends DBMSSpecificOptions<?>, S extends Ab
         this.databaseName = databaseName;
     }
 
+    /**
+     * Sets the kind of the statements that are generated and executed next, by which their latencies are grouped in the
+     * {@link LatencyMetrics}, for example, the action that generates them or the test oracle that issues them.
+     *
+     * @param statementKind
+     *            the kind, or null if the statements are of no particular kind
+     */
+    public void setStatementKind(String statementKind) {
+        this.statementKind = statementKind;
+    }
+
+    public String getStatementKind() {
+        return statementKind;
+    }
+
+    public void recordLatency(LatencyMetrics.Phase phase, String kind, LatencyMetrics.Outcome outcome,
+            ExecutionTimer timer) {
+        if (dbmsName == null) {
+            dbmsName = state.getDatabaseProvider().getDBMSName();
+        }
+        LatencyMetrics.record(dbmsName, phase, kind, outcome, timer.end().getNanos());
+    }
+
     private ExecutionTimer executePrologue(Query<?> q) throws Exception {
         boolean logExecutionTime = getOptions().logExecutionTime();
-        ExecutionTimer timer = null;
-        if (logExecutionTime) {
-            timer = new ExecutionTimer().start();
-        }
         if (getOptions().printAllStatements()) {
             System.out.println(q.getLogString());
         }
@@ -98,22 +131,83 @@ public abstract class GlobalState<O extends DBMSSpecificOptions<?>, S extends Ab
                 getLogger().writeCurrent(q.getLogString());
             }
         }
-        return timer;
+        return new ExecutionTimer().start();
     }
 
     protected abstract void executeEpilogue(Query<?> q, boolean success, ExecutionTimer timer) throws Exception;
 
     public boolean executeStatement(Query<C> q, String... fills) throws Exception {
         ExecutionTimer timer = executePrologue(q);
-        boolean success = manager.execute(q, fills);
+        boolean success;
+        try {
+            success = manager.execute(q, fills);
+        } catch (Throwable t) {
+            recordLatency(LatencyMetrics.Phase.EXECUTION, statementKind, LatencyMetrics.Outcome.of(t), timer);
+            throw t;
+        }
+        recordLatency(LatencyMetrics.Phase.EXECUTION, statementKind,
+                success ? LatencyMetrics.Outcome.SUCCESS : LatencyMetrics.Outcome.EXPECTED_ERROR, timer);
         executeEpilogue(q, success, timer);
         return success;
     }
 
+    /**
+     * Executes queries that can be batched (see {@link Query#canBeBatched()}) in a single batch. Queries that failed,
+     * or that were not executed since an earlier query in the batch failed, are neither logged in the state to
+     * reproduce nor checked against their expected errors, and need to be executed individually by the caller.
+     *
+     * @param queries
+     *            the queries to execute
+     *
+     * @return for each query, whether it has been executed successfully
+     *
+     * @throws IgnoreMeException
+     *             if the batch failed without reporting which queries have been executed, so that the database needs
+     *             to be discarded
+     * @throws Exception
+     *             if the batch cannot be executed
+     */
+    public boolean[] executeBatch(List<Query<C>> queries) throws Exception {
+        // the whole batch is written to the current log, since its queries may have been executed when the DBMS fails
+        for (Query<C> q : queries) {
+            executePrologue(q);
+        }
+        ExecutionTimer timer = new ExecutionTimer().start();
+        boolean[] executed;
+        try {
+            executed = manager.executeBatch(queries);
+        } catch (Throwable t) {
+            recordLatency(LatencyMetrics.Phase.EXECUTION, "BATCH", LatencyMetrics.Outcome.of(t), timer);
+            throw t;
+        }
+        boolean allExecuted = true;
+        for (boolean e : executed) {
+            allExecuted &= e;
+        }
+        // the statements of a batch are not timed individually
+        recordLatency(LatencyMetrics.Phase.EXECUTION, "BATCH",
+                allExecuted ? LatencyMetrics.Outcome.SUCCESS : LatencyMetrics.Outcome.EXPECTED_ERROR, timer);
+        for (int i = 0; i < queries.size(); i++) {
+            if (executed[i]) {
+                executeEpilogue(queries.get(i), true, null);
+            }
+        }
+        return executed;
+    }
+
     public SQLancerResultSet executeStatementAndGet(Query<C> q, String... fills) throws Exception {
         ExecutionTimer timer = executePrologue(q);
-        SQLancerResultSet result = manager.executeAndGet(q, fills);
+        SQLancerResultSet result;
+        try {
+            result = manager.executeAndGet(q, fills);
+        } catch (Throwable t) {
+            recordLatency(LatencyMetrics.Phase.EXECUTION, statementKind, LatencyMetrics.Outcome.of(t), timer);
+            throw t;
+        }
         boolean success = result != null;
+        // the time until the result is available, while the epilogue logs the time until it has been read
+        recordLatency(LatencyMetrics.Phase.EXECUTION, statementKind,
+                success ? LatencyMetrics.Outcome.SUCCESS : LatencyMetrics.Outcome.EXPECTED_ERROR, timer);
         if (success) {
             result.registerEpilogue(() -> {
                 try {
@@ -142,10 +236,117 @@ public abstract class GlobalState<O extends DBMSSpecificOptions<?>, S extends Ab
     }
 
     public void updateSchema() throws Exception {
-        setSchema(readSchema());
-        for (AbstractTable<?, ?, ?> table : schema.getDatabaseTables()) {
-            table.recomputeCount();
+        ExecutionTimer timer = new ExecutionTimer().start();
+        try {
+            setSchema(readSchema());
+            for (AbstractTable<?, ?, ?> table : schema.getDatabaseTables()) {
+                table.recomputeCount();
+            }
+        } catch (Throwable t) {
+            recordLatency(LatencyMetrics.Phase.SCHEMA_REFRESH, statementKind, LatencyMetrics.Outcome.of(t), timer);
+            throw t;
         }
+        recordLatency(LatencyMetrics.Phase.SCHEMA_REFRESH, statementKind, LatencyMetrics.Outcome.SUCCESS, timer);
+    }
+
+    /**
+     * Updates the schema after executing a statement that could affect it. If {@link #applySchemaDelta} can infer the
+     * statement's effect, only the cached schema is updated; otherwise, the whole schema is read again.
+     *
+     * @param q
+     *            the executed statement
+     * @param success
+     *            whether the statement was executed successfully
+     *
+     * @throws Exception
+     *             if reading the schema fails
+     */
+    protected void updateSchema(Query<?> q, boolean success) throws Exception {
+        if (schema == null || !useIncrementalSchemaUpdates()) {
+            updateSchema();
+            return;
+        }
+        S updatedSchema = applySchemaDelta(schema, q, success);
+        if (updatedSchema == null) {
+            updateSchema();
+            return;
+        }
+        setSchema(updatedSchema);
+        int verificationInterval = getOptions().getSchemaVerificationInterval();
+        if (verificationInterval > 0 && ++nrIncrementalSchemaUpdates % verificationInterval == 0) {
+            verifySchema(q);
+        }
+    }
+
+    private boolean useIncrementalSchemaUpdates() {
+        Boolean incrementalSchemaUpdates = getOptions().useIncrementalSchemaUpdates();
+        return incrementalSchemaUpdates == null ? useIncrementalSchemaUpdatesByDefault() : incrementalSchemaUpdates;
+    }
+
+    /**
+     * Determines whether the cached schema is updated incrementally (see {@link #applySchemaDelta}) when
+     * --incremental-schema-updates is not given. DBMS-specific subclasses that infer the effect of DDL statements
+     * can override this method to enable the incremental updates by default.
+     *
+     * @return whether the incremental schema updates are enabled by default
+     */
+    protected boolean useIncrementalSchemaUpdatesByDefault() {
+        return false;
+    }
+
+    /**
+     * Applies the effect of a statement to the cached schema. DBMS-specific subclasses can override this method to
+     * handle additional statements, for example, by removing a dropped index from the affected table.
+     *
+     * @param currentSchema
+     *            the schema before executing the statement
+     * @param q
+     *            the executed statement
+     * @param success
+     *            whether the statement was executed successfully
+     *
+     * @return the schema after executing the statement, or null if its effect cannot be inferred and the schema needs
+     *         to be read again
+     */
+    protected S applySchemaDelta(S currentSchema, Query<?> q, boolean success) {
+        if (!STRUCTURE_PRESERVING_STATEMENT.matcher(q.getQueryString()).lookingAt()) {
+            return null;
+        }
+        if (success) {
+            // the statement can only have changed the tables' contents
+            for (AbstractTable<?, ?, ?> table : currentSchema.getDatabaseTables()) {
+                table.recomputeCount();
+            }
+        }
+        return currentSchema;
+    }
+
+    private void verifySchema(Query<?> q) throws Exception {
+        String cachedSignature = getStructureSignature(schema);
+        updateSchema();
+        String actualSignature = getStructureSignature(schema);
+        if (!cachedSignature.equals(actualSignature)) {
+            throw new AssertionError(String.format(
+                    "The cached schema of %s diverged from the schema in the DBMS after \"%s\"%nCached:%n%sActual:%n%s",
+                    databaseName, q.getLogString(), cachedSignature, actualSignature));
+        }
+    }
+
+    private static String getStructureSignature(AbstractSchema<?, ?> schema) {
+        StringBuilder sb = new StringBuilder();
+        schema.getDatabaseTables().stream().sorted(Comparator.comparing(AbstractTable::getName)).forEach(t -> {
+            sb.append(t.getName());
+            if (t.isView()) {
+                sb.append(" (view)");
+            }
+            sb.append(": ");
+            sb.append(t.getColumns().stream().map(c -> c.getName() + " " + c.getType()).sorted()
+                    .collect(Collectors.joining(", ")));
+            sb.append("; indexes: ");
+            sb.append(t.getIndexes().stream().map(TableIndex::getIndexName).sorted().collect(Collectors.joining(", ")));
+            sb.append(System.lineSeparator());
+        });
+        return sb.toString();
     }
 
     protected abstract S readSchema() throws Exception;
@@ -5,44 +5,66 @@ public final class LikeImplementationHelper {
     private LikeImplementationHelper() {
     }
 
+    /**
+     * Determines whether a string matches a LIKE pattern, in which <code>%</code> matches any sequence of characters and
+     * <code>_</code> matches any single character. Escape characters are not supported.
+     *
+     * @param str
+     *            the string to be matched
+     * @param pattern
+     *            the LIKE pattern
+     * @param caseSensitive
+     *            whether letters are compared case sensitively; otherwise, only ASCII letters are folded
+     *
+     * @return whether the string matches the pattern
+     */
+    public static boolean match(String str, String pattern, boolean caseSensitive) {
+        return match(str, pattern, 0, 0, caseSensitive);
+    }
+
+    /*
+     * Greedy two-pointer matching: when a mismatch occurs, the most recent % is made to consume one more character
+     * and matching resumes after it. Going back further is never necessary, since a later % can consume anything that
+     * an earlier one could. This takes O(|str| * |pattern|) time in the worst case and does not allocate.
+     */
     public static boolean match(String str, String regex, int regexPosition, int strPosition, boolean caseSensitive) {
-        if (strPosition == str.length() && regexPosition == regex.length()) {
-            return true;
-        }
-        if (regexPosition >= regex.length()) {
-            return false;
-        }
-        char cur = regex.charAt(regexPosition);
-        if (strPosition >= str.length()) {
-            if (cur == '%') {
-                return match(str, regex, regexPosition + 1, strPosition, caseSensitive);
-            } else {
-                return false;
-            }
-        }
-        switch (cur) {
-        case '%':
-            // match
-            boolean foundMatch = match(str, regex, regexPosition, strPosition + 1, caseSensitive);
-            if (!foundMatch) {
-                return match(str, regex, regexPosition + 1, strPosition, caseSensitive);
-            } else {
-                return true;
+        int p = regexPosition;
+        int s = strPosition;
+        int lastPercentPosition = -1;
+        int strPositionAtPercent = -1;
+        while (s < str.length()) {
+            if (p < regex.length()) {
+                char cur = regex.charAt(p);
+                if (cur == '%') {
+                    lastPercentPosition = p;
+                    strPositionAtPercent = s;
+                    p++;
+                    continue;
+                }
+                if (cur == '_' || charMatches(cur, str.charAt(s), caseSensitive)) {
+                    p++;
+                    s++;
+                    continue;
+                }
             }
-        case '_':
-            return match(str, regex, regexPosition + 1, strPosition + 1, caseSensitive);
-        default:
-            boolean charMatches;
-            if (!caseSensitive) {
-                charMatches = toUpper(cur) == toUpper(str.charAt(strPosition));
-            } else {
-                charMatches = cur == str.charAt(strPosition);
-            }
-            if (charMatches) {
-                return match(str, regex, regexPosition + 1, strPosition + 1, caseSensitive);
-            } else {
+            if (lastPercentPosition == -1) {
                 return false;
             }
+            p = lastPercentPosition + 1;
+            strPositionAtPercent++;
+            s = strPositionAtPercent;
+        }
+        while (p < regex.length() && regex.charAt(p) == '%') {
+            p++;
+        }
+        return p >= regex.length();
+    }
+
+    private static boolean charMatches(char patternChar, char strChar, boolean caseSensitive) {
+        if (caseSensitive) {
+            return patternChar == strChar;
+        } else {
+            return toUpper(patternChar) == toUpper(strChar);
         }
     }
 
@@ -5,17 +5,27 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.io.Writer;
 import java.nio.file.Files;
+import java.sql.BatchUpdateException;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
@@ -27,7 +37,9 @@ import sqlancer.citus.CitusProvider;
 import sqlancer.clickhouse.ClickHouseProvider;
 import sqlancer.cnosdb.CnosDBProvider;
 import sqlancer.cockroachdb.CockroachDBProvider;
+import sqlancer.common.log.BinaryStatementLog;
 import sqlancer.common.log.Loggable;
+import sqlancer.common.metrics.LatencyMetrics;
 import sqlancer.common.query.Query;
 import sqlancer.common.query.SQLancerResultSet;
 import sqlancer.databend.DatabendProvider;
@@ -71,6 +83,7 @@ public final class Main {
     public static final class StateLogger {
 
         private final File loggerFile;
+        private final File binaryStatementLogFile;
         private File curFile;
         private File queryPlanFile;
         private File reduceFile;
@@ -85,6 +98,7 @@ public final class Main {
 
         private final boolean useReducer;
         private final DatabaseProvider<?, ?, ?> databaseProvider;
+        private final MainOptions options;
 
         private static final class AlsoWriteToConsoleFileWriter extends FileWriter {
 
@@ -112,6 +126,7 @@ public final class Main {
             }
             ensureExistsAndIsEmpty(dir, provider);
             loggerFile = new File(dir, databaseName + ".log");
+            binaryStatementLogFile = new File(dir, databaseName + ".bin");
             logEachSelect = options.logEachSelect();
             if (logEachSelect) {
                 curFile = new File(dir, databaseName + "-cur.log");
@@ -130,6 +145,20 @@ public final class Main {
 
             }
             this.databaseProvider = provider;
+            this.options = options;
+        }
+
+        /**
+         * Creates the log directory of the provider, but keeps the files that it already contains.
+         *
+         * @param provider
+         *            the provider whose log directory should be kept
+         */
+        static void keepExistingLogs(DatabaseProvider<?, ?, ?> provider) {
+            synchronized (INITIALIZED_PROVIDER_NAMES) {
+                new File(LOG_DIRECTORY, provider.getDBMSName()).mkdirs();
+                INITIALIZED_PROVIDER_NAMES.add(provider.getDBMSName());
+            }
         }
 
         private void ensureExistsAndIsEmpty(File dir, DatabaseProvider<?, ?, ?> provider) {
@@ -166,13 +195,13 @@ public final class Main {
             return logFileWriter;
         }
 
-        public FileWriter getCurrentFileWriter() {
+        public synchronized FileWriter getCurrentFileWriter() {
             if (!logEachSelect) {
                 throw new UnsupportedOperationException();
             }
             if (currentFileWriter == null) {
                 try {
-                    currentFileWriter = new FileWriter(curFile, false);
+                    currentFileWriter = DeferredFlushFileWriter.create(curFile, false, options);
                 } catch (IOException e) {
                     throw new AssertionError(e);
                 }
@@ -180,6 +209,10 @@ public final class Main {
             return currentFileWriter;
         }
 
+        public File getBinaryStatementLogFile() {
+            return binaryStatementLogFile;
+        }
+
         public FileWriter getQueryPlanFileWriter() {
             if (!logQueryPlan) {
                 throw new UnsupportedOperationException();
@@ -229,7 +262,8 @@ public final class Main {
             write(databaseProvider.getLoggableFactory().createLoggableWithNoLinebreak(input));
         }
 
-        private void write(Loggable loggable) {
+        // the sessions of a database (see --oracle-sessions) share its logger
+        private synchronized void write(Loggable loggable) {
             if (!logEachSelect) {
                 throw new UnsupportedOperationException();
             }
@@ -346,9 +380,16 @@ public final class Main {
     public static class QueryManager<C extends SQLancerDBConnection> {
 
         private final GlobalState<?, ?, C> globalState;
+        private final Semaphore sessionPermits;
 
-        QueryManager(GlobalState<?, ?, C> globalState) {
+        QueryManager(GlobalState<?, ?, C> globalState, Semaphore sessionPermits) {
             this.globalState = globalState;
+            this.sessionPermits = sessionPermits;
+        }
+
+        // a manager for another global state on the same database, which shares the limit of concurrent sessions
+        QueryManager<C> createSessionManager(GlobalState<?, ?, C> sessionState) {
+            return new QueryManager<>(sessionState, sessionPermits);
         }
 
         public boolean execute(Query<C> q, String... fills) throws Exception {
@@ -361,6 +402,39 @@ public final class Main {
             return success;
         }
 
+        public boolean[] executeBatch(List<Query<C>> queries) throws Exception {
+            if (!(globalState.getConnection() instanceof SQLConnection)) {
+                throw new AssertionError("batches are only supported for JDBC connections");
+            }
+            int[] updateCounts;
+            try (Statement s = ((SQLConnection) globalState.getConnection()).createStatement()) {
+                for (Query<C> q : queries) {
+                    s.addBatch(q.getQueryString());
+                }
+                try {
+                    updateCounts = s.executeBatch();
+                } catch (BatchUpdateException e) {
+                    // depending on the driver, the counts end at the failing query or mark the failing queries
+                    updateCounts = e.getUpdateCounts();
+                    if (updateCounts == null) {
+                        throw new IgnoreMeException();
+                    }
+                } catch (SQLException e) {
+                    // it is unknown which queries have been executed, so the database can no longer be used
+                    throw new IgnoreMeException();
+                }
+            }
+            boolean[] executed = new boolean[queries.size()];
+            for (int i = 0; i < Math.min(updateCounts.length, queries.size()); i++) {
+                if (updateCounts[i] != Statement.EXECUTE_FAILED) {
+                    executed[i] = true;
+                    Main.nrSuccessfulActions.addAndGet(1);
+                    globalState.getState().logStatement(queries.get(i));
+                }
+            }
+            return executed;
+        }
+
         public SQLancerResultSet executeAndGet(Query<C> q, String... fills) throws Exception {
             globalState.getState().logStatement(q);
             SQLancerResultSet result;
@@ -369,6 +443,20 @@ public final class Main {
             return result;
         }
 
+        /*
+         * Reserves a connection for an additional session of the database (see --oracle-sessions). The executor already
+         * holds a permit for the main connection, so that the session is not opened rather than waiting for a permit.
+         */
+        boolean tryAcquireSession() {
+            return sessionPermits == null || sessionPermits.tryAcquire();
+        }
+
+        void releaseSession() {
+            if (sessionPermits != null) {
+                sessionPermits.release();
+            }
+        }
+
         public void incrementSelectQueryCount() {
             Main.nrQueries.addAndGet(1);
         }
@@ -396,14 +484,25 @@ public final class Main {
         private StateLogger logger;
         private StateToReproduce stateToRepro;
         private final Randomly r;
+        private final Semaphore sessionPermits;
+        private G state;
+        private C con;
+        private SplittableRandom threadRandom;
+        private Throwable prepareFailure;
 
         public DBMSExecutor(DatabaseProvider<G, O, C> provider, MainOptions options, O dbmsSpecificOptions,
                 String databaseName, Randomly r) {
+            this(provider, options, dbmsSpecificOptions, databaseName, r, null);
+        }
+
+        public DBMSExecutor(DatabaseProvider<G, O, C> provider, MainOptions options, O dbmsSpecificOptions,
+                String databaseName, Randomly r, Semaphore sessionPermits) {
             this.provider = provider;
             this.options = options;
             this.databaseName = databaseName;
             this.command = dbmsSpecificOptions;
             this.r = r;
+            this.sessionPermits = sessionPermits;
         }
 
         private G createGlobalState() {
@@ -425,8 +524,68 @@ public final class Main {
             }
         }
 
+        /**
+         * Executes the statements of a binary statement log on a new database. Statements that fail are reported, but
+         * do not stop the replay.
+         *
+         * @param log
+         *            the file of the binary statement log
+         *
+         * @return the exit code, which indicates whether all statements were executed successfully
+         *
+         * @throws Exception
+         *             if the database cannot be created or the log cannot be read
+         */
+        public int replay(File log) throws Exception {
+            // the log might be in the log directory, which is otherwise emptied when the first logger is created
+            StateLogger.keepExistingLogs(provider);
+            G state = getInitializedGlobalState(options.getRandomSeed());
+            try (C con = provider.createDatabase(state)) {
+                if (options.useBinaryStatementLog()) {
+                    stateToRepro.useBinaryStatementLog(logger.getBinaryStatementLogFile());
+                }
+                state.setConnection(con);
+                state.setStateLogger(logger);
+                state.setManager(new QueryManager<>(state, sessionPermits));
+                long[] counts = new long[2];
+                BinaryStatementLog.forEachStatement(log, s -> {
+                    if (s.startsWith("--")) {
+                        return; // commented out when the log was written
+                    }
+                    counts[0]++;
+                    try {
+                        @SuppressWarnings("unchecked")
+                        Query<C> q = (Query<C>) provider.getLoggableFactory().getQueryForStateToReproduce(s);
+                        if (!state.executeStatement(q)) {
+                            counts[1]++;
+                        }
+                    } catch (Throwable t) {
+                        counts[1]++;
+                        System.err.println(s + " -- " + t.getMessage());
+                    }
+                });
+                System.out.println("Replayed " + counts[0] + " statements, " + counts[1] + " failed");
+                return counts[1] == 0 ? 0 : options.getErrorExitCode();
+            } finally {
+                stateToRepro.closeBinaryStatementLog();
+            }
+        }
+
         public void run() throws Exception {
-            G state = createGlobalState();
+            prepare();
+            test();
+        }
+
+        /**
+         * Creates and generates the database, which is subsequently tested by {@link #test()}. Both methods may be
+         * called on different threads, in which case the random numbers used by {@link #test()} continue the sequence
+         * used by this method.
+         *
+         * @throws Exception
+         *             if creating or generating the database fails
+         */
+        void prepare() throws Exception {
+            state = createGlobalState();
             stateToRepro = provider.getStateToReproduce(databaseName);
             stateToRepro.seedValue = r.getSeed();
             state.setState(stateToRepro);
@@ -435,8 +594,12 @@ public final class Main {
             state.setDatabaseName(databaseName);
             state.setMainOptions(options);
             state.setDbmsSpecificOptions(command);
-            try (C con = provider.createDatabase(state)) {
-                QueryManager<C> manager = new QueryManager<>(state);
+            con = openConnection(state);
+            try {
+                if (options.useBinaryStatementLog()) {
+                    stateToRepro.useBinaryStatementLog(logger.getBinaryStatementLogFile());
+                }
+                QueryManager<C> manager = new QueryManager<>(state, sessionPermits);
                 try {
                     stateToRepro.databaseVersion = con.getDatabaseVersion();
                 } catch (Exception e) {
@@ -448,11 +611,91 @@ public final class Main {
                 if (options.logEachSelect()) {
                     logger.writeCurrent(state.getState());
                 }
+            } catch (Throwable t) {
+                closeConnection();
+                throw t;
+            }
+            if (!options.enableQPG()) {
+                try {
+                    // closes the connection if it fails
+                    provider.prepareDatabase(state);
+                } catch (Throwable t) {
+                    releaseSessionPermit();
+                    throw t;
+                }
+            }
+            threadRandom = Randomly.getThreadRandomGenerator();
+        }
+
+        /*
+         * Creates the database and opens the connection to it, which counts as a session against the limit of
+         * --max-concurrent-sessions until it is closed by closeConnection().
+         */
+        private C openConnection(G state) throws Exception {
+            if (sessionPermits != null) {
+                sessionPermits.acquire();
+            }
+            try {
+                return provider.createDatabase(state);
+            } catch (Throwable t) {
+                releaseSessionPermit();
+                throw t;
+            }
+        }
+
+        private void closeConnection() throws Exception {
+            try {
+                con.close();
+            } finally {
+                releaseSessionPermit();
+            }
+        }
+
+        private void releaseSessionPermit() {
+            if (sessionPermits != null) {
+                sessionPermits.release();
+            }
+        }
+
+        /**
+         * Calls {@link #prepare()}, but defers an exception to the following call of {@link #test()}, so that it is
+         * reported in the same way as if both methods had been called together.
+         */
+        void prepareAndDeferFailure() {
+            try {
+                prepare();
+            } catch (Throwable t) {
+                prepareFailure = t;
+            }
+        }
+
+        // closes a database that has been prepared, but will not be tested
+        void discardPrepared() throws Exception {
+            if (prepareFailure == null && con != null) {
+                closeConnection();
+            }
+            if (stateToRepro != null) {
+                stateToRepro.closeBinaryStatementLog();
+            }
+            if (logger != null && logger.currentFileWriter != null) {
+                logger.currentFileWriter.close();
+                logger.currentFileWriter = null;
+            }
+        }
+
+        void test() throws Exception {
+            if (prepareFailure instanceof Exception) {
+                throw (Exception) prepareFailure;
+            } else if (prepareFailure instanceof Error) {
+                throw (Error) prepareFailure;
+            }
+            Randomly.setThreadRandomGenerator(threadRandom);
+            try {
                 Reproducer<G> reproducer = null;
                 if (options.enableQPG()) {
                     provider.generateAndTestDatabaseWithQueryPlanGuidance(state);
                 } else {
-                    reproducer = provider.generateAndTestDatabase(state);
+                    reproducer = provider.testPreparedDatabase(state);
                 }
                 try {
                     logger.getCurrentFileWriter().close();
@@ -475,11 +718,15 @@ public final class Main {
                     newGlobalState.setDatabaseName(databaseName);
                     newGlobalState.setMainOptions(options);
                     newGlobalState.setDbmsSpecificOptions(command);
-                    QueryManager<C> newManager = new QueryManager<>(newGlobalState);
+                    QueryManager<C> newManager = new QueryManager<>(newGlobalState, sessionPermits);
                     newGlobalState.setStateLogger(new StateLogger(databaseName, provider, options));
                     newGlobalState.setManager(newManager);
 
-                    Reducer<G> reducer = new StatementReducer<>(provider);
+                    List<G> reducerWorkerStates = new ArrayList<>();
+                    for (int i = 1; i < options.getStatementReducerThreads(); i++) {
+                        reducerWorkerStates.add(createReducerWorkerState(databaseName + "_reduce" + i));
+                    }
+                    Reducer<G> reducer = new StatementReducer<>(provider, reducerWorkerStates);
                     reducer.reduce(state, reproducer, newGlobalState);
 
                     if (options.reduceAST()) {
@@ -496,9 +743,23 @@ public final class Main {
 
                     throw new AssertionError("Found a potential bug, please check reducer log for detail.");
                 }
+            } finally {
+                closeConnection();
             }
         }
 
+        private G createReducerWorkerState(String workerDatabaseName) {
+            G workerState = createGlobalState();
+            workerState.setState(provider.getStateToReproduce(workerDatabaseName));
+            workerState.setRandomly(new Randomly(r.getSeed()));
+            workerState.setDatabaseName(workerDatabaseName);
+            workerState.setMainOptions(options);
+            workerState.setDbmsSpecificOptions(command);
+            workerState.setStateLogger(new StateLogger(workerDatabaseName, provider, options));
+            workerState.setManager(new QueryManager<>(workerState, sessionPermits));
+            return workerState;
+        }
+
         private G getInitializedGlobalState(long seed) {
             G state = createGlobalState();
             stateToRepro = provider.getStateToReproduce(databaseName);
@@ -527,6 +788,7 @@ public final class Main {
         private final DatabaseProvider<G, O, C> provider;
         private final MainOptions options;
         private final O command;
+        private Semaphore sessionPermits;
 
         public DBMSExecutorFactory(DatabaseProvider<G, O, C> provider, MainOptions options) {
             this.provider = provider;
@@ -550,7 +812,7 @@ public final class Main {
         public DBMSExecutor<G, O, C> getDBMSExecutor(String databaseName, Randomly r) {
             try {
                 return new DBMSExecutor<G, O, C>(provider.getClass().getDeclaredConstructor().newInstance(), options,
-                        command, databaseName, r);
+                        command, databaseName, r, getSessionPermits());
             } catch (Exception e) {
                 throw new AssertionError(e);
             }
@@ -560,6 +822,20 @@ public final class Main {
             return provider;
         }
 
+        /**
+         * Returns the semaphore shared by all executors of this factory that bounds the number of connections that are
+         * open to the DBMS, or null if the number is not bounded. The options are parsed only after the factory is
+         * created, which is why the semaphore is created lazily.
+         *
+         * @return the shared semaphore or null
+         */
+        private synchronized Semaphore getSessionPermits() {
+            if (sessionPermits == null && options.getMaxConcurrentSessions() > 0) {
+                sessionPermits = new Semaphore(options.getMaxConcurrentSessions(), true);
+            }
+            return sessionPermits;
+        }
+
     }
 
     public static int executeMain(String... args) throws AssertionError {
@@ -581,17 +857,54 @@ public final class Main {
             return options.getErrorExitCode();
         }
 
+        if (options.useBinaryStatementLog() && options.useReducer()) {
+            System.err.println("--binary-statement-log cannot be combined with --use-reducer");
+            return options.getErrorExitCode();
+        }
+
         Randomly.initialize(options);
+        if (options.getReplayStatementLog() != null) {
+            try {
+                return nameToProvider.get(jc.getParsedCommand())
+                        .getDBMSExecutor(options.getDatabasePrefix() + "replay", new Randomly())
+                        .replay(new File(options.getReplayStatementLog()));
+            } catch (Exception e) {
+                e.printStackTrace();
+                return options.getErrorExitCode();
+            }
+        }
+        ExecutorService execService;
+        try {
+            execService = createExecutorService(options);
+        } catch (UnsupportedOperationException e) {
+            System.err.println(e.getMessage());
+            return options.getErrorExitCode();
+        }
+        LatencyMetrics.registerMBean();
+        if (options.getMetricsPort() != 0) {
+            try {
+                LatencyMetrics.startEndpoint(options.getMetricsPort());
+            } catch (IOException e) {
+                System.err.println("Cannot serve the metrics on port " + options.getMetricsPort() + ": " + e);
+                return options.getErrorExitCode();
+            }
+        }
         if (options.printProgressInformation()) {
-            startProgressMonitor();
+            startProgressMonitor(options.getExecutorMode());
             if (options.printProgressSummary()) {
                 Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
 
+                    private final long startTimeMillis = System.currentTimeMillis();
+
                     @Override
                     public void run() {
+                        long elapsedSeconds = Math.max(1, (System.currentTimeMillis() - startTimeMillis) / 1000);
                         System.out.println("Overall execution statistics");
                         System.out.println("============================");
                         System.out.println(formatInteger(nrQueries.get()) + " queries");
+                        System.out.println(formatInteger(nrQueries.get() / elapsedSeconds) + " queries/s ("
+                                + options.getExecutorMode() + " executor, " + options.getNumberConcurrentThreads()
+                                + " threads)");
                         System.out.println(formatInteger(nrDatabases.get()) + " databases");
                         System.out.println(
                                 formatInteger(nrSuccessfulActions.get()) + " successfully-executed statements");
@@ -610,7 +923,6 @@ public final class Main {
             }
         }
 
-        ExecutorService execService = Executors.newFixedThreadPool(options.getNumberConcurrentThreads());
         DBMSExecutorFactory<?, ?, ?> executorFactory = nameToProvider.get(jc.getParsedCommand());
 
         if (options.performConnectionTest()) {
@@ -625,15 +937,16 @@ public final class Main {
             }
         }
         final AtomicBoolean someOneFails = new AtomicBoolean(false);
+        final long runSeed = options.getRandomSeed() == -1 ? System.currentTimeMillis() : options.getRandomSeed();
+        if (options.getDatabaseSeed() == -1) {
+            // an unseeded run can thus be repeated as well
+            System.out.println("Random seed: " + runSeed);
+        }
 
         for (int i = 0; i < options.getTotalNumberTries(); i++) {
             final String databaseName = options.getDatabasePrefix() + i;
-            final long seed;
-            if (options.getRandomSeed() == -1) {
-                seed = System.currentTimeMillis() + i;
-            } else {
-                seed = options.getRandomSeed() + i;
-            }
+            // each thread, and each database of a thread, uses its own stream, so that a run can be repeated exactly
+            final long seed = Randomly.deriveSeed(runSeed, Randomly.SeedStream.THREAD, i);
             execService.execute(new Runnable() {
 
                 @Override
@@ -643,12 +956,17 @@ public final class Main {
                 }
 
                 private void runThread(final String databaseName) {
-                    Randomly r = new Randomly(seed);
                     try {
+                        if (options.getDatabasePipelineDepth() > 0) {
+                            runPipelined(databaseName);
+                            return;
+                        }
                         int maxNrDbs = options.getMaxGeneratedDatabases();
                         // run without a limit if maxNrDbs == -1
                         for (int i = 0; i < maxNrDbs || maxNrDbs == -1; i++) {
-                            Boolean continueRunning = run(options, execService, executorFactory, r, databaseName);
+                            DBMSExecutor<?, ?, ?> executor = executorFactory.getDBMSExecutor(databaseName,
+                                    new Randomly(getDatabaseSeed(i)));
+                            Boolean continueRunning = run(options, executor, false);
                             if (!continueRunning) {
                                 someOneFails.set(true);
                                 break;
@@ -662,11 +980,77 @@ public final class Main {
                     }
                 }
 
-                private boolean run(MainOptions options, ExecutorService execService,
-                        DBMSExecutorFactory<?, ?, ?> executorFactory, Randomly r, final String databaseName) {
-                    DBMSExecutor<?, ?, ?> executor = executorFactory.getDBMSExecutor(databaseName, r);
+                /*
+                 * A producer thread creates and generates the next databases, while this thread tests the current one.
+                 * Since databases are generated concurrently, each one uses its own seed and one of depth + 1 names, and
+                 * a name is reused only after the database that had the name has been tested.
+                 */
+                private void runPipelined(final String databaseName) {
+                    int depth = options.getDatabasePipelineDepth();
+                    int maxNrDbs = options.getMaxGeneratedDatabases();
+                    ExecutorService producer = Executors.newSingleThreadExecutor(runnable -> {
+                        Thread thread = new Thread(runnable, databaseName + "-producer");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    Deque<Future<DBMSExecutor<?, ?, ?>>> prepared = new ArrayDeque<>();
                     try {
-                        executor.run();
+                        int nextDatabase = 0;
+                        // run without a limit if maxNrDbs == -1
+                        for (int i = 0; i < maxNrDbs || maxNrDbs == -1; i++) {
+                            while (prepared.size() <= depth && (nextDatabase < maxNrDbs || maxNrDbs == -1)) {
+                                prepared.add(prepare(producer, databaseName, nextDatabase, depth));
+                                nextDatabase++;
+                            }
+                            DBMSExecutor<?, ?, ?> executor = prepared.poll().get();
+                            if (!run(options, executor, true)) {
+                                someOneFails.set(true);
+                                break;
+                            }
+                        }
+                    } catch (InterruptedException | ExecutionException e) {
+                        throw new AssertionError(e);
+                    } finally {
+                        producer.shutdown();
+                        for (Future<DBMSExecutor<?, ?, ?>> future : prepared) {
+                            try {
+                                future.get().discardPrepared();
+                            } catch (Exception e) {
+                                e.printStackTrace();
+                            }
+                        }
+                    }
+                }
+
+                private Future<DBMSExecutor<?, ?, ?>> prepare(ExecutorService producer, String databaseName,
+                        int databaseIndex, int depth) {
+                    int slot = databaseIndex % (depth + 1);
+                    String name = slot == 0 ? databaseName : databaseName + "_" + slot;
+                    long databaseSeed = getDatabaseSeed(databaseIndex);
+                    return producer.submit(() -> {
+                        // the generator of the producer thread is handed over to the testing thread after preparing
+                        DBMSExecutor<?, ?, ?> executor = executorFactory.getDBMSExecutor(name,
+                                new Randomly(databaseSeed));
+                        executor.prepareAndDeferFailure();
+                        return executor;
+                    });
+                }
+
+                // the seed is written to the database's log, from which --database-seed regenerates the database
+                private long getDatabaseSeed(int databaseIndex) {
+                    if (options.getDatabaseSeed() != -1) {
+                        return options.getDatabaseSeed();
+                    }
+                    return Randomly.deriveSeed(seed, Randomly.SeedStream.DATABASE, databaseIndex);
+                }
+
+                private boolean run(MainOptions options, DBMSExecutor<?, ?, ?> executor, boolean prepared) {
+                    try {
+                        if (prepared) {
+                            executor.test();
+                        } else {
+                            executor.run();
+                        }
                         return true;
                     } catch (IgnoreMeException e) {
                         return true;
@@ -684,6 +1068,9 @@ public final class Main {
                                 }
                                 executor.getLogger().currentFileWriter = null;
                             }
+                            if (executor.getStateToReproduce() != null) {
+                                executor.getStateToReproduce().closeBinaryStatementLog();
+                            }
                         } catch (IOException e) {
                             e.printStackTrace();
                         }
@@ -704,6 +1091,33 @@ public final class Main {
         return someOneFails.get() ? options.getErrorExitCode() : 0;
     }
 
+    private static ExecutorService createExecutorService(MainOptions options) {
+        switch (options.getExecutorMode()) {
+        case FIXED:
+            return Executors.newFixedThreadPool(options.getNumberConcurrentThreads());
+        case VIRTUAL:
+            return Executors.newFixedThreadPool(options.getNumberConcurrentThreads(), getVirtualThreadFactory());
+        default:
+            throw new AssertionError(options.getExecutorMode());
+        }
+    }
+
+    /**
+     * Virtual threads are only available from Java 21 on, while SQLancer still targets Java 11, which is why the thread
+     * factory is looked up reflectively.
+     *
+     * @return a factory that creates virtual threads
+     */
+    private static ThreadFactory getVirtualThreadFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            return (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new UnsupportedOperationException("--executor VIRTUAL requires Java 21 or later (running on Java "
+                    + System.getProperty("java.version") + ")", e);
+        }
+    }
+
     /**
      * To register a new provider, it is necessary to implement the DatabaseProvider interface and add an additional
      * configuration file, see https://docs.oracle.com/javase/9/docs/api/java/util/ServiceLoader.html. Currently, we use
@@ -752,7 +1166,7 @@ public final class Main {
         }
     }
 
-    private static synchronized void startProgressMonitor() {
+    private static synchronized void startProgressMonitor(MainOptions.ExecutorMode executorMode) {
         if (progressMonitorStarted) {
             /*
              * it might be already started if, for example, the main method is called multiple times in a test (see
@@ -787,9 +1201,9 @@ public final class Main {
                 DateFormat dateFormat = new SimpleDateFormat("yyyy/MM/dd HH:mm:ss");
                 Date date = new Date();
                 System.out.println(String.format(
-                        "[%s] Executed %d queries (%d queries/s; %.2f/s dbs, successful statements: %2d%%). Threads shut down: %d.",
+                        "[%s] Executed %d queries (%d queries/s; %.2f/s dbs, successful statements: %2d%%). Threads shut down: %d. Executor: %s.",
                         dateFormat.format(date), currentNrQueries, (int) throughput, throughputDbs,
-                        successfulStatementsRatio, threadsShutdown.get()));
+                        successfulStatementsRatio, threadsShutdown.get(), executorMode));
                 timeMillis = System.currentTimeMillis();
                 lastNrQueries = currentNrQueries;
                 lastNrDbs = currentNrDbs;
@@ -13,6 +13,10 @@ public class MainOptions {
     public static final int NO_REDUCE_LIMIT = -1;
     public static final MainOptions DEFAULT_OPTIONS = new MainOptions();
 
+    public enum ExecutorMode {
+        FIXED, VIRTUAL
+    }
+
     @Parameter(names = { "--help", "-h" }, description = "Lists all supported options and commands", help = true)
     private boolean help; // NOPMD
 
@@ -20,16 +24,28 @@ public class MainOptions {
             "--num-threads" }, description = "How many threads should run concurrently to test separate databases")
     private int nrConcurrentThreads = 16; // NOPMD
 
+    @Parameter(names = "--executor", description = "The execution engine for the worker threads: FIXED runs each worker on a platform thread, VIRTUAL runs each worker on a virtual thread (requires Java 21 or later)")
+    private ExecutorMode executorMode = ExecutorMode.FIXED; // NOPMD
+
+    @Parameter(names = "--max-concurrent-sessions", description = "The maximum number of connections that all workers may have open to the DBMS at once (-1 for no limit). A database holds its connection from its creation until it has been tested, and additional oracle sessions (see --oracle-sessions) are only opened while connections are available; useful together with --executor VIRTUAL and a large --num-threads")
+    private int maxConcurrentSessions = -1; // NOPMD
+
     @Parameter(names = {
-            "--random-seed" }, description = "A seed value != -1 that can be set to make the query and database generation deterministic")
+            "--random-seed" }, description = "A seed value != -1 that can be set to make the query and database generation deterministic. Each thread and each database of a thread uses a seed derived from it, so a run with the same seed and number of threads generates the same databases. The seed of a run is printed at its start, and the seed of each database is written to its log (see --database-seed)")
     private long randomSeed = -1; // NOPMD
 
+    @Parameter(names = "--database-seed", description = "A seed value != -1 that every database uses as is, instead of deriving its seed from --random-seed. Passing the seed value of a database's log, together with --num-threads 1 --num-tries 1 --max-generated-databases 1, regenerates that database")
+    private long databaseSeed = -1; // NOPMD
+
     @Parameter(names = { "--num-tries" }, description = "Specifies after how many found errors to stop testing")
     private int totalNumberTries = 100; // NOPMD
 
     @Parameter(names = { "--max-num-inserts" }, description = "Specifies how many INSERT statements should be issued")
     private int maxNumberInserts = 30; // NOPMD
 
+    @Parameter(names = "--insert-batch-size", description = "The maximum number of consecutive INSERT statements that are sent to the DBMS in a single JDBC batch when generating a database. If a statement in the batch fails, it and the statements that were not executed are executed one by one, and if the driver does not report which statements were executed, the database is discarded (1 disables batching, which is also the case when execution times are logged)")
+    private int insertBatchSize = 1; // NOPMD
+
     @Parameter(names = {
             "--max-expression-depth" }, description = "Specifies the maximum depth of randomly-generated expressions")
     private int maxExpressionDepth = 3; // NOPMD
@@ -45,12 +61,33 @@ public class MainOptions {
     @Parameter(names = "--log-each-select", description = "Logs every statement issued", arity = 1)
     private boolean logEachSelect = true; // NOPMD
 
+    @Parameter(names = "--log-flush-interval", description = "Write the statements logged by --log-each-select to disk by a background thread every N milliseconds rather than after each statement (0 writes each statement immediately)")
+    private long logFlushInterval; // NOPMD
+
+    @Parameter(names = "--log-flush-records", description = "With --log-flush-interval, also write the logged statements to disk once N of them are pending, which bounds the number of statements that are lost if the JVM crashes (0 disables this)")
+    private int logFlushRecords; // NOPMD
+
+    @Parameter(names = "--binary-statement-log", description = "Write the statements of each database to a compact binary log (logs/<dbms>/<database>.bin) rather than keeping them in memory; cannot be combined with --use-reducer", arity = 1)
+    private boolean binaryStatementLog; // NOPMD
+
+    @Parameter(names = "--max-statement-bytes-in-memory", description = "The maximum size in bytes of the query strings that are kept in memory to reproduce a bug. When it is exceeded while testing a database, the statements are replaced by a dump of the database if the DBMS supports it, and otherwise written to the binary statement log (0 keeps all statements in memory)")
+    private long maxStatementBytesInMemory; // NOPMD
+
+    @Parameter(names = "--replay-statement-log", description = "Execute the statements of a binary statement log on a new database of the given DBMS, rather than generating databases")
+    private String replayStatementLog; // NOPMD
+
     @Parameter(names = "--log-execution-time", description = "Logs the execution time of each statement (requires --log-each-select to be enabled)", arity = 1)
     private boolean logExecutionTime = true; // NOPMD
 
     @Parameter(names = "--print-failed", description = "Logs failed insert, create and other statements without results", arity = 1)
     private boolean loggerPrintFailed = true; // NOPMD
 
+    @Parameter(names = "--incremental-schema-updates", description = "Apply the effect of a statement to the cached schema rather than reading the whole schema again if the effect can be inferred. This is the case for statements that cannot change the database structure (INSERT, UPDATE, DELETE, REPLACE, and transaction statements), and, for PostgreSQL, also for CREATE INDEX, ALTER TABLE ONLY ... ADD COLUMN, DROP TABLE, and DROP VIEW. Other statements still cause the whole schema to be read. Enabled by default for PostgreSQL only", arity = 1)
+    private Boolean incrementalSchemaUpdates; // NOPMD
+
+    @Parameter(names = "--schema-verification-interval", description = "Read the whole schema after every N incremental schema updates to detect drift from the cached schema (0 disables the verification)")
+    private int schemaVerificationInterval; // NOPMD
+
     @Parameter(names = "--qpg-enable", description = "Enable the experimental feature Query Plan Guidance (QPG)", arity = 1)
     private boolean enableQPG;
 
@@ -66,6 +103,9 @@ public class MainOptions {
     @Parameter(names = "--qpg-selection-probability", description = "The probability (0-1) of the random selection of mutators. A higher value (>0.5) favors exploration over exploitation. (requires --qpg-enable)")
     private static double qpgProbability = 0.7;
 
+    @Parameter(names = "--qpg-revalidation-sample-size", description = "The maximum number of queries whose query plans are re-checked after each mutation, 0 re-checks all queries (requires --qpg-enable)")
+    private static int qpgRevalidationSampleSize = 100;
+
     @Parameter(names = "--username", description = "The user name used to log into the DBMS")
     private String userName = "sqlancer"; // NOPMD
 
@@ -123,6 +163,15 @@ public class MainOptions {
     @Parameter(names = "--database-prefix", description = "The prefix used for each database created")
     private String databasePrefix = "database"; // NOPMD
 
+    @Parameter(names = "--database-pipeline-depth", description = "The number of databases that each thread generates in advance, while testing the current database. The databases of a thread then alternate between several names, and each one is generated with the seed that it would have without pipelining (0 disables pipelining)")
+    private int databasePipelineDepth; // NOPMD
+
+    @Parameter(names = "--oracle-sessions", description = "The number of sessions that run the test oracle concurrently on each generated database, each on its own connection and with its own random numbers. Test oracles that modify the database and DBMSs that cannot open additional connections to a database use a single session")
+    private int nrOracleSessions = 1; // NOPMD
+
+    @Parameter(names = "--metrics-port", description = "Serves the latency histograms of generating and executing statements, refreshing the schema, and checking test oracles in the Prometheus text format at http://localhost:<port>/metrics (0 disables the endpoint). The histograms are also available through JMX as the MBean sqlancer:type=LatencyMetrics")
+    private int metricsPort; // NOPMD
+
     @Parameter(names = "--use-reducer", description = "EXPERIMENTAL Attempt to reduce queries using a simple reducer")
     private boolean useReducer = false; // NOPMD
 
@@ -132,14 +181,17 @@ public class MainOptions {
     @Parameter(names = "--statement-reducer-max-steps", description = "EXPERIMENTAL Maximum steps the statement reducer will do")
     private long maxStatementReduceSteps = NO_REDUCE_LIMIT; // NOPMD
 
-    @Parameter(names = "--statement-reducer-max-time", description = "EXPERIMENTAL Maximum time duration (secs) the AST-based reducer will do")
-    private long maxASTReduceTime = NO_REDUCE_LIMIT; // NOPMD
+    @Parameter(names = "--statement-reducer-max-time", description = "EXPERIMENTAL Maximum time duration (secs) the statement reducer will do")
+    private long maxStatementReduceTime = NO_REDUCE_LIMIT; // NOPMD
+
+    @Parameter(names = "--statement-reducer-threads", description = "EXPERIMENTAL Number of databases on which the statement reducer tests candidates in parallel")
+    private int statementReducerThreads = 1; // NOPMD
 
     @Parameter(names = "--ast-reducer-max-steps", description = "EXPERIMENTAL Maximum steps the AST-based reducer will do")
     private long maxASTReduceSteps = NO_REDUCE_LIMIT; // NOPMD
 
-    @Parameter(names = "--ast-reducer-max-time", description = "EXPERIMENTAL Maximum time duration (secs) the statement reducer will do")
-    private long maxStatementReduceTime = NO_REDUCE_LIMIT; // NOPMD
+    @Parameter(names = "--ast-reducer-max-time", description = "EXPERIMENTAL Maximum time duration (secs) the AST-based reducer will do")
+    private long maxASTReduceTime = NO_REDUCE_LIMIT; // NOPMD
 
     @Parameter(names = "--validate-result-size-only", description = "Should validate result size only and skip comparing content of the result set ", arity = 1)
     private boolean validateResultSizeOnly = false; // NOPMD
@@ -159,10 +211,38 @@ public class MainOptions {
         return nrConcurrentThreads;
     }
 
+    public ExecutorMode getExecutorMode() {
+        return executorMode;
+    }
+
+    public int getMaxConcurrentSessions() {
+        return maxConcurrentSessions;
+    }
+
     public boolean logEachSelect() {
         return logEachSelect;
     }
 
+    public boolean useBinaryStatementLog() {
+        return binaryStatementLog;
+    }
+
+    public long getMaxStatementBytesInMemory() {
+        return maxStatementBytesInMemory;
+    }
+
+    public String getReplayStatementLog() {
+        return replayStatementLog;
+    }
+
+    public long getLogFlushInterval() {
+        return logFlushInterval;
+    }
+
+    public int getLogFlushRecords() {
+        return logFlushRecords;
+    }
+
     public boolean printAllStatements() {
         if (printSucceedingStatements && printStatements) {
             throw new AssertionError();
@@ -188,6 +268,15 @@ public class MainOptions {
         return loggerPrintFailed;
     }
 
+    // null if the option has not been given, so that the DBMS-specific default applies
+    public Boolean useIncrementalSchemaUpdates() {
+        return incrementalSchemaUpdates;
+    }
+
+    public int getSchemaVerificationInterval() {
+        return schemaVerificationInterval;
+    }
+
     public boolean logQueryPlan() {
         return logQueryPlan;
     }
@@ -208,6 +297,10 @@ public class MainOptions {
         return qpgProbability;
     }
 
+    public int getQPGRevalidationSampleSize() {
+        return qpgRevalidationSampleSize;
+    }
+
     public int getNrQueries() {
         return nrQueries;
     }
@@ -216,6 +309,10 @@ public class MainOptions {
         return maxNumberInserts;
     }
 
+    public int getInsertBatchSize() {
+        return insertBatchSize;
+    }
+
     public int getNrStatementRetryCount() {
         return nrStatementRetryCount;
     }
@@ -260,6 +357,10 @@ public class MainOptions {
         return randomSeed;
     }
 
+    public long getDatabaseSeed() {
+        return databaseSeed;
+    }
+
     public boolean testAggregateFunctionsPQS() {
         return testAggregateFunctions;
     }
@@ -304,6 +405,18 @@ public class MainOptions {
         return useConnectionTest;
     }
 
+    public int getDatabasePipelineDepth() {
+        return databasePipelineDepth;
+    }
+
+    public int getNrOracleSessions() {
+        return nrOracleSessions;
+    }
+
+    public int getMetricsPort() {
+        return metricsPort;
+    }
+
     public boolean useReducer() {
         return useReducer;
     }
@@ -320,6 +433,10 @@ public class MainOptions {
         return maxStatementReduceTime;
     }
 
+    public int getStatementReducerThreads() {
+        return statementReducerThreads;
+    }
+
     public long getMaxASTReduceSteps() {
         return maxASTReduceSteps;
     }
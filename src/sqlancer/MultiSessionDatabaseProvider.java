@@ -0,0 +1,28 @@
+package sqlancer;
+
+/**
+ * A {@link DatabaseProvider} that can open additional connections to a database that has already been generated, so
+ * that several test oracle sessions can test the database concurrently (see {@code --oracle-sessions}).
+ *
+ * @param <G>
+ *            the global state type
+ * @param <C>
+ *            the connection type
+ */
+public interface MultiSessionDatabaseProvider<G extends GlobalState<?, ?, C>, C extends SQLancerDBConnection> {
+
+    /**
+     * Opens an additional connection to the database of the global state. Settings of the global state's connection
+     * that affect query results must also apply to the new connection.
+     *
+     * @param globalState
+     *            the state whose database has been generated
+     *
+     * @return the connection, or null if the database cannot be accessed by several connections
+     *
+     * @throws Exception
+     *             if the connection cannot be opened
+     */
+    C openSession(G globalState) throws Exception;
+
+}
@@ -0,0 +1,33 @@
+package sqlancer;
+
+import sqlancer.common.DBMSCommon;
+
+/**
+ * The weighted average rewards of the mutation operators of Query Plan Guidance (QPG), which are shared by all threads.
+ */
+final class MutatorRewards {
+
+    private final double[] weightedAverageReward;
+
+    MutatorRewards(double... initialRewards) {
+        this.weightedAverageReward = initialRewards.clone();
+    }
+
+    int getNrMutators() {
+        return weightedAverageReward.length;
+    }
+
+    // moves the weighted average of the mutator towards the given reward
+    synchronized void update(int mutator, double reward, double weight) {
+        weightedAverageReward[mutator] += (reward - weightedAverageReward[mutator]) * weight;
+    }
+
+    synchronized void add(int mutator, double value) {
+        weightedAverageReward[mutator] += value;
+    }
+
+    synchronized int getBestMutator() {
+        return DBMSCommon.getMaxIndexInDoubleArray(weightedAverageReward);
+    }
+
+}
@@ -15,4 +15,14 @@ public interface OracleFactory<G extends GlobalState<?, ?, ?>> {
         return false;
     }
 
+    /**
+     * Indicates whether the test oracle only reads the database, so that several sessions can run it concurrently on
+     * the same database (see {@code --oracle-sessions}).
+     *
+     * @return whether the test oracle does not modify the database
+     */
+    default boolean isReadOnly() {
+        return false;
+    }
+
 }
@@ -1,16 +1,19 @@
 package sqlancer;
 
 import java.sql.SQLException;
-import java.util.HashMap;
-import java.util.Iterator;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import sqlancer.StateToReproduce.OracleRunReproductionState;
-import sqlancer.common.DBMSCommon;
+import sqlancer.common.metrics.LatencyMetrics;
 import sqlancer.common.oracle.CompositeTestOracle;
 import sqlancer.common.oracle.TestOracle;
+import sqlancer.common.query.Query;
 import sqlancer.common.schema.AbstractSchema;
 
 public abstract class ProviderAdapter<G extends GlobalState<O, ? extends AbstractSchema<G, ?>, C>, O extends DBMSSpecificOptions<? extends OracleFactory<G>>, C extends SQLancerDBConnection>
@@ -20,8 +23,8 @@ public abstract class ProviderAdapter<G extends GlobalState<O, ? extends Abstrac
     private final Class<O> optionClass;
 
     // Variables for QPG
-    Map<String, String> queryPlanPool = new HashMap<>();
-    static double[] weightedAverageReward; // static variable for sharing across all threads
+    private final QueryPlanPool queryPlanPool = new QueryPlanPool();
+    private static volatile MutatorRewards mutatorRewards; // static variable for sharing across all threads
     int currentSelectRewards;
     int currentSelectCounts;
     int currentMutationOperator = -1;
@@ -48,35 +51,227 @@ public abstract class ProviderAdapter<G extends GlobalState<O, ? extends Abstrac
 
     @Override
     public Reproducer<G> generateAndTestDatabase(G globalState) throws Exception {
+        prepareDatabase(globalState);
+        return testPreparedDatabase(globalState);
+    }
+
+    @Override
+    public void prepareDatabase(G globalState) throws Exception {
         try {
             generateDatabase(globalState);
             checkViewsAreValid(globalState);
             globalState.getManager().incrementCreateDatabase();
+        } catch (Throwable t) {
+            globalState.getConnection().close();
+            throw t;
+        }
+    }
 
-            TestOracle<G> oracle = getTestOracle(globalState);
-            for (int i = 0; i < globalState.getOptions().getNrQueries(); i++) {
-                try (OracleRunReproductionState localState = globalState.getState().createLocalState()) {
-                    assert localState != null;
-                    try {
-                        oracle.check();
-                        globalState.getManager().incrementSelectQueryCount();
-                    } catch (IgnoreMeException ignored) {
-                    } catch (AssertionError e) {
-                        Reproducer<G> reproducer = oracle.getLastReproducer();
-                        if (reproducer != null) {
-                            return reproducer;
-                        }
-                        throw e;
+    @Override
+    public Reproducer<G> testPreparedDatabase(G globalState) throws Exception {
+        BugSink<G> bugSink = new BugSink<>();
+        ExecutorService sessions = null;
+        try {
+            sessions = startAdditionalSessions(globalState, bugSink);
+            Reproducer<G> reproducer = testDatabase(globalState, bugSink, true);
+            if (reproducer != null) {
+                bugSink.report(globalState, reproducer, null);
+            }
+        } catch (Throwable t) {
+            bugSink.report(globalState, null, t);
+        } finally {
+            try {
+                if (sessions != null) {
+                    sessions.shutdown();
+                    sessions.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+                }
+            } finally {
+                globalState.getConnection().close();
+            }
+        }
+        return bugSink.surface(globalState);
+    }
+
+    private Reproducer<G> testDatabase(G globalState, BugSink<G> bugSink, boolean mainSession) throws Exception {
+        TestOracle<G> oracle = getTestOracle(globalState);
+        for (int i = 0; i < globalState.getOptions().getNrQueries() && !bugSink.isStopped(); i++) {
+            try (OracleRunReproductionState localState = globalState.getState().createLocalState()) {
+                assert localState != null;
+                String oracleName = oracle.getName();
+                globalState.setStatementKind(oracleName);
+                ExecutionTimer timer = new ExecutionTimer().start();
+                LatencyMetrics.Outcome outcome = LatencyMetrics.Outcome.UNEXPECTED_ERROR;
+                try {
+                    oracle.check();
+                    outcome = LatencyMetrics.Outcome.SUCCESS;
+                    globalState.getManager().incrementSelectQueryCount();
+                } catch (IgnoreMeException ignored) {
+                    outcome = LatencyMetrics.Outcome.EXPECTED_ERROR;
+                } catch (AssertionError e) {
+                    Reproducer<G> reproducer = oracle.getLastReproducer();
+                    if (reproducer != null) {
+                        return reproducer;
                     }
-                    localState.executedWithoutError();
+                    throw e;
+                } finally {
+                    globalState.recordLatency(LatencyMetrics.Phase.ORACLE, oracleName, outcome, timer);
+                    globalState.setStatementKind(null);
                 }
+                localState.executedWithoutError();
+            }
+            if (mainSession) {
+                limitStatementsInMemory(globalState);
             }
-        } finally {
-            globalState.getConnection().close();
         }
         return null;
     }
 
+    /*
+     * Opens additional connections to the database and tests it on each of them in a separate thread. Each session has
+     * its own global state, and thus its own random numbers and state to reproduce, which logs the queries of the
+     * session. Test oracles that modify the database would make the results of the other sessions unpredictable, so
+     * that they are only run by the main session.
+     */
+    @SuppressWarnings("unchecked")
+    ExecutorService startAdditionalSessions(G globalState, BugSink<G> bugSink) throws Exception {
+        int nrSessions = globalState.getOptions().getNrOracleSessions();
+        if (nrSessions <= 1 || !(this instanceof MultiSessionDatabaseProvider) || !globalState
+                .getDbmsSpecificOptions().getTestOracleFactory().stream().allMatch(OracleFactory::isReadOnly)) {
+            return null;
+        }
+        List<C> connections = new ArrayList<>();
+        for (int i = 1; i < nrSessions && globalState.getManager().tryAcquireSession(); i++) {
+            C con;
+            try {
+                con = ((MultiSessionDatabaseProvider<G, C>) this).openSession(globalState);
+            } catch (Throwable t) {
+                globalState.getManager().releaseSession();
+                for (C opened : connections) {
+                    opened.close();
+                    globalState.getManager().releaseSession();
+                }
+                throw t;
+            }
+            if (con == null) {
+                globalState.getManager().releaseSession();
+                break;
+            }
+            connections.add(con);
+        }
+        if (connections.isEmpty()) {
+            return null;
+        }
+        String databaseName = globalState.getDatabaseName();
+        AtomicInteger nrThreads = new AtomicInteger();
+        ExecutorService sessions = Executors.newFixedThreadPool(connections.size(), runnable -> {
+            Thread thread = new Thread(runnable, databaseName + "-session" + nrThreads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < connections.size(); i++) {
+            int sessionIndex = i + 1;
+            C con = connections.get(i);
+            sessions.execute(() -> {
+                G sessionState = null;
+                try (C connection = con) {
+                    sessionState = createSessionState(globalState, connection, sessionIndex);
+                    Reproducer<G> reproducer = testDatabase(sessionState, bugSink, false);
+                    if (reproducer != null) {
+                        bugSink.report(sessionState, reproducer, null);
+                    }
+                } catch (IgnoreMeException ignored) {
+                    // for example, the session's oracle cannot be created for the database
+                } catch (Throwable t) {
+                    bugSink.report(sessionState, null, t);
+                } finally {
+                    globalState.getManager().releaseSession();
+                }
+            });
+        }
+        return sessions;
+    }
+
+    private G createSessionState(G globalState, C con, int sessionIndex) throws Exception {
+        G sessionState = globalClass.getDeclaredConstructor().newInstance();
+        StateToReproduce state = getStateToReproduce(globalState.getDatabaseName());
+        state.seedValue = globalState.getState().getSeedValue();
+        state.databaseVersion = globalState.getState().getDatabaseVersion();
+        sessionState.setState(state);
+        // the session runs on its own thread, whose random numbers are derived from the seed of the database
+        sessionState.setRandomly(new Randomly(
+                Randomly.deriveSeed(globalState.getRandomly().getSeed(), Randomly.SeedStream.SESSION, sessionIndex)));
+        sessionState.setDatabaseName(globalState.getDatabaseName());
+        sessionState.setMainOptions(globalState.getOptions());
+        sessionState.setDbmsSpecificOptions(globalState.getDbmsSpecificOptions());
+        sessionState.setStateLogger(globalState.getLogger());
+        sessionState.setManager(globalState.getManager().createSessionManager(sessionState));
+        sessionState.setConnection(con);
+        return sessionState;
+    }
+
+    /*
+     * Collects the first bug that one of the sessions of a database finds, after which all sessions stop.
+     */
+    static final class BugSink<G extends GlobalState<?, ?, ?>> {
+
+        private volatile boolean stopped;
+        private G state;
+        private Reproducer<G> reproducer;
+        private Throwable error;
+
+        synchronized void report(G reportingState, Reproducer<G> bugReproducer, Throwable bugError) {
+            if (reproducer == null && error == null) {
+                state = reportingState;
+                reproducer = bugReproducer;
+                error = bugError;
+                stopped = true;
+            }
+        }
+
+        boolean isStopped() {
+            return stopped;
+        }
+
+        /*
+         * Returns the reproducer of the bug or throws its error as if the main session had found it. The queries of
+         * the session that found the bug are appended to the statements of the main session, which are logged.
+         */
+        synchronized Reproducer<G> surface(G mainState) throws Exception {
+            if (state != null && state != mainState) {
+                for (Query<?> query : state.getState().getStatements()) {
+                    mainState.getState().logStatement(query);
+                }
+            }
+            if (error instanceof Exception) {
+                throw (Exception) error;
+            } else if (error instanceof Error) {
+                throw (Error) error;
+            } else if (error != null) {
+                throw new AssertionError(error);
+            }
+            return reproducer;
+        }
+
+    }
+
+    @SuppressWarnings("unchecked")
+    private void limitStatementsInMemory(G globalState) throws Exception {
+        long maxBytes = globalState.getOptions().getMaxStatementBytesInMemory();
+        StateToReproduce state = globalState.getState();
+        if (maxBytes == 0 || state.getStatementBytesInMemory() <= maxBytes) {
+            return;
+        }
+        if (this instanceof DumpableDatabaseProvider) {
+            List<String> dump = ((DumpableDatabaseProvider<G>) this).dumpDatabase(globalState);
+            if (dump != null) {
+                state.replaceStatementsByDump(dump);
+            }
+        }
+        if (state.getStatementBytesInMemory() > maxBytes) {
+            state.useBinaryStatementLog(globalState.getLogger().getBinaryStatementLogFile());
+        }
+    }
+
     protected abstract void checkViewsAreValid(G globalState) throws SQLException;
 
     protected TestOracle<G> getTestOracle(G globalState) throws Exception {
@@ -111,8 +306,13 @@ public abstract class ProviderAdapter<G extends GlobalState<O, ? extends Abstrac
     // QPG: entry function
     @Override
     public void generateAndTestDatabaseWithQueryPlanGuidance(G globalState) throws Exception {
-        if (weightedAverageReward == null) {
-            weightedAverageReward = initializeWeightedAverageReward(); // Same length as the list of mutators
+        if (mutatorRewards == null) {
+            synchronized (ProviderAdapter.class) {
+                if (mutatorRewards == null) {
+                    // Same length as the list of mutators
+                    mutatorRewards = new MutatorRewards(initializeWeightedAverageReward());
+                }
+            }
         }
         try {
             generateDatabase(globalState);
@@ -154,31 +354,35 @@ public abstract class ProviderAdapter<G extends GlobalState<O, ? extends Abstrac
     }
 
     // QPG: mutate tables for a new database state
-    private synchronized boolean mutateTables(G globalState) throws Exception {
+    private boolean mutateTables(G globalState) throws Exception {
         // Update rewards based on a set of newly generated queries in last iteration
-        if (currentMutationOperator != -1) {
-            weightedAverageReward[currentMutationOperator] += ((double) currentSelectRewards
-                    / (double) currentSelectCounts) * globalState.getOptions().getQPGk();
+        if (currentMutationOperator != -1 && currentSelectCounts != 0) {
+            mutatorRewards.add(currentMutationOperator, ((double) currentSelectRewards / (double) currentSelectCounts)
+                    * globalState.getOptions().getQPGk());
         }
         currentMutationOperator = -1;
 
         // Choose mutator based on the rewards
         int selectedActionIndex = 0;
         if (Randomly.getPercentage() < globalState.getOptions().getQPGProbability()) {
-            selectedActionIndex = globalState.getRandomly().getInteger(0, weightedAverageReward.length);
+            selectedActionIndex = globalState.getRandomly().getInteger(0, mutatorRewards.getNrMutators());
         } else {
-            selectedActionIndex = DBMSCommon.getMaxIndexInDoubleArray(weightedAverageReward);
+            selectedActionIndex = mutatorRewards.getBestMutator();
         }
         int reward = 0;
+        int nrCheckedQueries = getNrQueriesToRevalidate(globalState);
 
         try {
             executeMutator(selectedActionIndex, globalState);
             checkViewsAreValid(globalState); // Remove the invalid views
-            reward = checkQueryPlan(globalState);
+            reward = queryPlanPool.revalidate(nrCheckedQueries, selectStr -> getQueryPlan(selectStr, globalState));
         } catch (IgnoreMeException | AssertionError e) {
         } finally {
             // Update rewards based on existing queries associated with the query plan pool
-            updateReward(selectedActionIndex, (double) reward / (double) queryPlanPool.size(), globalState);
+            if (nrCheckedQueries != 0) {
+                mutatorRewards.update(selectedActionIndex, (double) reward / (double) nrCheckedQueries,
+                        globalState.getOptions().getQPGk());
+            }
             currentMutationOperator = selectedActionIndex;
         }
 
@@ -188,6 +392,15 @@ public abstract class ProviderAdapter<G extends GlobalState<O, ? extends Abstrac
         return true;
     }
 
+    // QPG: the number of queries in the pool whose query plans are re-checked after a mutation
+    private int getNrQueriesToRevalidate(G globalState) {
+        int sampleSize = globalState.getOptions().getQPGRevalidationSampleSize();
+        if (sampleSize == 0) {
+            return queryPlanPool.size();
+        }
+        return Math.min(sampleSize, queryPlanPool.size());
+    }
+
     // QPG: add a query plan to the query plan pool and return true if the query plan is new
     private boolean addQueryPlan(String selectStr, G globalState) throws Exception {
         String queryPlan = getQueryPlan(selectStr, globalState);
@@ -197,44 +410,14 @@ public abstract class ProviderAdapter<G extends GlobalState<O, ? extends Abstrac
         }
 
         currentSelectCounts += 1;
-        if (queryPlanPool.containsKey(queryPlan)) {
-            return false;
-        } else {
-            queryPlanPool.put(queryPlan, selectStr);
+        if (queryPlanPool.add(queryPlan, selectStr)) {
             currentSelectRewards += 1;
             return true;
+        } else {
+            return false;
         }
     }
 
-    // Obtain the reward of the current action based on the queries associated with the query plan pool
-    private int checkQueryPlan(G globalState) throws Exception {
-        int newQueryPlanFound = 0;
-        HashMap<String, String> modifiedQueryPlan = new HashMap<>();
-        for (Iterator<Map.Entry<String, String>> it = queryPlanPool.entrySet().iterator(); it.hasNext();) {
-            Map.Entry<String, String> item = it.next();
-            String queryPlan = item.getKey();
-            String selectStr = item.getValue();
-            String newQueryPlan = getQueryPlan(selectStr, globalState);
-            if (newQueryPlan.isEmpty()) { // Invalid query
-                it.remove();
-            } else if (!queryPlan.equals(newQueryPlan)) { // A query plan has been changed
-                it.remove();
-                modifiedQueryPlan.put(newQueryPlan, selectStr);
-                if (!queryPlanPool.containsKey(newQueryPlan)) { // A new query plan is found
-                    newQueryPlanFound++;
-                }
-            }
-        }
-        queryPlanPool.putAll(modifiedQueryPlan);
-        return newQueryPlanFound;
-    }
-
-    // QPG: update the reward of current action
-    private void updateReward(int actionIndex, double reward, G globalState) {
-        weightedAverageReward[actionIndex] += (reward - weightedAverageReward[actionIndex])
-                * globalState.getOptions().getQPGk();
-    }
-
     // QPG: initialize the weighted average reward of all mutation operators (required implementation in specific DBMS)
     protected double[] initializeWeightedAverageReward() {
         throw new UnsupportedOperationException();
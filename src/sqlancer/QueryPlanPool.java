@@ -0,0 +1,159 @@
+package sqlancer;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import sqlancer.common.Fingerprint;
+
+/**
+ * The query plans that Query Plan Guidance (QPG) has observed. Whether a plan is new is decided process-wide, based on
+ * a 64-bit fingerprint of the normalized plan, so that threads do not reward mutations for plans that other threads
+ * have already found. The queries whose plans are re-checked after a mutation are kept per database, since they refer
+ * to the tables of this database.
+ */
+final class QueryPlanPool {
+
+    /*
+     * The fingerprints of the plans observed by all threads are kept in two generations, so that their memory stays
+     * bounded in long runs. When the current generation exceeds this size, it becomes the previous one, and the plans
+     * that have not been observed again since the previous rotation are forgotten. A forgotten plan counts as new when
+     * it is observed again, which only causes QPG to reward a mutation that it would not have rewarded otherwise.
+     */
+    static final int MAX_PLANS_PER_GENERATION = 1 << 17;
+
+    private static volatile Set<Long> observedPlans = ConcurrentHashMap.newKeySet();
+    private static volatile Set<Long> previouslyObservedPlans = ConcurrentHashMap.newKeySet();
+
+    private final List<Entry> entries = new ArrayList<>();
+    private final Set<Long> fingerprints = new HashSet<>();
+    private int nextEntryToCheck;
+
+    @FunctionalInterface
+    interface QueryPlanSupplier {
+        String getQueryPlan(String selectStr) throws Exception;
+    }
+
+    private static final class Entry {
+
+        private final String selectStr;
+        private long fingerprint;
+
+        Entry(String selectStr, long fingerprint) {
+            this.selectStr = selectStr;
+            this.fingerprint = fingerprint;
+        }
+
+    }
+
+    /**
+     * Adds the plan of a query to the pool.
+     *
+     * @param queryPlan
+     *            the plan of the query
+     * @param selectStr
+     *            the query
+     *
+     * @return whether no thread has observed the plan before
+     */
+    boolean add(String queryPlan, String selectStr) {
+        long fingerprint = fingerprint(queryPlan);
+        if (fingerprints.add(fingerprint)) {
+            entries.add(new Entry(selectStr, fingerprint));
+        }
+        return observe(fingerprint);
+    }
+
+    // returns whether no thread has observed the plan before
+    static boolean observe(long fingerprint) {
+        Set<Long> current = observedPlans;
+        if (!current.add(fingerprint)) {
+            return false;
+        }
+        if (current.size() > MAX_PLANS_PER_GENERATION) {
+            rotateGenerations(current);
+        }
+        // a plan of the previous generation is kept in the current one, since it is still being observed
+        return !previouslyObservedPlans.contains(fingerprint);
+    }
+
+    private static synchronized void rotateGenerations(Set<Long> full) {
+        if (observedPlans == full) {
+            previouslyObservedPlans = full;
+            observedPlans = ConcurrentHashMap.newKeySet();
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Re-checks the plans of the given number of queries, continuing after the queries checked by the previous call, so
+     * that all queries are eventually checked without re-checking the whole pool after each mutation. Queries that
+     * became invalid, or whose plan became equal to the plan of another query in the pool, are removed.
+     *
+     * @param nrQueries
+     *            the number of queries to check
+     * @param supplier
+     *            obtains the current plan of a query, or an empty string if the query is invalid
+     *
+     * @return the number of changed plans that no thread has observed before
+     *
+     * @throws Exception
+     *             if a plan cannot be obtained
+     */
+    int revalidate(int nrQueries, QueryPlanSupplier supplier) throws Exception {
+        int newQueryPlanFound = 0;
+        int i = nextEntryToCheck;
+        for (int checked = 0; checked < nrQueries && !entries.isEmpty(); checked++) {
+            if (i >= entries.size()) {
+                i = 0;
+            }
+            Entry entry = entries.get(i);
+            String newQueryPlan = supplier.getQueryPlan(entry.selectStr);
+            if (newQueryPlan.isEmpty()) { // Invalid query
+                fingerprints.remove(entry.fingerprint);
+                entries.remove(i);
+                continue;
+            }
+            long newFingerprint = fingerprint(newQueryPlan);
+            if (newFingerprint != entry.fingerprint) { // A query plan has been changed
+                fingerprints.remove(entry.fingerprint);
+                if (observe(newFingerprint)) { // A new query plan is found
+                    newQueryPlanFound++;
+                }
+                if (!fingerprints.add(newFingerprint)) {
+                    entries.remove(i);
+                    continue;
+                }
+                entry.fingerprint = newFingerprint;
+            }
+            i++;
+        }
+        nextEntryToCheck = i;
+        return newQueryPlanFound;
+    }
+
+    // plans are compared disregarding differences in whitespace
+    static long fingerprint(String queryPlan) {
+        StringBuilder sb = new StringBuilder(queryPlan.length());
+        boolean pendingWhitespace = false;
+        for (int i = 0; i < queryPlan.length(); i++) {
+            char c = queryPlan.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingWhitespace = sb.length() != 0;
+            } else {
+                if (pendingWhitespace) {
+                    sb.append(' ');
+                    pendingWhitespace = false;
+                }
+                sb.append(c);
+            }
+        }
+        return Fingerprint.of(sb.toString());
+    }
+
+}
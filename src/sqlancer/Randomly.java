@@ -6,7 +6,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
 import java.util.function.Supplier;
 
 public final class Randomly {
@@ -23,7 +23,8 @@ public final class Randomly {
     private final List<byte[]> cachedBytes = new ArrayList<>();
     private Supplier<String> provider;
 
-    private static final ThreadLocal<Random> THREAD_RANDOM = new ThreadLocal<>();
+    // SplittableRandom, unlike Random, does not synchronize its draws
+    private static final ThreadLocal<SplittableRandom> THREAD_RANDOM = new ThreadLocal<>();
     private long seed;
 
     private void addToCache(long val) {
@@ -177,23 +178,38 @@ public final class Randomly {
 
     public static int smallNumber() {
         // no need to cache for small numbers
-        return (int) (Math.abs(getThreadRandom().get().nextGaussian())) * 2;
+        return (int) (Math.abs(nextGaussian(getThreadRandom()))) * 2;
     }
 
     public static boolean getBoolean() {
-        return getThreadRandom().get().nextBoolean();
+        return getThreadRandom().nextBoolean();
     }
 
     public static double getPercentage() {
-        return getThreadRandom().get().nextDouble();
+        return getThreadRandom().nextDouble();
     }
 
-    private static ThreadLocal<Random> getThreadRandom() {
-        if (THREAD_RANDOM.get() == null) {
+    private static SplittableRandom getThreadRandom() {
+        SplittableRandom random = THREAD_RANDOM.get();
+        if (random == null) {
             // a static method has been called, before Randomly was instantiated
-            THREAD_RANDOM.set(new Random());
+            random = new SplittableRandom();
+            THREAD_RANDOM.set(random);
         }
-        return THREAD_RANDOM;
+        return random;
+    }
+
+    // the polar method, as used by Random.nextGaussian()
+    private static double nextGaussian(SplittableRandom random) {
+        double v1;
+        double v2;
+        double s;
+        do {
+            v1 = 2 * random.nextDouble() - 1;
+            v2 = 2 * random.nextDouble() - 1;
+            s = v1 * v1 + v2 * v2;
+        } while (s >= 1 || s == 0);
+        return v1 * StrictMath.sqrt(-2 * StrictMath.log(s) / s);
     }
 
     public long getInteger() {
@@ -206,7 +222,7 @@ public final class Randomly {
                     return l;
                 }
             }
-            long nextLong = getThreadRandom().get().nextInt();
+            long nextLong = getThreadRandom().nextInt();
             addToCache(nextLong);
             return nextLong;
         }
@@ -348,7 +364,10 @@ public final class Randomly {
     public byte[] getBytes() {
         int size = Randomly.smallNumber();
         byte[] arr = new byte[size];
-        getThreadRandom().get().nextBytes(arr);
+        SplittableRandom random = getThreadRandom();
+        for (int i = 0; i < arr.length; i++) {
+            arr[i] = (byte) random.nextInt();
+        }
         return arr;
     }
 
@@ -425,17 +444,17 @@ public final class Randomly {
                 return d;
             }
         }
-        double value = getThreadRandom().get().nextDouble();
+        double value = getThreadRandom().nextDouble();
         addToCache(value);
         return value;
     }
 
     private static boolean smallBiasProbability() {
-        return getThreadRandom().get().nextInt(100) == 1;
+        return getThreadRandom().nextInt(100) == 1;
     }
 
     public static boolean getBooleanWithRatherLowProbability() {
-        return getThreadRandom().get().nextInt(10) == 1;
+        return getThreadRandom().nextInt(10) == 1;
     }
 
     public static boolean getBooleanWithSmallProbability() {
@@ -469,7 +488,7 @@ public final class Randomly {
     }
 
     public BigDecimal getRandomBigDecimal() {
-        return BigDecimal.valueOf(getThreadRandom().get().nextDouble());
+        return BigDecimal.valueOf(getThreadRandom().nextDouble());
     }
 
     public long getPositiveIntegerNotNull() {
@@ -482,7 +501,7 @@ public final class Randomly {
     }
 
     public static long getNonCachedInteger() {
-        return getThreadRandom().get().nextLong();
+        return getThreadRandom().nextLong();
     }
 
     public static long getPositiveOrZeroNonCachedInteger() {
@@ -497,17 +516,50 @@ public final class Randomly {
         this.provider = provider;
     }
 
+    /**
+     * Creates an instance that draws from the current thread's generator. If the thread does not have a generator yet,
+     * it is given an unseeded one; otherwise, the sequence of a seeded generator is not interrupted.
+     */
     public Randomly() {
-        THREAD_RANDOM.set(new Random());
+        getThreadRandom();
     }
 
     public Randomly(long seed) {
         this.seed = seed;
-        THREAD_RANDOM.set(new Random(seed));
+        THREAD_RANDOM.set(new SplittableRandom(seed));
+    }
+
+    /**
+     * The levels at which streams of random numbers are derived from a seed, which have distinct tags so that, for
+     * example, the stream of the k-th database of the i-th thread differs from that of the i-th database of the k-th
+     * thread.
+     */
+    public enum SeedStream {
+        THREAD, DATABASE, SESSION
+    }
+
+    /**
+     * Derives the seed of one of several streams of random numbers, such as the streams of the threads of a run or the
+     * streams of the databases of a thread, from a single seed. The seed is always mixed, also for index 0, so that
+     * the streams of different levels and indexes are statistically independent.
+     *
+     * @param seed
+     *            the seed from which the streams are derived
+     * @param stream
+     *            the level of the streams
+     * @param index
+     *            the index of the stream
+     *
+     * @return the seed of the stream
+     */
+    public static long deriveSeed(long seed, SeedStream stream, long index) {
+        // the first draw of a SplittableRandom is a bijective mix of its seed, so distinct indexes give distinct seeds
+        long levelSeed = new SplittableRandom(seed ^ (stream.ordinal() + 1) * 0xBF58476D1CE4E5B9L).nextLong();
+        return new SplittableRandom(levelSeed + index * 0x9E3779B97F4A7C15L).nextLong();
     }
 
     public static double getUncachedDouble() {
-        return getThreadRandom().get().nextDouble();
+        return getThreadRandom().nextDouble();
     }
 
     public String getChar() {
@@ -528,9 +580,6 @@ public final class Randomly {
         }
     }
 
-    // see https://stackoverflow.com/a/2546158
-    // uniformity does not seem to be important for us
-    // SQLancer previously used ThreadLocalRandom.current().nextLong(lower, upper)
     private static long getNextLong(long lower, long upper) {
         if (lower > upper) {
             throw new IllegalArgumentException(lower + " " + upper);
@@ -538,7 +587,7 @@ public final class Randomly {
         if (lower == upper) {
             return lower;
         }
-        return getThreadRandom().get().longs(lower, upper).findFirst().getAsLong();
+        return getThreadRandom().nextLong(lower, upper);
     }
 
     private static int getNextInt(int lower, int upper) {
@@ -549,6 +598,19 @@ public final class Randomly {
         return seed;
     }
 
+    /*
+     * The random numbers are drawn from a thread-local generator. These methods allow continuing the sequence of random
+     * numbers of a database on another thread, for example, when the database is generated and tested on different
+     * threads.
+     */
+    static SplittableRandom getThreadRandomGenerator() {
+        return getThreadRandom();
+    }
+
+    static void setThreadRandomGenerator(SplittableRandom random) {
+        THREAD_RANDOM.set(random);
+    }
+
     public static void initialize(MainOptions options) {
         stringGenerationStrategy = options.getRandomStringGenerationStrategy();
         maxStringLength = options.getMaxStringConstantLength();
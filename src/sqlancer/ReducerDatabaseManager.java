@@ -0,0 +1,164 @@
+package sqlancer;
+
+import java.util.List;
+
+import sqlancer.CheckpointableDatabaseProvider.SessionEffect;
+import sqlancer.common.query.Query;
+
+/**
+ * Prepares the databases on which the reducers check whether a candidate sequence of statements still triggers the
+ * bug. Without further support, every candidate requires creating a fresh database and executing all its statements.
+ * If the provider implements {@link CheckpointableDatabaseProvider}, the manager saves the database after a prefix of
+ * statements that subsequent candidates are likely to share, and restores it for every candidate that starts with this
+ * prefix, so that only the remaining statements need to be executed. Since a checkpoint does not contain the state of
+ * the session, the settings of the prefix are applied again whenever the connection is replaced, and a prefix that
+ * creates session state, such as a temporary table, is not checkpointed.
+ */
+final class ReducerDatabaseManager<G extends GlobalState<O, ?, C>, O extends DBMSSpecificOptions<?>, C extends SQLancerDBConnection>
+        implements AutoCloseable {
+
+    private final DatabaseProvider<G, O, C> provider;
+    private CheckpointableDatabaseProvider<G, C> checkpointProvider;
+
+    private C connection;
+    private List<Query<C>> checkpointedStatements;
+    private CheckpointableDatabaseProvider.Checkpoint checkpoint;
+
+    @SuppressWarnings("unchecked")
+    ReducerDatabaseManager(DatabaseProvider<G, O, C> provider, G globalState) {
+        this.provider = provider;
+        if (provider instanceof CheckpointableDatabaseProvider) {
+            CheckpointableDatabaseProvider<G, C> p = (CheckpointableDatabaseProvider<G, C>) provider;
+            if (p.supportsCheckpoints(globalState)) {
+                checkpointProvider = p;
+            }
+        }
+    }
+
+    /**
+     * Brings the database of the global state into the state after executing the given statements. Errors of
+     * individual statements are ignored.
+     *
+     * @param globalState
+     *            the state whose connection is set to the prepared database
+     * @param statements
+     *            the statements of the candidate
+     * @param sharedPrefixLength
+     *            the number of leading statements that the following candidates are likely to have in common with this
+     *            one, and after which a checkpoint is created
+     *
+     * @throws Exception
+     *             if the database cannot be created
+     */
+    void prepare(G globalState, List<Query<C>> statements, int sharedPrefixLength) throws Exception {
+        closeConnection();
+        int nrExecutedStatements = 0;
+        if (checkpoint != null && isPrefix(checkpointedStatements, statements)) {
+            try {
+                connection = checkpointProvider.restoreCheckpoint(globalState, checkpoint);
+                nrExecutedStatements = checkpointedStatements.size();
+            } catch (Exception e) {
+                e.printStackTrace();
+                disableCheckpoints();
+            }
+        }
+        if (connection == null) {
+            connection = provider.createDatabase(globalState);
+        }
+        globalState.setConnection(connection);
+        if (nrExecutedStatements != 0) {
+            applySettings(checkpointProvider, globalState, checkpointedStatements);
+        }
+        for (int i = nrExecutedStatements; i < statements.size(); i++) {
+            if (i == sharedPrefixLength && i != 0 && checkpointProvider != null) {
+                saveCheckpoint(globalState, statements.subList(0, i));
+            }
+            try {
+                statements.get(i).execute(globalState);
+            } catch (Throwable ignoredException) {
+                // ignore
+            }
+        }
+    }
+
+    private void saveCheckpoint(G globalState, List<Query<C>> prefix) {
+        CheckpointableDatabaseProvider<G, C> p = checkpointProvider;
+        if (prefix.stream().anyMatch(q -> p.getSessionEffect(q) == SessionEffect.SESSION_STATE)) {
+            return;
+        }
+        try {
+            discardCheckpoint();
+            checkpoint = checkpointProvider.createCheckpoint(globalState);
+            checkpointedStatements = List.copyOf(prefix);
+        } catch (Exception e) {
+            e.printStackTrace();
+            disableCheckpoints();
+        } finally {
+            if (globalState.getConnection() != connection) {
+                connection = globalState.getConnection();
+                applySettings(p, globalState, prefix);
+            }
+        }
+    }
+
+    // executes the statements of the prefix that changed a setting of the session that the connection replaced
+    private static <G extends GlobalState<?, ?, C>, C extends SQLancerDBConnection> void applySettings(
+            CheckpointableDatabaseProvider<G, C> p, G globalState, List<Query<C>> prefix) {
+        for (Query<C> statement : prefix) {
+            if (p.getSessionEffect(statement) == SessionEffect.SETTING) {
+                try {
+                    statement.execute(globalState);
+                } catch (Throwable ignoredException) {
+                    // ignore
+                }
+            }
+        }
+    }
+
+    // the statements are compared by identity, since the reducers only copy or replace them
+    private static <T> boolean isPrefix(List<T> prefix, List<T> list) {
+        if (prefix.size() > list.size()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.size(); i++) {
+            if (prefix.get(i) != list.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void disableCheckpoints() {
+        discardCheckpoint();
+        checkpointProvider = null;
+    }
+
+    private void discardCheckpoint() {
+        if (checkpoint != null) {
+            try {
+                checkpoint.close();
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+            checkpoint = null;
+            checkpointedStatements = null;
+        }
+    }
+
+    private void closeConnection() throws Exception {
+        if (connection != null) {
+            connection.close();
+            connection = null;
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        try {
+            closeConnection();
+        } finally {
+            discardCheckpoint();
+        }
+    }
+
+}
@@ -0,0 +1,94 @@
+package sqlancer;
+
+import sqlancer.common.Fingerprint;
+
+/**
+ * A compact summary of a single-column result set, which stores the number of rows and a set of 64-bit fingerprints of
+ * the distinct values. It allows comparing result sets in the same way as comparing the sets of their values, without
+ * keeping the values themselves in memory. Two different values have the same fingerprint only with negligible
+ * probability.
+ */
+public final class ResultSetFingerprint {
+
+    private static final long EMPTY = 0;
+    private static final long NULL_FINGERPRINT = 0x9E3779B97F4A7C15L;
+    private static final int INITIAL_CAPACITY = 16;
+
+    // open addressing with linear probing; fingerprints are never EMPTY
+    private long[] table = new long[INITIAL_CAPACITY];
+    private int nrDistinctValues;
+    private int nrRows;
+
+    public void add(String value) {
+        nrRows++;
+        long fingerprint = fingerprint(value);
+        if (insert(table, fingerprint)) {
+            nrDistinctValues++;
+            if (nrDistinctValues * 2 > table.length) {
+                long[] newTable = new long[table.length * 2];
+                for (long f : table) {
+                    if (f != EMPTY) {
+                        insert(newTable, f);
+                    }
+                }
+                table = newTable;
+            }
+        }
+    }
+
+    public int getNrRows() {
+        return nrRows;
+    }
+
+    /**
+     * Checks whether both result sets contain the same distinct values, disregarding how often each value occurs.
+     *
+     * @param other
+     *            the result set to compare to
+     *
+     * @return whether the sets of values are equal
+     */
+    public boolean hasSameValues(ResultSetFingerprint other) {
+        if (nrDistinctValues != other.nrDistinctValues) {
+            return false;
+        }
+        for (long f : table) {
+            if (f != EMPTY && !other.contains(f)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean contains(long fingerprint) {
+        int mask = table.length - 1;
+        for (int i = (int) fingerprint & mask;; i = (i + 1) & mask) {
+            if (table[i] == fingerprint) {
+                return true;
+            } else if (table[i] == EMPTY) {
+                return false;
+            }
+        }
+    }
+
+    private static boolean insert(long[] table, long fingerprint) {
+        int mask = table.length - 1;
+        for (int i = (int) fingerprint & mask;; i = (i + 1) & mask) {
+            if (table[i] == fingerprint) {
+                return false;
+            } else if (table[i] == EMPTY) {
+                table[i] = fingerprint;
+                return true;
+            }
+        }
+    }
+
+    static long fingerprint(String value) {
+        if (value == null) {
+            return NULL_FINGERPRINT;
+        }
+        long h = Fingerprint.of(value);
+        return h == EMPTY || h == NULL_FINGERPRINT ? h + 1 : h;
+    }
+
+}
@@ -1,16 +1,26 @@
 package sqlancer;
 
 import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import sqlancer.common.log.BinaryStatementLog;
 import sqlancer.common.query.Query;
 
 public class StateToReproduce {
 
     private List<Query<?>> statements = new ArrayList<>();
 
+    // the size of the query strings of the statements in memory
+    private long statementBytesInMemory;
+
+    private BinaryStatementLog binaryLog;
+
+    private File binaryLogFile;
+
     private final String databaseName;
 
     private final DatabaseProvider<?, ?, ?> databaseProvider;
@@ -40,6 +50,10 @@ public class StateToReproduce {
         return databaseVersion;
     }
 
+    public DatabaseProvider<?, ?, ?> getDatabaseProvider() {
+        return databaseProvider;
+    }
+
     /**
      * Logs the statement string without executing the corresponding statement.
      *
@@ -63,11 +77,93 @@ public class StateToReproduce {
         if (query == null) {
             throw new IllegalArgumentException();
         }
-        statements.add(query);
+        if (binaryLog == null) {
+            statements.add(query);
+            statementBytesInMemory += getSize(query);
+        } else {
+            try {
+                binaryLog.append(query.getQueryString());
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+        }
+    }
+
+    /**
+     * Writes the statements logged so far and all following statements to a binary log rather than keeping them in
+     * memory. {@link #getStatements()} then reads them back from the file.
+     *
+     * @param file
+     *            the file of the binary log
+     *
+     * @throws IOException
+     *             if the file cannot be written
+     */
+    public void useBinaryStatementLog(File file) throws IOException {
+        binaryLog = new BinaryStatementLog(file);
+        binaryLogFile = file;
+        for (Query<?> query : statements) {
+            binaryLog.append(query.getQueryString());
+        }
+        statements = new ArrayList<>();
+        statementBytesInMemory = 0;
+    }
+
+    public boolean usesBinaryStatementLog() {
+        return binaryLogFile != null;
+    }
+
+    /**
+     * Gets the heap size of the query strings of the statements that are kept in memory. The JVM stores the ASCII
+     * strings that SQLancer generates with one byte per character, so the size is the number of characters.
+     *
+     * @return the size in bytes
+     */
+    public long getStatementBytesInMemory() {
+        return statementBytesInMemory;
+    }
+
+    private static long getSize(Query<?> query) {
+        return query.getQueryString().length();
+    }
+
+    /**
+     * Replaces the statements logged so far by statements that recreate the current database, as returned by
+     * {@link DumpableDatabaseProvider#dumpDatabase}.
+     *
+     * @param dump
+     *            the statements that recreate the database
+     */
+    public void replaceStatementsByDump(List<String> dump) {
+        List<Query<?>> dumpStatements = new ArrayList<>();
+        for (String s : dump) {
+            dumpStatements.add(databaseProvider.getLoggableFactory().getQueryForStateToReproduce(s));
+        }
+        setStatements(dumpStatements);
+    }
+
+    public void closeBinaryStatementLog() throws IOException {
+        if (binaryLog != null) {
+            binaryLog.close();
+            binaryLog = null;
+        }
     }
 
     public List<Query<?>> getStatements() {
-        return Collections.unmodifiableList(statements);
+        if (binaryLogFile == null) {
+            return Collections.unmodifiableList(statements);
+        }
+        List<Query<?>> loggedStatements = new ArrayList<>();
+        try {
+            if (binaryLog != null) {
+                binaryLog.flush();
+            }
+            BinaryStatementLog.forEachStatement(binaryLogFile,
+                    s -> loggedStatements.add(databaseProvider.getLoggableFactory().getQueryForStateToReproduce(s)));
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+        return Collections.unmodifiableList(loggedStatements);
     }
 
     /**
@@ -120,7 +216,9 @@ public class StateToReproduce {
         @Override
         public void close() {
             if (!success) {
-                StateToReproduce.this.statements.addAll(statements);
+                for (Query<?> query : statements) {
+                    logStatement(query);
+                }
             }
 
         }
@@ -132,7 +230,14 @@ public class StateToReproduce {
     }
 
     public void setStatements(List<Query<?>> statements) {
+        try {
+            closeBinaryStatementLog();
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        binaryLogFile = null;
         this.statements = statements;
+        statementBytesInMemory = statements.stream().mapToLong(StateToReproduce::getSize).sum();
     }
 
 }
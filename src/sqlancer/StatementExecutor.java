@@ -3,6 +3,7 @@ package sqlancer;
 import java.util.ArrayList;
 import java.util.List;
 
+import sqlancer.common.metrics.LatencyMetrics;
 import sqlancer.common.query.Query;
 
 public class StatementExecutor<G extends GlobalState<?, ?, ?>, A extends AbstractAction<G>> {
@@ -11,6 +12,7 @@ public class StatementExecutor<G extends GlobalState<?, ?, ?>, A extends Abstrac
     private final A[] actions;
     private final ActionMapper<G, A> mapping;
     private final AfterQueryAction queryConsumer;
+    private boolean batchFailed;
 
     @FunctionalInterface
     public interface AfterQueryAction {
@@ -44,6 +46,9 @@ public class StatementExecutor<G extends GlobalState<?, ?, ?>, A extends Abstrac
             nrRemaining[i] = nrPerformed;
             total += nrPerformed;
         }
+        boolean useBatches = globalState.getOptions().getInsertBatchSize() > 1
+                && !globalState.getOptions().logExecutionTime();
+        List<Query<?>> batch = new ArrayList<>();
         while (total != 0) {
             A nextAction = null;
             int selection = r.getInteger(0, total);
@@ -60,24 +65,82 @@ public class StatementExecutor<G extends GlobalState<?, ?, ?>, A extends Abstrac
             assert nextAction != null;
             assert nrRemaining[i] > 0;
             nrRemaining[i]--;
+            globalState.setStatementKind(nextAction.toString());
             @SuppressWarnings("rawtypes")
             Query query = null;
             try {
                 boolean success;
                 int nrTries = 0;
                 do {
-                    query = nextAction.getQuery(globalState);
-                    success = globalState.executeStatement(query);
+                    query = generateQuery(nextAction);
+                    if (useBatches && query.canBeBatched()) {
+                        // batched statements are not retried, since their failure is only known after the batch
+                        batch.add(query);
+                        if (batch.size() >= globalState.getOptions().getInsertBatchSize()) {
+                            executeBatch(batch);
+                        }
+                        success = true;
+                    } else {
+                        executeBatch(batch);
+                        success = globalState.executeStatement(query);
+                    }
                 } while (nextAction.canBeRetried() && !success
                         && nrTries++ < globalState.getOptions().getNrStatementRetryCount());
             } catch (IgnoreMeException ignored) {
-
+                if (batchFailed) {
+                    // the database is in an unknown state, rather than a single statement having failed
+                    throw ignored;
+                }
+                if (query != null && query.couldAffectSchema()) {
+                    // the schema might not have been updated after executing the statement
+                    globalState.updateSchema();
+                }
             }
             if (query != null && query.couldAffectSchema()) {
-                globalState.updateSchema();
                 queryConsumer.notify(query);
             }
             total--;
         }
+        executeBatch(batch);
+        globalState.setStatementKind(null);
+    }
+
+    private Query<?> generateQuery(A action) throws Exception {
+        ExecutionTimer timer = new ExecutionTimer().start();
+        Query<?> query;
+        try {
+            query = action.getQuery(globalState);
+        } catch (Throwable t) {
+            globalState.recordLatency(LatencyMetrics.Phase.GENERATION, globalState.getStatementKind(),
+                    LatencyMetrics.Outcome.of(t), timer);
+            throw t;
+        }
+        globalState.recordLatency(LatencyMetrics.Phase.GENERATION, globalState.getStatementKind(),
+                LatencyMetrics.Outcome.SUCCESS, timer);
+        return query;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private void executeBatch(List<Query<?>> batch) throws Exception {
+        if (batch.isEmpty()) {
+            return;
+        }
+        boolean[] executed;
+        try {
+            executed = ((GlobalState) globalState).executeBatch(batch);
+        } catch (IgnoreMeException e) {
+            batchFailed = true;
+            throw e;
+        }
+        // execute the remaining statements individually to check their errors
+        for (int i = 0; i < batch.size(); i++) {
+            if (!executed[i]) {
+                try {
+                    globalState.executeStatement((Query) batch.get(i));
+                } catch (IgnoreMeException ignored) {
+                }
+            }
+        }
+        batch.clear();
     }
 }
@@ -4,17 +4,22 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import sqlancer.common.query.Query;
 
 public class StatementReducer<G extends GlobalState<O, ?, C>, O extends DBMSSpecificOptions<?>, C extends SQLancerDBConnection>
         implements Reducer<G> {
     private final DatabaseProvider<G, O, C> provider;
+    private final List<G> additionalWorkerStates;
     private boolean observedChange;
     private int partitionNum;
 
-    private long currentReduceSteps;
-    private long currentReduceTime;
+    private final AtomicLong currentReduceSteps = new AtomicLong();
 
     private long maxReduceSteps;
     private long maxReduceTime;
@@ -22,7 +27,21 @@ public class StatementReducer<G extends GlobalState<O, ?, C>, O extends DBMSSpec
     Instant timeOfReductionBegins;
 
     public StatementReducer(DatabaseProvider<G, O, C> provider) {
+        this(provider, List.of());
+    }
+
+    /**
+     * Creates a reducer that tests the candidates of each granularity level in parallel.
+     *
+     * @param provider
+     *            the provider used to create the databases
+     * @param additionalWorkerStates
+     *            global states with distinct database names, on which candidates are tested in addition to the global
+     *            state passed to {@link #reduce}; each of them uses its own instance of the provider's class
+     */
+    public StatementReducer(DatabaseProvider<G, O, C> provider, List<G> additionalWorkerStates) {
         this.provider = provider;
+        this.additionalWorkerStates = additionalWorkerStates;
     }
 
     private boolean hasNotReachedLimit(long curr, long limit) {
@@ -32,6 +51,12 @@ public class StatementReducer<G extends GlobalState<O, ?, C>, O extends DBMSSpec
         return curr < limit;
     }
 
+    private boolean hasNotReachedLimits() {
+        long currentReduceTime = Duration.between(timeOfReductionBegins, Instant.now()).getSeconds();
+        return hasNotReachedLimit(currentReduceSteps.get(), maxReduceSteps)
+                && hasNotReachedLimit(currentReduceTime, maxReduceTime);
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public void reduce(G state, Reproducer<G> reproducer, G newGlobalState) throws Exception {
@@ -54,23 +79,40 @@ public class StatementReducer<G extends GlobalState<O, ?, C>, O extends DBMSSpec
         }
 
         timeOfReductionBegins = Instant.now();
-        currentReduceSteps = 0;
-        currentReduceTime = 0;
+        currentReduceSteps.set(0);
         partitionNum = 2;
 
-        while (knownToReproduceBugStatements.size() >= 2 && hasNotReachedLimit(currentReduceSteps, maxReduceSteps)
-                && hasNotReachedLimit(currentReduceTime, maxReduceTime)) {
-            observedChange = false;
+        List<Worker> workers = new ArrayList<>();
+        ExecutorService executor = null;
+        try {
+            workers.add(new Worker(newGlobalState, provider));
+            for (G workerState : additionalWorkerStates) {
+                // providers, such as the PostgreSQL one, keep the connection details of the database they created
+                workers.add(new Worker(workerState, createProvider()));
+            }
+            if (workers.size() > 1) {
+                executor = Executors.newFixedThreadPool(workers.size() - 1);
+            }
+            while (knownToReproduceBugStatements.size() >= 2 && hasNotReachedLimits()) {
+                observedChange = false;
 
-            knownToReproduceBugStatements = tryReduction(state, reproducer, newGlobalState,
-                    knownToReproduceBugStatements);
+                knownToReproduceBugStatements = tryReduction(reproducer, newGlobalState, knownToReproduceBugStatements,
+                        workers, executor);
 
-            if (!observedChange) {
-                if (partitionNum == knownToReproduceBugStatements.size()) {
-                    break;
+                if (!observedChange) {
+                    if (partitionNum == knownToReproduceBugStatements.size()) {
+                        break;
+                    }
+                    // increase the search granularity
+                    partitionNum = Math.min(partitionNum * 2, knownToReproduceBugStatements.size());
                 }
-                // increase the search granularity
-                partitionNum = Math.min(partitionNum * 2, knownToReproduceBugStatements.size());
+            }
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+            for (Worker worker : workers) {
+                worker.databases.close();
             }
         }
 
@@ -81,58 +123,103 @@ public class StatementReducer<G extends GlobalState<O, ?, C>, O extends DBMSSpec
 
     }
 
-    private List<Query<C>> tryReduction(G state, // NOPMD
-            Reproducer<G> reproducer, G newGlobalState, List<Query<C>> knownToReproduceBugStatements) throws Exception {
+    @SuppressWarnings("unchecked")
+    private DatabaseProvider<G, O, C> createProvider() {
+        try {
+            return provider.getClass().getDeclaredConstructor().newInstance();
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /*
+     * Tests the candidates of the current granularity level, each of which removes one partition of the statements.
+     * The workers take the candidates in order, and stop taking candidates once a candidate still triggers the bug.
+     * Candidates that precede a successful one are still completed, so that the result is the first successful
+     * candidate, as if the candidates had been tested sequentially.
+     */
+    private List<Query<C>> tryReduction(Reproducer<G> reproducer, G newGlobalState,
+            List<Query<C>> knownToReproduceBugStatements, List<Worker> workers, ExecutorService executor)
+            throws Exception {
 
         List<Query<C>> statements = knownToReproduceBugStatements;
 
-        int start = 0;
+        List<Integer> starts = new ArrayList<>();
+        List<List<Query<C>>> candidates = new ArrayList<>();
         int subLength = statements.size() / partitionNum;
-        while (start < statements.size()) {
+        for (int start = 0; start < statements.size(); start += subLength) {
             // newStatements = candidate[:start] + candidate[start+subLength:]
             // in other word, remove [start, start+subLength) from candidates
-            try (C con2 = provider.createDatabase(newGlobalState)) {
-                newGlobalState.setConnection(con2);
-                List<Query<C>> candidateStatements = new ArrayList<>(statements);
-                int endPoint = Math.min(start + subLength, candidateStatements.size());
-                candidateStatements.subList(start, endPoint).clear();
-                newGlobalState.getState().setStatements(new ArrayList<>(candidateStatements));
-
-                for (Query<C> s : candidateStatements) {
-                    try {
-                        s.execute(newGlobalState);
-                    } catch (Throwable ignoredException) {
-                        // ignore
-                    }
+            List<Query<C>> candidateStatements = new ArrayList<>(statements);
+            int endPoint = Math.min(start + subLength, candidateStatements.size());
+            candidateStatements.subList(start, endPoint).clear();
+            starts.add(start);
+            candidates.add(candidateStatements);
+        }
+
+        AtomicInteger nextCandidate = new AtomicInteger();
+        AtomicInteger firstSuccess = new AtomicInteger(Integer.MAX_VALUE);
+        List<Future<?>> futures = new ArrayList<>();
+        for (Worker worker : workers.subList(1, workers.size())) {
+            futures.add(executor.submit(
+                    () -> worker.testCandidates(reproducer, candidates, starts, nextCandidate, firstSuccess)));
+        }
+        workers.get(0).testCandidates(reproducer, candidates, starts, nextCandidate, firstSuccess);
+        for (Future<?> future : futures) {
+            future.get();
+        }
+
+        int success = firstSuccess.get();
+        if (success != Integer.MAX_VALUE) {
+            observedChange = true;
+            statements = candidates.get(success);
+            partitionNum = Math.max(partitionNum - 1, 2);
+            newGlobalState.getState().setStatements(new ArrayList<>(statements));
+            // reproducer.outputHook((SQLite3GlobalState) newGlobalState);
+            newGlobalState.getLogger().logReduced(newGlobalState.getState());
+        }
+        return statements;
+    }
+
+    private final class Worker {
+
+        private final G globalState;
+        private final ReducerDatabaseManager<G, O, C> databases;
+
+        Worker(G globalState, DatabaseProvider<G, O, C> workerProvider) {
+            this.globalState = globalState;
+            this.databases = new ReducerDatabaseManager<>(workerProvider, globalState);
+        }
+
+        void testCandidates(Reproducer<G> reproducer, List<List<Query<C>>> candidates, List<Integer> starts,
+                AtomicInteger nextCandidate, AtomicInteger firstSuccess) {
+            while (true) {
+                int i = nextCandidate.getAndIncrement();
+                if (i >= candidates.size() || i > firstSuccess.get() || !hasNotReachedLimits()) {
+                    return;
                 }
                 try {
-                    if (reproducer.bugStillTriggers(newGlobalState)) {
-                        observedChange = true;
-                        statements = candidateStatements;
-                        partitionNum = Math.max(partitionNum - 1, 2);
-                        // reproducer.outputHook((SQLite3GlobalState) newGlobalState);
-                        newGlobalState.getLogger().logReduced(newGlobalState.getState());
-                        break;
+                    List<Query<C>> candidateStatements = candidates.get(i);
+                    globalState.getState().setStatements(new ArrayList<>(candidateStatements));
 
-                    }
-                } catch (Throwable ignoredException) {
+                    // the following candidates share the statements before the removed partition
+                    databases.prepare(globalState, candidateStatements, starts.get(i));
+                    try {
+                        if (reproducer.bugStillTriggers(globalState)) {
+                            firstSuccess.accumulateAndGet(i, Math::min);
+                            return;
+                        }
+                    } catch (Throwable ignoredException) {
 
+                    }
+                } catch (Exception e) {
+                    e.printStackTrace();
                 }
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
-
-            currentReduceSteps++;
-            Instant currentInstant = Instant.now();
 
-            currentReduceTime = Duration.between(timeOfReductionBegins, currentInstant).getSeconds();
-            if (!hasNotReachedLimit(currentReduceSteps, maxReduceSteps)
-                    || !hasNotReachedLimit(currentReduceTime, maxReduceTime)) {
-                return statements;
+                currentReduceSteps.incrementAndGet();
             }
-            start = start + subLength;
         }
-        return statements;
+
     }
 
     @SuppressWarnings("unused")
@@ -2,7 +2,9 @@ package sqlancer.citus;
 
 import java.sql.SQLException;
 
+import sqlancer.common.query.Query;
 import sqlancer.postgres.PostgresGlobalState;
+import sqlancer.postgres.PostgresSchema;
 
 public class CitusGlobalState extends PostgresGlobalState {
 
@@ -21,4 +23,11 @@ public class CitusGlobalState extends PostgresGlobalState {
         return CitusSchema.fromConnection(getConnection(), getDatabaseName());
     }
 
+    @Override
+    protected PostgresSchema applySchemaDelta(PostgresSchema currentSchema, Query<?> q, boolean success) {
+        PostgresSchema updatedSchema = super.applySchemaDelta(currentSchema, q, success);
+        // the tables of a changed schema would lack the distribution columns of the CitusTables
+        return updatedSchema == currentSchema ? updatedSchema : null;
+    }
+
 }
@@ -407,6 +407,12 @@ public class CitusProvider extends PostgresProvider {
         }
     }
 
+    @Override
+    public boolean supportsCheckpoints(PostgresGlobalState globalState) {
+        // the distributed tables are stored on the worker nodes, which a template copy of the database does not cover
+        return false;
+    }
+
     @SuppressWarnings("deprecation")
     @Override
     public SQLConnection createDatabase(PostgresGlobalState globalState) throws SQLException {
@@ -21,12 +21,16 @@ import sqlancer.clickhouse.ClickHouseProvider.ClickHouseGlobalState;
 import sqlancer.clickhouse.gen.ClickHouseCommon;
 import sqlancer.clickhouse.gen.ClickHouseInsertGenerator;
 import sqlancer.clickhouse.gen.ClickHouseTableGenerator;
+import sqlancer.common.DatabaseLifecycle;
 import sqlancer.common.query.SQLQueryAdapter;
 import sqlancer.common.query.SQLQueryProvider;
 
 @AutoService(DatabaseProvider.class)
 public class ClickHouseProvider extends SQLProviderAdapter<ClickHouseGlobalState, ClickHouseOptions> {
 
+    private static final String DATABASE_EXISTS_QUERY = "SELECT 1 FROM system.databases WHERE name = ?";
+    private static final long DATABASE_READY_TIMEOUT_MILLIS = 10_000;
+
     public ClickHouseProvider() {
         super(ClickHouseGlobalState.class, ClickHouseOptions.class);
     }
@@ -121,28 +125,24 @@ public class ClickHouseProvider extends SQLProviderAdapter<ClickHouseGlobalState
         globalState.setClickHouseOptions(clickHouseOptions);
         String url = String.format("jdbc:clickhouse://%s:%d/%s", host, port, "default");
         String databaseName = globalState.getDatabaseName();
-        Connection con = DriverManager.getConnection(url, globalState.getOptions().getUserName(),
-                globalState.getOptions().getPassword());
         String dropDatabaseCommand = "DROP DATABASE IF EXISTS " + databaseName;
         globalState.getState().logStatement(dropDatabaseCommand);
         String createDatabaseCommand = "CREATE DATABASE IF NOT EXISTS " + databaseName;
         globalState.getState().logStatement(createDatabaseCommand);
         String useDatabaseCommand = "USE " + databaseName; // Noop. To reproduce easier.
         globalState.getState().logStatement(useDatabaseCommand);
-        try (Statement s = con.createStatement()) {
-            s.execute(dropDatabaseCommand);
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-        }
-        try (Statement s = con.createStatement()) {
-            s.execute(createDatabaseCommand);
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {
-            e.printStackTrace();
+        try (Connection con = DriverManager.getConnection(url, globalState.getOptions().getUserName(),
+                globalState.getOptions().getPassword())) {
+            try (Statement s = con.createStatement()) {
+                s.execute(dropDatabaseCommand);
+            }
+            DatabaseLifecycle.awaitDropped(con, DATABASE_EXISTS_QUERY, databaseName, DATABASE_READY_TIMEOUT_MILLIS);
+            try (Statement s = con.createStatement()) {
+                s.execute(createDatabaseCommand);
+            }
+            DatabaseLifecycle.awaitCreated(con, DATABASE_EXISTS_QUERY, databaseName, DATABASE_READY_TIMEOUT_MILLIS);
         }
-        con.close();
-        con = DriverManager.getConnection(
+        Connection con = DriverManager.getConnection(
                 String.format("jdbc:clickhouse://%s:%d/%s?socket_timeout=300000%s", host, port, databaseName,
                         clickHouseOptions.enableAnalyzer ? "&allow_experimental_analyzer=1" : ""),
                 globalState.getOptions().getUserName(), globalState.getOptions().getPassword());
@@ -174,7 +174,7 @@ public class ClickHouseBinaryComparisonOperation extends ClickHouseExpression
                 if (leftStr == null || rightStr == null) {
                     return null;
                 }
-                boolean val = LikeImplementationHelper.match(leftStr.asString(), rightStr.asString(), 0, 0, false);
+                boolean val = LikeImplementationHelper.match(leftStr.asString(), rightStr.asString(), false);
                 return ClickHouseCreateConstant.createBoolean(val);
             }
 
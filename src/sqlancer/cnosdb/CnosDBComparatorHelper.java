@@ -32,7 +32,7 @@ public final class CnosDBComparatorHelper {
         }
         CnosDBSelectQuery q = new CnosDBSelectQuery(queryString, errors);
         List<String> result = new ArrayList<>();
-        CnosDBResultSet resultSet;
+        CnosDBResultSet resultSet = null;
         try {
             q.executeAndGet(state);
             resultSet = q.getResultSet();
@@ -56,6 +56,10 @@ public final class CnosDBComparatorHelper {
                 throw new IgnoreMeException();
             }
             throw new AssertionError(queryString, e);
+        } finally {
+            if (resultSet != null) {
+                resultSet.close();
+            }
         }
 
         return result;
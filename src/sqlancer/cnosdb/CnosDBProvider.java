@@ -21,6 +21,9 @@ import sqlancer.common.log.LoggableFactory;
 @AutoService(DatabaseProvider.class)
 public class CnosDBProvider extends ProviderAdapter<CnosDBGlobalState, CnosDBOptions, CnosDBConnection> {
 
+    // a database is used by one thread at a time, which may read a result set while issuing another request
+    private static final int MAX_CONNECTIONS_PER_DATABASE = 2;
+
     protected String username;
     protected String password;
     protected String host;
@@ -66,7 +69,8 @@ public class CnosDBProvider extends ProviderAdapter<CnosDBGlobalState, CnosDBOpt
         host = globalState.getOptions().getHost();
         port = globalState.getOptions().getPort();
         databaseName = globalState.getDatabaseName();
-        CnosDBClient client = new CnosDBClient(host, port, username, password, databaseName);
+        CnosDBClient client = new CnosDBClient(host, port, username, password, databaseName,
+                MAX_CONNECTIONS_PER_DATABASE);
         CnosDBConnection connection = new CnosDBConnection(client);
         client.execute("DROP DATABASE IF EXISTS " + databaseName);
         globalState.getState().logStatement("DROP DATABASE IF EXISTS " + databaseName);
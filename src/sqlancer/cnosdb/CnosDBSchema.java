@@ -46,11 +46,16 @@ public class CnosDBSchema extends AbstractSchema<CnosDBGlobalState, CnosDBSchema
     }
 
     public static CnosDBSchema fromConnection(CnosDBConnection con) throws Exception {
-        CnosDBResultSet tablesRes = con.getClient().executeQuery("SHOW TABLES");
+        // read the table names before describing the tables, so that only one response is streamed at a time
+        List<String> tableNames = new ArrayList<>();
+        try (CnosDBResultSet tablesRes = con.getClient().executeQuery("SHOW TABLES")) {
+            while (tablesRes.next()) {
+                tableNames.add(tablesRes.getString(1));
+            }
+        }
 
         List<CnosDBTable> tables = new ArrayList<>();
-        while (tablesRes.next()) {
-            String tableName = tablesRes.getString(1);
+        for (String tableName : tableNames) {
             List<CnosDBColumn> columns = getTableColumns(con, tableName);
             tables.add(new CnosDBTable(tableName, columns));
         }
@@ -59,23 +64,24 @@ public class CnosDBSchema extends AbstractSchema<CnosDBGlobalState, CnosDBSchema
     }
 
     protected static List<CnosDBColumn> getTableColumns(CnosDBConnection con, String tableName) throws Exception {
-        CnosDBResultSet columnsRes = con.getClient().executeQuery("DESCRIBE TABLE " + tableName);
         List<CnosDBColumn> columns = new ArrayList<>();
         CnosDBTable table = new CnosDBTable(tableName, columns);
-        while (columnsRes.next()) {
-            String columnName = columnsRes.getString(1);
-            String columnType = columnsRes.getString(3).toLowerCase();
-            CnosDBDataType dataType = CnosDBSchema.getColumnType(columnsRes.getString(2));
-            CnosDBColumn column;
-            if (columnType.contentEquals("time")) {
-                column = new CnosDBTimeColumn();
-            } else if (columnType.contentEquals("tag")) {
-                column = new CnosDBTagColumn(columnName);
-            } else {
-                column = new CnosDBFieldColumn(columnName, dataType);
+        try (CnosDBResultSet columnsRes = con.getClient().executeQuery("DESCRIBE TABLE " + tableName)) {
+            while (columnsRes.next()) {
+                String columnName = columnsRes.getString(1);
+                String columnType = columnsRes.getString(3).toLowerCase();
+                CnosDBDataType dataType = CnosDBSchema.getColumnType(columnsRes.getString(2));
+                CnosDBColumn column;
+                if (columnType.contentEquals("time")) {
+                    column = new CnosDBTimeColumn();
+                } else if (columnType.contentEquals("tag")) {
+                    column = new CnosDBTagColumn(columnName);
+                } else {
+                    column = new CnosDBFieldColumn(columnName, dataType);
+                }
+                column.setTable(table);
+                columns.add(column);
             }
-            column.setTable(table);
-            columns.add(column);
         }
 
         return columns;
@@ -199,9 +205,8 @@ public class CnosDBSchema extends AbstractSchema<CnosDBGlobalState, CnosDBSchema
         @Override
         public long getNrRows(CnosDBGlobalState globalState) {
             long res;
-            try {
-                CnosDBResultSet tableCountRes = globalState.getConnection().getClient()
-                        .executeQuery("SELECT COUNT(time) FROM " + this.name);
+            try (CnosDBResultSet tableCountRes = globalState.getConnection().getClient()
+                    .executeQuery("SELECT COUNT(time) FROM " + this.name)) {
                 tableCountRes.next();
                 res = tableCountRes.getLong(1);
             } catch (Exception e) {
@@ -1,15 +1,13 @@
 package sqlancer.cnosdb.client;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.UnsupportedEncodingException;
 import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
 
 import org.apache.commons.codec.binary.Base64;
 import org.apache.http.HttpHeaders;
+import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
@@ -18,10 +16,13 @@ import org.apache.http.client.utils.URIBuilder;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
-
-import com.arangodb.internal.util.IOUtils;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.util.EntityUtils;
 
 public class CnosDBClient {
+    // a result set that is not closed keeps its connection, so waiting for a connection must not block forever
+    private static final int CONNECTION_REQUEST_TIMEOUT_MILLIS = 60_000;
+
     private final String userName;
     private final String password;
     private final String host;
@@ -30,13 +31,25 @@ public class CnosDBClient {
     private final String database;
     private final CloseableHttpClient client;
 
-    public CnosDBClient(String host, int port, String userName, String password, String database) {
+    /**
+     * Creates a client with its own pool of keep-alive connections to the server, so that a request does not need to
+     * open a new connection. The pool is closed together with the client.
+     *
+     * @param maxConnections
+     *            the maximum number of connections of the pool, that is, of requests and result sets in progress
+     */
+    public CnosDBClient(String host, int port, String userName, String password, String database,
+            int maxConnections) {
         this.host = host;
         this.port = port;
         this.userName = userName;
         this.password = password;
         this.database = database;
-        this.client = HttpClientBuilder.create().build();
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnections);
+        this.client = HttpClientBuilder.create().setConnectionManager(connectionManager).setDefaultRequestConfig(
+                RequestConfig.custom().setConnectionRequestTimeout(CONNECTION_REQUEST_TIMEOUT_MILLIS).build()).build();
     }
 
     private String url() {
@@ -46,36 +59,52 @@ public class CnosDBClient {
     public String ping() throws Exception {
         HttpGet httpGet = new HttpGet(this.url() + "ping");
         httpGet.setHeader(HttpHeaders.AUTHORIZATION, getAuth());
-        CloseableHttpResponse resp = client.execute(httpGet);
-
-        String content = IOUtils.toString(resp.getEntity().getContent());
-        resp.close();
-        return content;
+        try (CloseableHttpResponse resp = client.execute(httpGet)) {
+            return EntityUtils.toString(resp.getEntity(), StandardCharsets.UTF_8);
+        }
     }
 
+    /**
+     * Executes a query whose result is parsed while it is received. The result set holds a connection of the pool until
+     * all of its records have been read or it is closed.
+     *
+     * @param query
+     *            the query
+     *
+     * @return the result set
+     *
+     * @throws Exception
+     *             if the request fails or the server reports an error
+     */
     public CnosDBResultSet executeQuery(String query) throws Exception {
         HttpUriRequest request = createRequest(query);
         CloseableHttpResponse resp = client.execute(request);
-        String text = IOUtils.toString(resp.getEntity().getContent());
-        if (resp.getStatusLine().getStatusCode() != 200) {
-            resp.close();
-            throw new CnosDBException(database + ":" + query + ";\n" + text);
+        boolean streaming = false;
+        try {
+            if (resp.getStatusLine().getStatusCode() != 200) {
+                String text = EntityUtils.toString(resp.getEntity(), StandardCharsets.UTF_8);
+                throw new CnosDBException(database + ":" + query + ";\n" + text);
+            }
+            CnosDBResultSet result = new CnosDBResultSet(resp);
+            streaming = true;
+            return result;
+        } finally {
+            if (!streaming) {
+                resp.close();
+            }
         }
-        resp.close();
-        InputStream stream = new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
-
-        return new CnosDBResultSet(new InputStreamReader(stream));
     }
 
     public boolean execute(String query) throws Exception {
         HttpUriRequest request = createRequest(query);
-        CloseableHttpResponse resp = client.execute(request);
-        if (resp.getStatusLine().getStatusCode() != 200) {
-            String res = IOUtils.toString(resp.getEntity().getContent());
-            resp.close();
-            throw new CnosDBException(query + res);
+        try (CloseableHttpResponse resp = client.execute(request)) {
+            if (resp.getStatusLine().getStatusCode() != 200) {
+                String res = EntityUtils.toString(resp.getEntity(), StandardCharsets.UTF_8);
+                throw new CnosDBException(query + res);
+            }
+            // the connection can only be reused once the response has been read
+            EntityUtils.consume(resp.getEntity());
         }
-        resp.close();
         return true;
     }
 
@@ -1,25 +1,62 @@
 package sqlancer.cnosdb.client;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
 import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
 import java.util.Iterator;
 
 import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.util.EntityUtils;
 
 import sqlancer.IgnoreMeException;
 
-public class CnosDBResultSet {
+public class CnosDBResultSet implements AutoCloseable {
+    private static final CSVFormat FORMAT = CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true).build();
+
+    private final CSVParser parser;
     private final Iterator<CSVRecord> records;
+    private final CloseableHttpResponse response;
     private CSVRecord next;
 
-    public CnosDBResultSet(Reader in) throws Exception {
-        Iterable<CSVRecord> records = CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true).build()
-                .parse(in);
-        this.records = records.iterator();
+    public CnosDBResultSet(Reader in) throws IOException {
+        this(in, null);
+    }
+
+    // parses the records directly from the response body, which is released when the result set is closed
+    CnosDBResultSet(CloseableHttpResponse response) throws IOException {
+        this(new InputStreamReader(response.getEntity().getContent(), StandardCharsets.UTF_8), response);
     }
 
+    private CnosDBResultSet(Reader in, CloseableHttpResponse response) throws IOException {
+        this.response = response;
+        this.parser = FORMAT.parse(in);
+        this.records = parser.iterator();
+    }
+
+    @Override
     public void close() {
+        try {
+            if (response != null) {
+                // reading the rest of the response allows reusing the connection
+                EntityUtils.consume(response.getEntity());
+            }
+            parser.close();
+        } catch (IOException e) {
+            // the connection is discarded rather than reused
+        } finally {
+            if (response != null) {
+                try {
+                    response.close();
+                } catch (IOException e) {
+                    // ignore
+                }
+            }
+        }
     }
 
     public boolean next() throws SQLException {
@@ -27,6 +64,8 @@ public class CnosDBResultSet {
             next = records.next();
             return true;
         }
+        // release the connection as soon as all records have been read
+        close();
         return false;
     }
 
@@ -126,10 +126,13 @@ public class CnosDBNoRECOracle extends CnosDBNoRECBase implements TestOracle<Cno
             return -1;
         }
 
-        if (rs.next()) {
-            secondCount += rs.getLong(1);
+        try {
+            if (rs.next()) {
+                secondCount += rs.getLong(1);
+            }
+        } finally {
+            rs.close();
         }
-        rs.close();
         return secondCount;
     }
 
@@ -151,7 +154,7 @@ public class CnosDBNoRECOracle extends CnosDBNoRECBase implements TestOracle<Cno
             logger.writeCurrent(optimizedQueryString);
         }
         CnosDBSelectQuery query = new CnosDBSelectQuery(optimizedQueryString, CnosDBExpectedError.expectedErrors());
-        CnosDBResultSet rs;
+        CnosDBResultSet rs = null;
         try {
             query.executeAndGet(state);
             rs = query.getResultSet();
@@ -164,6 +167,10 @@ public class CnosDBNoRECOracle extends CnosDBNoRECBase implements TestOracle<Cno
             }
 
             throw new IgnoreMeException();
+        } finally {
+            if (rs != null) {
+                rs.close();
+            }
         }
         return firstCount;
     }
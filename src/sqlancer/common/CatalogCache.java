@@ -0,0 +1,67 @@
+package sqlancer.common;
+
+import java.sql.SQLException;
+
+import sqlancer.SQLConnection;
+
+/**
+ * A process-wide cache of catalog information that is the same for all databases on a server, such as its built-in
+ * functions, operators, and collations. The catalog is loaded once and then shared read-only by all threads; it is
+ * loaded again only if a connection reports a different server version than the one it was loaded for.
+ *
+ * @param <T>
+ *            the type of the catalog, which must be immutable
+ */
+public final class CatalogCache<T> {
+
+    private final CatalogLoader<T> loader;
+    private volatile VersionedCatalog<T> current;
+
+    @FunctionalInterface
+    public interface CatalogLoader<T> {
+        T load(SQLConnection con) throws SQLException;
+    }
+
+    private static final class VersionedCatalog<T> {
+        private final String version;
+        private final T catalog;
+
+        VersionedCatalog(String version, T catalog) {
+            this.version = version;
+            this.catalog = catalog;
+        }
+    }
+
+    public CatalogCache(CatalogLoader<T> loader) {
+        this.loader = loader;
+    }
+
+    /**
+     * Returns the catalog of the server that the connection belongs to, loading it through the connection if it has
+     * not been loaded for this server version yet.
+     *
+     * @param con
+     *            a connection to the server
+     *
+     * @return the catalog
+     *
+     * @throws SQLException
+     *             if the server version or the catalog cannot be read
+     */
+    public T get(SQLConnection con) throws SQLException {
+        String version = con.getDatabaseVersion();
+        VersionedCatalog<T> cached = current;
+        if (cached != null && cached.version.equals(version)) {
+            return cached.catalog;
+        }
+        synchronized (this) {
+            cached = current;
+            if (cached == null || !cached.version.equals(version)) {
+                cached = new VersionedCatalog<>(version, loader.load(con));
+                current = cached;
+            }
+            return cached.catalog;
+        }
+    }
+
+}
@@ -0,0 +1,100 @@
+package sqlancer.common;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import sqlancer.IgnoreMeException;
+
+/**
+ * Waits until a DBMS has completed creating or dropping a database. Some DBMSs perform these operations
+ * asynchronously, so that the database might not yet exist (or still exist) when the statement returns. Instead of
+ * sleeping for a fixed time, the DBMS's catalog is polled with an exponential backoff.
+ * <p>
+ * Currently, only ClickHouse needs this. The other server providers create and drop databases synchronously; the
+ * fixed delays of YugabyteDB guard against conflicting DDL statements rather than against unfinished ones.
+ */
+public final class DatabaseLifecycle {
+
+    private static final long INITIAL_DELAY_MILLIS = 5;
+    private static final long MAX_DELAY_MILLIS = 250;
+
+    private DatabaseLifecycle() {
+    }
+
+    /**
+     * Waits until the database exists.
+     *
+     * @param con
+     *            a connection that is not connected to the database itself
+     * @param existenceQuery
+     *            a query with a single parameter for the database name, which returns at least one row if the database
+     *            exists (e.g., {@code SELECT 1 FROM system.databases WHERE name = ?})
+     * @param databaseName
+     *            the name of the database
+     * @param timeoutMillis
+     *            the maximum time to wait
+     *
+     * @throws SQLException
+     *             if the catalog cannot be queried
+     * @throws IgnoreMeException
+     *             if the database does not exist after the timeout
+     */
+    public static void awaitCreated(Connection con, String existenceQuery, String databaseName, long timeoutMillis)
+            throws SQLException {
+        await(con, existenceQuery, databaseName, true, timeoutMillis);
+    }
+
+    /**
+     * Waits until the database no longer exists.
+     *
+     * @param con
+     *            a connection that is not connected to the database itself
+     * @param existenceQuery
+     *            a query with a single parameter for the database name, which returns at least one row if the database
+     *            exists
+     * @param databaseName
+     *            the name of the database
+     * @param timeoutMillis
+     *            the maximum time to wait
+     *
+     * @throws SQLException
+     *             if the catalog cannot be queried
+     * @throws IgnoreMeException
+     *             if the database still exists after the timeout
+     */
+    public static void awaitDropped(Connection con, String existenceQuery, String databaseName, long timeoutMillis)
+            throws SQLException {
+        await(con, existenceQuery, databaseName, false, timeoutMillis);
+    }
+
+    private static void await(Connection con, String existenceQuery, String databaseName, boolean shouldExist,
+            long timeoutMillis) throws SQLException {
+        long deadline = System.nanoTime() + timeoutMillis * 1_000_000;
+        long delay = INITIAL_DELAY_MILLIS;
+        try (PreparedStatement s = con.prepareStatement(existenceQuery)) {
+            s.setString(1, databaseName);
+            while (true) {
+                try (ResultSet rs = s.executeQuery()) {
+                    if (rs.next() == shouldExist) {
+                        return;
+                    }
+                }
+                long remainingMillis = (deadline - System.nanoTime()) / 1_000_000;
+                if (remainingMillis <= 0) {
+                    // the DBMS is likely overloaded, so try again with the next database
+                    throw new IgnoreMeException();
+                }
+                try {
+                    Thread.sleep(Math.min(delay, remainingMillis));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IgnoreMeException();
+                }
+                delay = Math.min(delay * 2, MAX_DELAY_MILLIS);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,62 @@
+package sqlancer.common;
+
+import java.util.List;
+
+/**
+ * Computes 64-bit fingerprints of strings, which are used instead of the strings themselves to detect duplicates. The
+ * fingerprint is the FNV-1a hash, followed by the MurmurHash3 finalizer to spread its bits, so that the low bits can
+ * also be used as a hash table index. Two different inputs have the same fingerprint only with negligible probability.
+ */
+public final class Fingerprint {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    // the noncharacter U+FFFF, which does not occur in the strings themselves
+    private static final long SEPARATOR = 0xFFFF;
+
+    private Fingerprint() {
+    }
+
+    public static long of(String s) {
+        return finish(update(FNV_OFFSET_BASIS, s));
+    }
+
+    /**
+     * Computes the fingerprint of a sequence of strings, which differs from the fingerprint of their concatenation.
+     *
+     * @param strings
+     *            the strings, in order
+     *
+     * @return the fingerprint
+     */
+    public static long of(List<String> strings) {
+        long h = FNV_OFFSET_BASIS;
+        for (String s : strings) {
+            h = update(h, s);
+            h ^= SEPARATOR;
+            h *= FNV_PRIME;
+        }
+        return finish(h);
+    }
+
+    private static long update(long hash, String s) {
+        long h = hash;
+        for (int i = 0; i < s.length(); i++) {
+            h ^= s.charAt(i);
+            h *= FNV_PRIME;
+        }
+        return h;
+    }
+
+    private static long finish(long hash) {
+        long h = hash;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+}
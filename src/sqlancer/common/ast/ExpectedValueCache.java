@@ -0,0 +1,38 @@
+package sqlancer.common.ast;
+
+import java.util.function.Supplier;
+
+/**
+ * Memoizes the expected value of an expression node, as computed by the Pivoted Query Synthesis (PQS) oracles.
+ *
+ * The expected value of a node depends only on its subtree, which PQS constructs for a single pivot row with the pivot
+ * row's values baked into the column references. Caching the value on the node thus evaluates every subtree only once
+ * per pivot row, rather than once for every ancestor (or visitor) that requests it. Nodes must not use the cache if
+ * their subtree can be modified after the expected value has been requested.
+ *
+ * @param <C>
+ *            the constant type of the DBMS
+ */
+public final class ExpectedValueCache<C> {
+
+    private C value;
+    private boolean computed;
+
+    /**
+     * Returns the cached expected value, computing it on the first call. A <code>null</code> value (i.e., an unknown
+     * expected value) is cached as well. If the computation throws an exception, nothing is cached.
+     *
+     * @param computation
+     *            computes the expected value based on the node's children
+     *
+     * @return the expected value
+     */
+    public C get(Supplier<C> computation) {
+        if (!computed) {
+            value = computation.get();
+            computed = true;
+        }
+        return value;
+    }
+
+}
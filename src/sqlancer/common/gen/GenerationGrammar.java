@@ -0,0 +1,177 @@
+package sqlancer.common.gen;
+
+import java.lang.reflect.Array;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import sqlancer.Randomly;
+
+/**
+ * The node kinds that an expression generator can choose from, together with their weights. The grammar is compiled
+ * once from the options that enable or disable node kinds into a table for the alias method, so that picking the kind
+ * of a node takes constant time and does not allocate, rather than building and filtering a list of all kinds for every
+ * node.
+ *
+ * @param <E>
+ *            the enum of node kinds
+ */
+public final class GenerationGrammar<E extends Enum<E>> {
+
+    private final E[] kinds;
+    private final E[] aliases;
+    private final double[] probabilities;
+
+    private GenerationGrammar(E[] kinds, E[] aliases, double[] probabilities) {
+        this.kinds = kinds;
+        this.aliases = aliases;
+        this.probabilities = probabilities;
+    }
+
+    public static <E extends Enum<E>> Builder<E> builder(Class<E> kindClass) {
+        return new Builder<>(kindClass);
+    }
+
+    /**
+     * Picks a node kind with a probability that is proportional to its weight.
+     *
+     * @return the node kind
+     */
+    public E next() {
+        // one random number selects both the column of the table and the side of the column
+        double scaled = Randomly.getPercentage() * kinds.length;
+        int column = Math.min((int) scaled, kinds.length - 1);
+        return scaled - column < probabilities[column] ? kinds[column] : aliases[column];
+    }
+
+    public static final class Builder<E extends Enum<E>> {
+
+        private final Class<E> kindClass;
+        private final Map<E, Integer> weights;
+
+        private Builder(Class<E> kindClass) {
+            this.kindClass = kindClass;
+            this.weights = new EnumMap<>(kindClass);
+            for (E kind : kindClass.getEnumConstants()) {
+                weights.put(kind, 1);
+            }
+        }
+
+        public Builder<E> weight(E kind, int weight) {
+            if (weight < 0) {
+                throw new IllegalArgumentException(kind + " " + weight);
+            }
+            weights.put(kind, weight);
+            return this;
+        }
+
+        @SafeVarargs
+        public final Builder<E> disable(E... kinds) {
+            for (E kind : kinds) {
+                weights.put(kind, 0);
+            }
+            return this;
+        }
+
+        @SafeVarargs
+        public final Builder<E> disableIf(boolean condition, E... kinds) {
+            return condition ? disable(kinds) : this;
+        }
+
+        // Vose's alias method
+        @SuppressWarnings("unchecked")
+        public GenerationGrammar<E> build() {
+            long totalWeight = 0;
+            int n = 0;
+            for (int weight : weights.values()) {
+                if (weight != 0) {
+                    totalWeight += weight;
+                    n++;
+                }
+            }
+            if (n == 0) {
+                throw new IllegalStateException("all node kinds of " + kindClass.getSimpleName() + " are disabled");
+            }
+            E[] kinds = (E[]) Array.newInstance(kindClass, n);
+            E[] aliases = (E[]) Array.newInstance(kindClass, n);
+            double[] probabilities = new double[n];
+            double[] scaled = new double[n];
+            int i = 0;
+            for (Map.Entry<E, Integer> entry : weights.entrySet()) {
+                if (entry.getValue() != 0) {
+                    kinds[i] = entry.getKey();
+                    scaled[i] = (double) entry.getValue() * n / totalWeight;
+                    i++;
+                }
+            }
+            Deque<Integer> small = new ArrayDeque<>();
+            Deque<Integer> large = new ArrayDeque<>();
+            for (i = 0; i < n; i++) {
+                (scaled[i] < 1 ? small : large).push(i);
+            }
+            while (!small.isEmpty() && !large.isEmpty()) {
+                int s = small.pop();
+                int l = large.pop();
+                probabilities[s] = scaled[s];
+                aliases[s] = kinds[l];
+                scaled[l] -= 1 - scaled[s];
+                (scaled[l] < 1 ? small : large).push(l);
+            }
+            // the remaining columns are full, up to rounding errors
+            for (int l : large) {
+                probabilities[l] = 1;
+                aliases[l] = kinds[l];
+            }
+            for (int s : small) {
+                probabilities[s] = 1;
+                aliases[s] = kinds[s];
+            }
+            return new GenerationGrammar<>(kinds, aliases, probabilities);
+        }
+
+    }
+
+    /**
+     * Holds the grammar compiled from a set of options. The DBMS-specific options are shared by all databases that are
+     * generated in a run, so the grammar is typically compiled only once; it is compiled again only if the generator
+     * is used with a different options object.
+     *
+     * @param <O>
+     *            the type of the options
+     * @param <E>
+     *            the enum of node kinds
+     */
+    public static final class Cache<O, E extends Enum<E>> {
+
+        private final Function<O, GenerationGrammar<E>> compiler;
+        private volatile CompiledGrammar<O, E> current;
+
+        private static final class CompiledGrammar<O, E extends Enum<E>> {
+            private final O options;
+            private final GenerationGrammar<E> grammar;
+
+            CompiledGrammar(O options, GenerationGrammar<E> grammar) {
+                this.options = options;
+                this.grammar = grammar;
+            }
+        }
+
+        public Cache(Function<O, GenerationGrammar<E>> compiler) {
+            this.compiler = compiler;
+        }
+
+        public GenerationGrammar<E> get(O options) {
+            CompiledGrammar<O, E> compiled = current;
+            if (compiled == null || compiled.options != options) {
+                // compiling the same grammar twice in a race is harmless
+                compiled = new CompiledGrammar<>(options, compiler.apply(options));
+                current = compiled;
+            }
+            return compiled.grammar;
+        }
+
+    }
+
+}
@@ -11,6 +11,23 @@ import sqlancer.common.schema.AbstractTables;
 
 public interface NoRECGenerator<S extends Select<J, E, T, C>, J extends Join<E, T, C>, E extends Expression<C>, T extends AbstractTable<C, ?, ?>, C extends AbstractTableColumn<?, ?>> {
 
+    /**
+     * The ways in which the NoREC oracle can count the rows of an optimized query that does not aggregate the record
+     * counts itself.
+     */
+    enum RowCountStrategy {
+        /**
+         * Fetches the rows with a small fetch size and counts them on the client.
+         */
+        FETCH_ROWS,
+        /**
+         * Randomly either fetches the rows as {@link #FETCH_ROWS} does, or wraps the query as
+         * <code>SELECT COUNT(*) FROM (query) AS alias</code>, so that the rows are counted by the DBMS instead of being
+         * transferred.
+         */
+        SERVER_SIDE_COUNT
+    }
+
     NoRECGenerator<S, J, E, T, C> setTablesAndColumns(AbstractTables<T, C> tables);
 
     E generateBooleanExpression();
@@ -46,4 +63,15 @@ public interface NoRECGenerator<S extends Select<J, E, T, C>, J extends Join<E,
      * @return a query string to be executed
      */
     String generateUnoptimizedQueryString(S select, E whereCondition);
+
+    /**
+     * Returns how the rows of an optimized query that does not aggregate the record counts are counted. DBMSs that
+     * support unnamed columns and duplicate column names in derived tables can use
+     * {@link RowCountStrategy#SERVER_SIDE_COUNT}.
+     *
+     * @return the strategy to count the rows
+     */
+    default RowCountStrategy getRowCountStrategy() {
+        return RowCountStrategy.FETCH_ROWS;
+    }
 }
@@ -0,0 +1,185 @@
+package sqlancer.common.log;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * An append-only log of executed statements in a compact binary format, which allows logging the statements of
+ * long-running databases without keeping them in memory. Each statement is stored as a record consisting of the length
+ * of its UTF-8 encoding, the length of the compressed encoding, and the encoding compressed by Deflate. The most recent
+ * statements serve as the preset dictionary of the compression, so that the frequently repeated keywords, table names,
+ * and column names take up little space. The log can only be read sequentially; a record that was cut off, for
+ * example, because the JVM crashed while writing it, ends the log.
+ */
+public final class BinaryStatementLog implements Closeable {
+
+    private static final int MAGIC = 0x53514C42; // "SQLB"
+    private static final int FORMAT_VERSION = 1;
+    private static final int MAX_DICTIONARY_LENGTH = 16 * 1024;
+
+    private final DataOutputStream out;
+    private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+    private final Dictionary dictionary = new Dictionary();
+    private byte[] buffer = new byte[1024];
+
+    @FunctionalInterface
+    public interface StatementConsumer {
+        void accept(String statement) throws Exception;
+    }
+
+    // the last bytes of the statements that have been written or read so far
+    private static final class Dictionary {
+        private byte[] bytes = new byte[0];
+
+        void update(byte[] statement) {
+            int take = Math.min(statement.length, MAX_DICTIONARY_LENGTH);
+            int keep = Math.min(bytes.length, MAX_DICTIONARY_LENGTH - take);
+            byte[] updated = new byte[keep + take];
+            System.arraycopy(bytes, bytes.length - keep, updated, 0, keep);
+            System.arraycopy(statement, statement.length - take, updated, keep, take);
+            bytes = updated;
+        }
+    }
+
+    /**
+     * Creates a log in the given file, replacing the file if it exists.
+     *
+     * @param file
+     *            the file of the log
+     *
+     * @throws IOException
+     *             if the file cannot be written
+     */
+    public BinaryStatementLog(File file) throws IOException {
+        out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, false)));
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+    }
+
+    public void append(String statement) throws IOException {
+        byte[] bytes = statement.getBytes(StandardCharsets.UTF_8);
+        deflater.reset();
+        if (dictionary.bytes.length != 0) {
+            deflater.setDictionary(dictionary.bytes);
+        }
+        deflater.setInput(bytes);
+        deflater.finish();
+        int length = 0;
+        while (!deflater.finished()) {
+            if (length == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            length += deflater.deflate(buffer, length, buffer.length - length);
+        }
+        writeVarInt(out, bytes.length);
+        writeVarInt(out, length);
+        out.write(buffer, 0, length);
+        dictionary.update(bytes);
+    }
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            out.close();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Reads the statements of a log in the order in which they were appended, without keeping them in memory.
+     *
+     * @param file
+     *            the file of the log
+     * @param consumer
+     *            is called for each statement
+     *
+     * @throws Exception
+     *             if the file is not a statement log, cannot be read, or the consumer throws an exception
+     */
+    public static void forEachStatement(File file, StatementConsumer consumer) throws Exception {
+        Inflater inflater = new Inflater(true);
+        Dictionary dictionary = new Dictionary();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                throw new IOException(file + " is not a statement log of this version");
+            }
+            while (true) {
+                byte[] bytes;
+                try {
+                    int length = readVarInt(in);
+                    if (length == -1) {
+                        return;
+                    }
+                    byte[] compressed = new byte[readVarInt(in)];
+                    in.readFully(compressed);
+                    bytes = new byte[length];
+                    inflater.reset();
+                    if (dictionary.bytes.length != 0) {
+                        inflater.setDictionary(dictionary.bytes);
+                    }
+                    inflater.setInput(compressed);
+                    int read = 0;
+                    while (read < length && !inflater.finished()) {
+                        int n = inflater.inflate(bytes, read, length - read);
+                        if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                            throw new DataFormatException("corrupt record");
+                        }
+                        read += n;
+                    }
+                } catch (EOFException | DataFormatException e) {
+                    // the last record was not completely written
+                    return;
+                }
+                dictionary.update(bytes);
+                consumer.accept(new String(bytes, StandardCharsets.UTF_8));
+            }
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        int remaining = value;
+        while ((remaining & ~0x7F) != 0) {
+            out.writeByte((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        out.writeByte(remaining);
+    }
+
+    // returns -1 if the stream ends before the first byte
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int first = in.read();
+        if (first == -1) {
+            return -1;
+        }
+        int value = first & 0x7F;
+        int shift = 7;
+        int b = first;
+        while ((b & 0x80) != 0) {
+            b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        }
+        return value;
+    }
+
+}
@@ -0,0 +1,260 @@
+package sqlancer.common.metrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import com.sun.net.httpserver.HttpServer;
+
+import sqlancer.IgnoreMeException;
+
+/**
+ * Collects the latencies of the phases of testing a DBMS in one {@link LatencyHistogram} per DBMS, phase, kind, and
+ * outcome. The kind is the action that generated a statement (for example, {@code CREATE_INDEX}), or the test oracle
+ * that issued it, so that the latencies show whether the time of a run is spent in generating statements, executing
+ * them in the DBMS, reading the schema, or checking the oracle. The histograms are shared by all threads and can be
+ * inspected through the {@link LatencyMetricsMXBean} and through an HTTP endpoint in the Prometheus text format.
+ */
+public final class LatencyMetrics {
+
+    public static final String OBJECT_NAME = "sqlancer:type=LatencyMetrics";
+
+    // the kind of statements that are neither generated by an action nor issued by a test oracle
+    public static final String OTHER_KIND = "other";
+
+    private static final double[] QUANTILES = { 0.5, 0.9, 0.99, 0.999 };
+
+    private static final Map<Series, LatencyHistogram> HISTOGRAMS = new ConcurrentHashMap<>();
+
+    private static HttpServer endpoint;
+
+    public enum Phase {
+        GENERATION, EXECUTION, SCHEMA_REFRESH, ORACLE;
+
+        String getLabel() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    public enum Outcome {
+        SUCCESS, EXPECTED_ERROR, UNEXPECTED_ERROR;
+
+        public static Outcome of(Throwable t) {
+            return t instanceof IgnoreMeException ? EXPECTED_ERROR : UNEXPECTED_ERROR;
+        }
+
+        String getLabel() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    public static final class Series {
+
+        private final String dbms;
+        private final Phase phase;
+        private final String kind;
+        private final Outcome outcome;
+
+        Series(String dbms, Phase phase, String kind, Outcome outcome) {
+            this.dbms = dbms;
+            this.phase = phase;
+            this.kind = kind;
+            this.outcome = outcome;
+        }
+
+        public String getDbms() {
+            return dbms;
+        }
+
+        public Phase getPhase() {
+            return phase;
+        }
+
+        public String getKind() {
+            return kind;
+        }
+
+        public Outcome getOutcome() {
+            return outcome;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Series)) {
+                return false;
+            }
+            Series other = (Series) obj;
+            return dbms.equals(other.dbms) && phase == other.phase && kind.equals(other.kind)
+                    && outcome == other.outcome;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(dbms, phase, kind, outcome);
+        }
+
+    }
+
+    private LatencyMetrics() {
+    }
+
+    /**
+     * Records the latency of a phase.
+     *
+     * @param dbms
+     *            the name of the tested DBMS
+     * @param phase
+     *            the measured phase
+     * @param kind
+     *            the action or test oracle, or null for {@value #OTHER_KIND}
+     * @param outcome
+     *            whether the phase succeeded
+     * @param nanos
+     *            the latency in nanoseconds
+     */
+    public static void record(String dbms, Phase phase, String kind, Outcome outcome, long nanos) {
+        Series series = new Series(dbms, phase, kind == null ? OTHER_KIND : kind, outcome);
+        HISTOGRAMS.computeIfAbsent(series, s -> new LatencyHistogram()).record(nanos);
+    }
+
+    public static Map<Series, LatencyHistogram> getHistograms() {
+        return HISTOGRAMS;
+    }
+
+    public static void reset() {
+        HISTOGRAMS.clear();
+    }
+
+    static List<Map.Entry<Series, LatencyHistogram>> getSortedHistograms() {
+        List<Map.Entry<Series, LatencyHistogram>> histograms = new ArrayList<>(HISTOGRAMS.entrySet());
+        histograms.sort(Comparator.comparing((Map.Entry<Series, LatencyHistogram> e) -> e.getKey().dbms)
+                .thenComparing(e -> e.getKey().phase).thenComparing(e -> e.getKey().kind)
+                .thenComparing(e -> e.getKey().outcome));
+        return histograms;
+    }
+
+    /**
+     * Describes the histograms as summaries in the Prometheus text exposition format.
+     *
+     * @return the summaries
+     */
+    public static String toPrometheusText() {
+        String name = "sqlancer_latency_seconds";
+        StringBuilder sb = new StringBuilder();
+        sb.append("# HELP ").append(name).append(
+                " Latency of generating statements, executing them, refreshing the schema, and checking oracles.\n");
+        sb.append("# TYPE ").append(name).append(" summary\n");
+        for (Map.Entry<Series, LatencyHistogram> entry : getSortedHistograms()) {
+            Series series = entry.getKey();
+            LatencyHistogram histogram = entry.getValue();
+            String labels = String.format("dbms=\"%s\",phase=\"%s\",kind=\"%s\",outcome=\"%s\"",
+                    escapeLabel(series.dbms), series.phase.getLabel(), escapeLabel(series.kind),
+                    series.outcome.getLabel());
+            for (double quantile : QUANTILES) {
+                sb.append(String.format(Locale.ROOT, "%s{%s,quantile=\"%s\"} %s\n", name, labels, quantile,
+                        toSeconds(histogram.getValueAtPercentile(quantile * 100))));
+            }
+            sb.append(String.format(Locale.ROOT, "%s_sum{%s} %s\n", name, labels, toSeconds(histogram.getSum())));
+            sb.append(String.format(Locale.ROOT, "%s_count{%s} %d\n", name, labels, histogram.getCount()));
+        }
+        return sb.toString();
+    }
+
+    private static String toSeconds(long nanos) {
+        return Double.toString(nanos / 1e9);
+    }
+
+    private static String escapeLabel(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    /**
+     * Registers the {@link LatencyMetricsMXBean} under {@value #OBJECT_NAME} in the platform MBean server, unless it
+     * has already been registered.
+     */
+    public static void registerMBean() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new LatencyMetricsMXBeanImpl(),
+                    new ObjectName(OBJECT_NAME));
+        } catch (InstanceAlreadyExistsException e) {
+            // for example, the main method is called multiple times in a test
+        } catch (JMException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * Serves the histograms in the Prometheus text format at {@code http://localhost:<port>/metrics}, unless they are
+     * already being served.
+     *
+     * @param port
+     *            the port on the loopback interface
+     *
+     * @throws IOException
+     *             if the port cannot be bound
+     */
+    public static synchronized void startEndpoint(int port) throws IOException {
+        if (endpoint != null) {
+            return;
+        }
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/metrics", exchange -> {
+            try {
+                byte[] body = toPrometheusText().getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            } finally {
+                exchange.close();
+            }
+        });
+        server.setExecutor(Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-endpoint");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        server.start();
+        endpoint = server;
+    }
+
+    private static final class LatencyMetricsMXBeanImpl implements LatencyMetricsMXBean {
+
+        @Override
+        public List<LatencySummary> getLatencies() {
+            List<LatencySummary> summaries = new ArrayList<>();
+            for (Map.Entry<Series, LatencyHistogram> entry : getSortedHistograms()) {
+                summaries.add(new LatencySummary(entry.getKey(), entry.getValue()));
+            }
+            return summaries;
+        }
+
+        @Override
+        public String getPrometheusText() {
+            return toPrometheusText();
+        }
+
+        @Override
+        public void reset() {
+            LatencyMetrics.reset();
+        }
+
+    }
+
+}
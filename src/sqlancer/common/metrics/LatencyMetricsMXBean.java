@@ -0,0 +1,16 @@
+package sqlancer.common.metrics;
+
+import java.util.List;
+
+/**
+ * Exposes the {@link LatencyMetrics} through JMX, for example, to inspect a running SQLancer instance with JConsole.
+ */
+public interface LatencyMetricsMXBean {
+
+    List<LatencySummary> getLatencies();
+
+    String getPrometheusText();
+
+    void reset();
+
+}
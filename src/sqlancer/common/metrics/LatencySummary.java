@@ -0,0 +1,66 @@
+package sqlancer.common.metrics;
+
+/**
+ * A snapshot of one histogram of the {@link LatencyMetrics}, with latencies in microseconds.
+ */
+public final class LatencySummary {
+
+    private final String dbms;
+    private final String phase;
+    private final String kind;
+    private final String outcome;
+    private final long count;
+    private final double meanMicros;
+    private final double p50Micros;
+    private final double p99Micros;
+    private final double maxMicros;
+
+    LatencySummary(LatencyMetrics.Series series, LatencyHistogram histogram) {
+        this.dbms = series.getDbms();
+        this.phase = series.getPhase().getLabel();
+        this.kind = series.getKind();
+        this.outcome = series.getOutcome().getLabel();
+        this.count = histogram.getCount();
+        this.meanMicros = count == 0 ? 0 : histogram.getSum() / 1e3 / count;
+        this.p50Micros = histogram.getValueAtPercentile(50) / 1e3;
+        this.p99Micros = histogram.getValueAtPercentile(99) / 1e3;
+        this.maxMicros = histogram.getMax() / 1e3;
+    }
+
+    public String getDbms() {
+        return dbms;
+    }
+
+    public String getPhase() {
+        return phase;
+    }
+
+    public String getKind() {
+        return kind;
+    }
+
+    public String getOutcome() {
+        return outcome;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMeanMicros() {
+        return meanMicros;
+    }
+
+    public double getP50Micros() {
+        return p50Micros;
+    }
+
+    public double getP99Micros() {
+        return p99Micros;
+    }
+
+    public double getMaxMicros() {
+        return maxMicros;
+    }
+
+}
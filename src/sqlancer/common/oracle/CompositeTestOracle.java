@@ -30,6 +30,11 @@ public class CompositeTestOracle<G extends GlobalState<?, ?, ?>> implements Test
         }
     }
 
+    @Override
+    public String getName() {
+        return oracles.get(i).getName();
+    }
+
     @Override
     public String getLastQueryString() {
         return oracles.get(iLast).getLastQueryString();
@@ -23,6 +23,9 @@ import sqlancer.common.schema.AbstractTables;
 public class NoRECOracle<Z extends Select<J, E, T, C>, J extends Join<E, T, C>, E extends Expression<C>, S extends AbstractSchema<?, T>, T extends AbstractTable<C, ?, ?>, C extends AbstractTableColumn<?, ?>, G extends SQLGlobalState<?, S>>
         implements TestOracle<G> {
 
+    // only the number of rows is needed, so avoid buffering the whole result set in the JDBC driver
+    private static final int COUNT_ROWS_FETCH_SIZE = 100;
+
     private final G state;
 
     private NoRECGenerator<Z, J, E, T, C> gen;
@@ -70,8 +73,14 @@ public class NoRECOracle<Z extends Select<J, E, T, C>, J extends Join<E, T, C>,
         E randomWhereCondition = gen.generateBooleanExpression();
 
         boolean shouldUseAggregate = Randomly.getBoolean();
-        String optimizedQueryString = gen.generateOptimizedQueryString(select, randomWhereCondition,
+        String generatedQueryString = gen.generateOptimizedQueryString(select, randomWhereCondition,
                 shouldUseAggregate);
+        // the optimized query is also checked without the wrapping, which the DBMS may optimize differently
+        boolean shouldCountOnServer = !shouldUseAggregate
+                && gen.getRowCountStrategy() == NoRECGenerator.RowCountStrategy.SERVER_SIDE_COUNT
+                && Randomly.getBoolean();
+        String optimizedQueryString = shouldCountOnServer ? wrapInCount(generatedQueryString) : generatedQueryString;
+        boolean optimizedQueryIsAggregate = shouldUseAggregate || shouldCountOnServer;
         lastQueryString = optimizedQueryString;
         if (state.getOptions().logEachSelect()) {
             state.getLogger().writeCurrent(optimizedQueryString);
@@ -82,7 +91,7 @@ public class NoRECOracle<Z extends Select<J, E, T, C>, J extends Join<E, T, C>,
             state.getLogger().writeCurrent(unoptimizedQueryString);
         }
 
-        int optimizedCount = shouldUseAggregate ? extractCounts(optimizedQueryString, errors, state)
+        int optimizedCount = optimizedQueryIsAggregate ? extractCounts(optimizedQueryString, errors, state)
                 : countRows(optimizedQueryString, errors, state);
         int unoptimizedCount = extractCounts(unoptimizedQueryString, errors, state);
 
@@ -91,7 +100,7 @@ public class NoRECOracle<Z extends Select<J, E, T, C>, J extends Join<E, T, C>,
         }
 
         if (unoptimizedCount != optimizedCount) {
-            Function<G, Integer> optimizedQuery = state -> shouldUseAggregate
+            Function<G, Integer> optimizedQuery = state -> optimizedQueryIsAggregate
                     ? extractCounts(optimizedQueryString, errors, state)
                     : countRows(optimizedQueryString, errors, state);
 
@@ -120,11 +129,17 @@ public class NoRECOracle<Z extends Select<J, E, T, C>, J extends Join<E, T, C>,
         return reproducer;
     }
 
+    private static String wrapInCount(String queryString) {
+        String subquery = queryString.endsWith(";") ? queryString.substring(0, queryString.length() - 1)
+                : queryString;
+        return "SELECT COUNT(*) FROM (" + subquery + ") AS norec_subquery";
+    }
+
     private int countRows(String queryString, ExpectedErrors errors, SQLGlobalState<?, ?> state) {
         SQLQueryAdapter q = new SQLQueryAdapter(queryString, errors, false, false);
 
         int count = 0;
-        try (SQLancerResultSet rs = q.executeAndGet(state)) {
+        try (SQLancerResultSet rs = q.executeAndGet(state, COUNT_ROWS_FETCH_SIZE)) {
             if (rs == null) {
                 return -1;
             } else {
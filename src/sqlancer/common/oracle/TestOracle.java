@@ -14,4 +14,13 @@ public interface TestOracle<G extends GlobalState<?, ?, ?>> {
     default String getLastQueryString() {
         throw new AssertionError("Not supported!");
     }
+
+    /**
+     * Gets the name of the test oracle that the next call to {@link #check()} uses, for example, to group latencies.
+     *
+     * @return the name of the test oracle
+     */
+    default String getName() {
+        return getClass().getSimpleName();
+    }
 }
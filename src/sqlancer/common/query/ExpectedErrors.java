@@ -15,6 +15,7 @@ public class ExpectedErrors {
 
     private final Set<String> errors;
     private final Set<Pattern> regexes;
+    private ExpectedErrorsMatcher matcher;
 
     public ExpectedErrors() {
         this.errors = new HashSet<>();
@@ -31,6 +32,7 @@ public class ExpectedErrors {
             throw new IllegalArgumentException();
         }
         errors.add(error);
+        matcher = null;
         return this;
     }
 
@@ -39,6 +41,7 @@ public class ExpectedErrors {
             throw new IllegalArgumentException();
         }
         regexes.add(errorPattern);
+        matcher = null;
         return this;
     }
 
@@ -47,6 +50,7 @@ public class ExpectedErrors {
             throw new IllegalArgumentException();
         }
         regexes.add(Pattern.compile(errorPattern));
+        matcher = null;
         return this;
     }
 
@@ -55,6 +59,7 @@ public class ExpectedErrors {
             throw new IllegalArgumentException();
         }
         errors.addAll(list);
+        matcher = null;
         return this;
     }
 
@@ -63,6 +68,7 @@ public class ExpectedErrors {
             throw new IllegalArgumentException();
         }
         regexes.addAll(list);
+        matcher = null;
         return this;
     }
 
@@ -70,6 +76,7 @@ public class ExpectedErrors {
         for (String error : list) {
             regexes.add(Pattern.compile(error));
         }
+        matcher = null;
         return this;
     }
 
@@ -94,17 +101,10 @@ public class ExpectedErrors {
         if (error == null) {
             throw new IllegalArgumentException();
         }
-        for (String s : this.errors) {
-            if (error.contains(s)) {
-                return true;
-            }
-        }
-        for (Pattern p : this.regexes) {
-            if (p.matcher(error).find()) {
-                return true;
-            }
+        if (matcher == null) {
+            matcher = ExpectedErrorsMatcher.get(errors, regexes);
         }
-        return false;
+        return matcher.errorIsExpected(error);
     }
 
     public static class ExpectedErrorsBuilder {
@@ -0,0 +1,200 @@
+package sqlancer.common.query;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * An immutable, compiled form of a set of expected errors. The substrings are matched by a single Aho-Corasick
+ * automaton, so that an error message is scanned only once regardless of the number of expected errors, and all
+ * regular expressions without flags are combined into a single alternation. Since oracles typically create equal sets
+ * of expected errors many times (e.g., once for every generated database), compiled matchers are shared by a
+ * process-wide cache.
+ */
+final class ExpectedErrorsMatcher {
+
+    private static final int MAX_CACHED_MATCHERS = 1024;
+    private static final Map<Key, ExpectedErrorsMatcher> CACHE = new ConcurrentHashMap<>();
+
+    private static final int ROOT = 0;
+
+    // the outgoing transitions of each state, sorted by their character
+    private final char[][] transitionChars;
+    private final int[][] transitionTargets;
+    private final int[] failure;
+    // whether a substring ends in the state, or in a state reachable by its failure links
+    private final boolean[] accepting;
+
+    private final Pattern combinedRegex;
+    private final List<Pattern> otherRegexes;
+
+    private ExpectedErrorsMatcher(Collection<String> errors, Collection<Pattern> regexes) {
+        List<Map<Character, Integer>> trie = new ArrayList<>();
+        List<Boolean> terminal = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        terminal.add(false);
+        for (String error : errors) {
+            int state = ROOT;
+            for (int i = 0; i < error.length(); i++) {
+                Integer next = trie.get(state).get(error.charAt(i));
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new TreeMap<>());
+                    terminal.add(false);
+                    trie.get(state).put(error.charAt(i), next);
+                }
+                state = next;
+            }
+            terminal.set(state, true);
+        }
+        int nrStates = trie.size();
+        transitionChars = new char[nrStates][];
+        transitionTargets = new int[nrStates][];
+        failure = new int[nrStates];
+        accepting = new boolean[nrStates];
+        for (int state = 0; state < nrStates; state++) {
+            Map<Character, Integer> transitions = trie.get(state);
+            transitionChars[state] = new char[transitions.size()];
+            transitionTargets[state] = new int[transitions.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> transition : transitions.entrySet()) {
+                transitionChars[state][i] = transition.getKey();
+                transitionTargets[state][i] = transition.getValue();
+                i++;
+            }
+            accepting[state] = terminal.get(state);
+        }
+        // compute the failure links in breadth-first order, so that the links of shallower states are already known
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int target : transitionTargets[ROOT]) {
+            failure[target] = ROOT;
+            queue.add(target);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int i = 0; i < transitionChars[state].length; i++) {
+                char c = transitionChars[state][i];
+                int target = transitionTargets[state][i];
+                int fallback = failure[state];
+                while (fallback != ROOT && getTransition(fallback, c) == -1) {
+                    fallback = failure[fallback];
+                }
+                int fallbackTarget = getTransition(fallback, c);
+                failure[target] = fallbackTarget == -1 ? ROOT : fallbackTarget;
+                accepting[target] |= accepting[failure[target]];
+                queue.add(target);
+            }
+        }
+
+        List<Pattern> combinable = new ArrayList<>();
+        List<Pattern> others = new ArrayList<>();
+        for (Pattern p : regexes) {
+            if (p.flags() == 0) {
+                combinable.add(p);
+            } else {
+                others.add(p);
+            }
+        }
+        if (combinable.size() == 1) {
+            others.add(combinable.get(0));
+            combinedRegex = null;
+        } else if (combinable.isEmpty()) {
+            combinedRegex = null;
+        } else {
+            // group numbers change in the alternation, so keep back references in separate patterns
+            List<Pattern> withoutBackReferences = combinable.stream()
+                    .filter(p -> !p.pattern().matches("(?s).*\\\\(\\d|k<).*")).collect(Collectors.toList());
+            combinable.removeAll(withoutBackReferences);
+            others.addAll(combinable);
+            combinedRegex = withoutBackReferences.isEmpty() ? null : Pattern.compile(withoutBackReferences.stream()
+                    .map(p -> "(?:" + p.pattern() + ")").collect(Collectors.joining("|")));
+        }
+        otherRegexes = others;
+    }
+
+    static ExpectedErrorsMatcher get(Set<String> errors, Set<Pattern> regexes) {
+        Key key = new Key(errors, regexes);
+        ExpectedErrorsMatcher matcher = CACHE.get(key);
+        if (matcher == null) {
+            matcher = new ExpectedErrorsMatcher(errors, regexes);
+            if (CACHE.size() >= MAX_CACHED_MATCHERS) {
+                CACHE.clear();
+            }
+            CACHE.put(key, matcher);
+        }
+        return matcher;
+    }
+
+    boolean errorIsExpected(String error) {
+        int state = ROOT;
+        if (accepting[state]) {
+            return true;
+        }
+        for (int i = 0; i < error.length(); i++) {
+            char c = error.charAt(i);
+            int next = getTransition(state, c);
+            while (next == -1 && state != ROOT) {
+                state = failure[state];
+                next = getTransition(state, c);
+            }
+            state = next == -1 ? ROOT : next;
+            if (accepting[state]) {
+                return true;
+            }
+        }
+        if (combinedRegex != null && combinedRegex.matcher(error).find()) {
+            return true;
+        }
+        for (Pattern p : otherRegexes) {
+            if (p.matcher(error).find()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int getTransition(int state, char c) {
+        int index = Arrays.binarySearch(transitionChars[state], c);
+        return index < 0 ? -1 : transitionTargets[state][index];
+    }
+
+    /*
+     * Patterns do not implement equals(), so the cache compares regular expressions by their source and flags.
+     */
+    private static final class Key {
+
+        private final Set<String> errors;
+        private final Set<List<Object>> regexes;
+
+        Key(Set<String> errors, Set<Pattern> regexes) {
+            this.errors = Set.copyOf(errors);
+            this.regexes = regexes.stream().map(p -> List.<Object> of(p.pattern(), p.flags()))
+                    .collect(Collectors.toUnmodifiableSet());
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return errors.equals(other.errors) && regexes.equals(other.regexes);
+        }
+
+        @Override
+        public int hashCode() {
+            return errors.hashCode() * 31 + regexes.hashCode();
+        }
+
+    }
+
+}
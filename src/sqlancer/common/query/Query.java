@@ -31,6 +31,16 @@ public abstract class Query<C extends SQLancerDBConnection> implements Loggable
 
     public abstract ExpectedErrors getExpectedErrors();
 
+    /**
+     * Whether the query can be sent to the DBMS together with other queries in a single batch, which requires that it
+     * neither changes the structure of the schema nor returns a result.
+     *
+     * @return true if the query can be batched, false otherwise
+     */
+    public boolean canBeBatched() {
+        return false;
+    }
+
     @Override
     public String toString() {
         return getQueryString();
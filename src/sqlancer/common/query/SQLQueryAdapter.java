@@ -110,6 +110,12 @@ public class SQLQueryAdapter extends Query<SQLConnection> {
         }
     }
 
+    @Override
+    public boolean canBeBatched() {
+        // INSERTs only invalidate cached row counts, which the epilogue of each batched statement handles
+        return query.regionMatches(true, 0, "INSERT", 0, "INSERT".length());
+    }
+
     public void checkException(Exception e) throws AssertionError {
         Throwable ex = e;
 
@@ -127,6 +133,29 @@ public class SQLQueryAdapter extends Query<SQLConnection> {
     @Override
     public <G extends GlobalState<?, ?, SQLConnection>> SQLancerResultSet executeAndGet(G globalState, String... fills)
             throws SQLException {
+        return executeAndGet(globalState, 0, fills);
+    }
+
+    /**
+     * Executes the query like {@link #executeAndGet(GlobalState, String...)}, but hints the JDBC driver to fetch the
+     * given number of rows at a time, rather than transferring the whole result set at once.
+     *
+     * @param <G>
+     *            the type of the global state
+     * @param globalState
+     *            the global state
+     * @param fetchSize
+     *            the number of rows to fetch at a time, or 0 to use the driver's default
+     * @param fills
+     *            the parameters of a prepared statement
+     *
+     * @return the result set, or null if the query resulted in an expected error
+     *
+     * @throws SQLException
+     *             if the statement could not be created
+     */
+    public <G extends GlobalState<?, ?, SQLConnection>> SQLancerResultSet executeAndGet(G globalState, int fetchSize,
+            String... fills) throws SQLException {
         Statement s;
         if (fills.length > 0) {
             s = globalState.getConnection().prepareStatement(fills[0]);
@@ -138,6 +167,9 @@ public class SQLQueryAdapter extends Query<SQLConnection> {
         }
         ResultSet result;
         try {
+            if (fetchSize != 0) {
+                s.setFetchSize(fetchSize);
+            }
             if (fills.length > 0) {
                 result = ((PreparedStatement) s).executeQuery();
             } else {
@@ -1,9 +1,12 @@
 package sqlancer.databend.ast;
 
+import sqlancer.common.ast.ExpectedValueCache;
 import sqlancer.common.ast.newast.NewBetweenOperatorNode;
 import sqlancer.databend.DatabendSchema;
 
 public class DatabendBetweenOperation extends NewBetweenOperatorNode<DatabendExpression> implements DatabendExpression {
+    private final ExpectedValueCache<DatabendConstant> expectedValueCache = new ExpectedValueCache<>();
+
     public DatabendBetweenOperation(DatabendExpression left, DatabendExpression middle, DatabendExpression right,
             boolean isTrue) {
         super(left, middle, right, isTrue);
@@ -23,6 +26,10 @@ public class DatabendBetweenOperation extends NewBetweenOperatorNode<DatabendExp
 
     @Override
     public DatabendConstant getExpectedValue() {
+        return expectedValueCache.get(this::computeExpectedValue);
+    }
+
+    private DatabendConstant computeExpectedValue() {
         DatabendBinaryComparisonOperation leftComparison = new DatabendBinaryComparisonOperation(getMiddleExpr(),
                 getLeftExpr(), DatabendBinaryComparisonOperation.DatabendBinaryComparisonOperator.LESS_EQUALS);
         DatabendBinaryComparisonOperation rightComparison = new DatabendBinaryComparisonOperation(getLeftExpr(),
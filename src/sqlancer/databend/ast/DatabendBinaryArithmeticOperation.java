@@ -3,12 +3,15 @@ package sqlancer.databend.ast;
 import java.util.function.BinaryOperator;
 
 import sqlancer.common.ast.BinaryOperatorNode;
+import sqlancer.common.ast.ExpectedValueCache;
 import sqlancer.common.ast.newast.NewBinaryOperatorNode;
 import sqlancer.databend.DatabendSchema.DatabendDataType;
 
 public class DatabendBinaryArithmeticOperation extends NewBinaryOperatorNode<DatabendExpression>
         implements DatabendExpression {
 
+    private final ExpectedValueCache<DatabendConstant> expectedValueCache = new ExpectedValueCache<>();
+
     public DatabendBinaryArithmeticOperation(DatabendExpression left, DatabendExpression right,
             BinaryOperatorNode.Operator op) {
         super(left, right, op);
@@ -84,6 +87,10 @@ public class DatabendBinaryArithmeticOperation extends NewBinaryOperatorNode<Dat
 
     @Override
     public DatabendConstant getExpectedValue() {
+        return expectedValueCache.get(this::computeExpectedValue);
+    }
+
+    private DatabendConstant computeExpectedValue() {
         DatabendConstant leftValue = getLeftExpr().getExpectedValue();
         DatabendConstant rightValue = getRightExpr().getExpectedValue();
         if (leftValue == null || rightValue == null) {
@@ -1,12 +1,15 @@
 package sqlancer.databend.ast;
 
 import sqlancer.common.ast.BinaryOperatorNode;
+import sqlancer.common.ast.ExpectedValueCache;
 import sqlancer.common.ast.newast.NewBinaryOperatorNode;
 import sqlancer.databend.DatabendSchema.DatabendDataType;
 
 public class DatabendBinaryComparisonOperation extends NewBinaryOperatorNode<DatabendExpression>
         implements DatabendExpression {
 
+    private final ExpectedValueCache<DatabendConstant> expectedValueCache = new ExpectedValueCache<>();
+
     public DatabendBinaryComparisonOperation(DatabendExpression left, DatabendExpression right,
             DatabendBinaryComparisonOperator op) {
         super(left, right, op);
@@ -31,6 +34,10 @@ public class DatabendBinaryComparisonOperation extends NewBinaryOperatorNode<Dat
 
     @Override
     public DatabendConstant getExpectedValue() {
+        return expectedValueCache.get(this::computeExpectedValue);
+    }
+
+    private DatabendConstant computeExpectedValue() {
         DatabendConstant leftExpectedValue = getLeftExpression().getExpectedValue();
         DatabendConstant rightExpectedValue = getRightExpression().getExpectedValue();
         if (leftExpectedValue == null || rightExpectedValue == null) {
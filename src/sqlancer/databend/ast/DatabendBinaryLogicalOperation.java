@@ -2,12 +2,15 @@ package sqlancer.databend.ast;
 
 import sqlancer.Randomly;
 import sqlancer.common.ast.BinaryOperatorNode;
+import sqlancer.common.ast.ExpectedValueCache;
 import sqlancer.common.ast.newast.NewBinaryOperatorNode;
 import sqlancer.databend.DatabendSchema.DatabendDataType;
 
 public class DatabendBinaryLogicalOperation extends NewBinaryOperatorNode<DatabendExpression>
         implements DatabendExpression {
 
+    private final ExpectedValueCache<DatabendConstant> expectedValueCache = new ExpectedValueCache<>();
+
     public DatabendBinaryLogicalOperation(DatabendExpression left, DatabendExpression right,
             DatabendBinaryLogicalOperator op) {
         super(left, right, op);
@@ -27,6 +30,10 @@ public class DatabendBinaryLogicalOperation extends NewBinaryOperatorNode<Databe
 
     @Override
     public DatabendConstant getExpectedValue() {
+        return expectedValueCache.get(this::computeExpectedValue);
+    }
+
+    private DatabendConstant computeExpectedValue() {
         DatabendConstant leftValue = getLeftExpr().getExpectedValue();
         DatabendConstant rightValue = getRightExpr().getExpectedValue();
         if (leftValue == null || rightValue == null) {
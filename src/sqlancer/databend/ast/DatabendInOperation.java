@@ -2,6 +2,7 @@ package sqlancer.databend.ast;
 
 import java.util.List;
 
+import sqlancer.common.ast.ExpectedValueCache;
 import sqlancer.common.ast.newast.NewInOperatorNode;
 import sqlancer.databend.DatabendSchema;
 
@@ -10,6 +11,8 @@ public class DatabendInOperation extends NewInOperatorNode<DatabendExpression> i
     private final DatabendExpression leftExpr;
     private final List<DatabendExpression> rightExpr;
 
+    private final ExpectedValueCache<DatabendConstant> expectedValueCache = new ExpectedValueCache<>();
+
     public DatabendInOperation(DatabendExpression left, List<DatabendExpression> right, boolean isNegated) {
         super(left, right, isNegated);
         this.leftExpr = left;
@@ -23,6 +26,10 @@ public class DatabendInOperation extends NewInOperatorNode<DatabendExpression> i
 
     @Override
     public DatabendConstant getExpectedValue() {
+        return expectedValueCache.get(this::computeExpectedValue);
+    }
+
+    private DatabendConstant computeExpectedValue() {
         DatabendConstant leftValue = leftExpr.getExpectedValue();
         if (leftValue == null) {
             return null;
@@ -3,11 +3,14 @@ package sqlancer.databend.ast;
 import sqlancer.LikeImplementationHelper;
 import sqlancer.Randomly;
 import sqlancer.common.ast.BinaryOperatorNode;
+import sqlancer.common.ast.ExpectedValueCache;
 import sqlancer.common.ast.newast.NewBinaryOperatorNode;
 import sqlancer.databend.DatabendSchema.DatabendDataType;
 
 public class DatabendLikeOperation extends NewBinaryOperatorNode<DatabendExpression> implements DatabendExpression {
 
+    private final ExpectedValueCache<DatabendConstant> expectedValueCache = new ExpectedValueCache<>();
+
     public DatabendLikeOperation(DatabendExpression left, DatabendExpression right, DatabendLikeOperator op) {
         super(left, right, op);
     }
@@ -31,6 +34,10 @@ public class DatabendLikeOperation extends NewBinaryOperatorNode<DatabendExpress
 
     @Override
     public DatabendConstant getExpectedValue() {
+        return expectedValueCache.get(this::computeExpectedValue);
+    }
+
+    private DatabendConstant computeExpectedValue() {
         DatabendConstant leftVal = getLeftExpr().getExpectedValue();
         DatabendConstant rightVal = getRightExpr().getExpectedValue();
         if (leftVal == null || rightVal == null) {
@@ -39,7 +46,7 @@ public class DatabendLikeOperation extends NewBinaryOperatorNode<DatabendExpress
         if (leftVal.isNull() || rightVal.isNull()) {
             return DatabendConstant.createNullConstant();
         } else {
-            boolean result = LikeImplementationHelper.match(leftVal.asString(), rightVal.asString(), 0, 0, true);
+            boolean result = LikeImplementationHelper.match(leftVal.asString(), rightVal.asString(), true);
             return DatabendConstant.createBooleanConstant(result);
         }
     }
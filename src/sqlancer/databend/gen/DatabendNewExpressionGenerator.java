@@ -9,11 +9,13 @@ import java.util.stream.Collectors;
 
 import sqlancer.Randomly;
 import sqlancer.common.ast.newast.NewOrderingTerm;
+import sqlancer.common.gen.GenerationGrammar;
 import sqlancer.common.gen.NoRECGenerator;
 import sqlancer.common.gen.TLPWhereGenerator;
 import sqlancer.common.gen.TypedExpressionGenerator;
 import sqlancer.common.schema.AbstractTables;
 import sqlancer.databend.DatabendBugs;
+import sqlancer.databend.DatabendOptions;
 import sqlancer.databend.DatabendProvider.DatabendGlobalState;
 import sqlancer.databend.DatabendSchema.DatabendColumn;
 import sqlancer.databend.DatabendSchema.DatabendCompositeDataType;
@@ -172,21 +174,18 @@ public class DatabendNewExpressionGenerator
         // SIMILAR_TO, POSIX_REGEX, BINARY_RANGE_COMPARISON,FUNCTION, CAST,;
     }
 
+    private static final GenerationGrammar.Cache<DatabendOptions, BooleanExpression> BOOLEAN_GRAMMAR //
+            = new GenerationGrammar.Cache<>(options -> GenerationGrammar.builder(BooleanExpression.class) //
+                    .disableIf(DatabendBugs.bug15570, BooleanExpression.LIKE, BooleanExpression.IN_OPERATION,
+                            BooleanExpression.BETWEEN, BooleanExpression.BINARY_COMPARISON) //
+                    .disableIf(DatabendBugs.bug15572, BooleanExpression.NOT) //
+                    .build());
+
     DatabendExpression generateBooleanExpression(int depth) {
         if (allowAggregateFunctions) {
             allowAggregateFunctions = false;
         }
-        List<BooleanExpression> validOptions = new ArrayList<>(Arrays.asList(BooleanExpression.values()));
-        if (DatabendBugs.bug15570) {
-            validOptions.remove(BooleanExpression.LIKE);
-            validOptions.remove(BooleanExpression.IN_OPERATION);
-            validOptions.remove(BooleanExpression.BETWEEN);
-            validOptions.remove(BooleanExpression.BINARY_COMPARISON);
-        }
-        if (DatabendBugs.bug15572) {
-            validOptions.remove(BooleanExpression.NOT);
-        }
-        BooleanExpression option = Randomly.fromList(validOptions);
+        BooleanExpression option = BOOLEAN_GRAMMAR.get(globalState.getDbmsSpecificOptions()).next();
         switch (option) {
         case POSTFIX_OPERATOR:
             return getPostfix(depth + 1);
@@ -49,7 +49,7 @@ public class DorisLikeOperation extends NewBinaryOperatorNode<DorisExpression> i
                 if (left.isNull() || right.isNull()) {
                     return DorisConstant.createNullConstant();
                 }
-                boolean result = LikeImplementationHelper.match(left.asString(), right.asString(), 0, 0, true);
+                boolean result = LikeImplementationHelper.match(left.asString(), right.asString(), true);
                 return DorisConstant.createBooleanConstant(result);
             }
         },
@@ -62,7 +62,7 @@ public class DorisLikeOperation extends NewBinaryOperatorNode<DorisExpression> i
                 if (left.isNull() || right.isNull()) {
                     return DorisConstant.createNullConstant();
                 }
-                boolean result = LikeImplementationHelper.match(left.asString(), right.asString(), 0, 0, true);
+                boolean result = LikeImplementationHelper.match(left.asString(), right.asString(), true);
                 return DorisConstant.createBooleanConstant(!result);
             }
         };
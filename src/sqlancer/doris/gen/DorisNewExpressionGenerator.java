@@ -10,11 +10,13 @@ import java.util.stream.Collectors;
 import sqlancer.IgnoreMeException;
 import sqlancer.Randomly;
 import sqlancer.common.ast.newast.NewOrderingTerm;
+import sqlancer.common.gen.GenerationGrammar;
 import sqlancer.common.gen.NoRECGenerator;
 import sqlancer.common.gen.TLPWhereGenerator;
 import sqlancer.common.gen.TypedExpressionGenerator;
 import sqlancer.common.schema.AbstractTables;
 import sqlancer.doris.DorisBugs;
+import sqlancer.doris.DorisOptions;
 import sqlancer.doris.DorisProvider.DorisGlobalState;
 import sqlancer.doris.DorisSchema.DorisColumn;
 import sqlancer.doris.DorisSchema.DorisCompositeDataType;
@@ -203,25 +205,19 @@ public class DorisNewExpressionGenerator extends TypedExpressionGenerator<DorisE
         // SIMILAR_TO, POSIX_REGEX, BINARY_RANGE_COMPARISON,FUNCTION, CAST,;
     }
 
+    private static final GenerationGrammar.Cache<DorisOptions, BooleanExpression> BOOLEAN_GRAMMAR //
+            = new GenerationGrammar.Cache<>(options -> GenerationGrammar.builder(BooleanExpression.class) //
+                    .disableIf(DorisBugs.bug36346 || !options.testIn, BooleanExpression.IN_OPERATION) //
+                    .disableIf(!options.testBinaryLogicals, BooleanExpression.BINARY_LOGICAL_OPERATOR) //
+                    .disableIf(!options.testBinaryComparisons, BooleanExpression.BINARY_COMPARISON) //
+                    .disableIf(DorisBugs.bug36070 || !options.testBetween, BooleanExpression.BETWEEN) //
+                    .build());
+
     DorisExpression generateBooleanExpression(int depth) {
         if (allowAggregateFunctions) {
             allowAggregateFunctions = false;
         }
-        List<BooleanExpression> validOptions = new ArrayList<>(Arrays.asList(BooleanExpression.values()));
-        if (DorisBugs.bug36346 || !globalState.getDbmsSpecificOptions().testIn) {
-            validOptions.remove(BooleanExpression.IN_OPERATION);
-        }
-        if (!globalState.getDbmsSpecificOptions().testBinaryLogicals) {
-            validOptions.remove(BooleanExpression.BINARY_LOGICAL_OPERATOR);
-        }
-        if (!globalState.getDbmsSpecificOptions().testBinaryComparisons) {
-            validOptions.remove(BooleanExpression.BINARY_COMPARISON);
-        }
-        if (DorisBugs.bug36070 || !globalState.getDbmsSpecificOptions().testBetween) {
-            validOptions.remove(BooleanExpression.BETWEEN);
-        }
-
-        BooleanExpression option = Randomly.fromList(validOptions);
+        BooleanExpression option = BOOLEAN_GRAMMAR.get(globalState.getDbmsSpecificOptions()).next();
         switch (option) {
         case POSTFIX_OPERATOR:
             return getPostfix(depth + 1);
@@ -77,6 +77,12 @@ public class DuckDBOptions implements DBMSSpecificOptions<DuckDBOracleFactory> {
     @Parameter(names = "--max-num-updates", description = "The maximum number of UPDATE statements that are issued for a database", arity = 1)
     public int maxNumUpdates = 5;
 
+    @Parameter(names = "--database-directory", description = "Store each database in its own file in this directory (e.g., a tmpfs mount) rather than in memory; ignored if the duckdb.database.file property is set")
+    public String databaseDirectory = "";
+
+    @Parameter(names = "--checkpoint-every-write", description = "Set the checkpoint threshold to 1 byte, so that file-backed databases write every change to disk", arity = 1)
+    public boolean checkpointEveryWrite = true;
+
     @Parameter(names = "--oracle")
     public List<DuckDBOracleFactory> oracles = Arrays.asList(DuckDBOracleFactory.QUERY_PARTITIONING);
 
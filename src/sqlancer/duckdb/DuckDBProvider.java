@@ -141,6 +141,14 @@ public class DuckDBProvider extends SQLProviderAdapter<DuckDBGlobalState, DuckDB
     @Override
     public SQLConnection createDatabase(DuckDBGlobalState globalState) throws SQLException {
         String databaseFile = System.getProperty("duckdb.database.file", "");
+        String databaseDirectory = globalState.getDbmsSpecificOptions().databaseDirectory;
+        if (databaseFile.isEmpty() && !databaseDirectory.isEmpty()) {
+            File dir = new File(databaseDirectory);
+            if (!dir.exists()) {
+                dir.mkdirs();
+            }
+            databaseFile = new File(dir, globalState.getDatabaseName() + ".db").getAbsolutePath();
+        }
         String url = "jdbc:duckdb:" + databaseFile;
         tryDeleteDatabase(databaseFile);
 
@@ -150,9 +158,11 @@ public class DuckDBProvider extends SQLProviderAdapter<DuckDBGlobalState, DuckDB
         }
 
         Connection conn = DriverManager.getConnection(url);
-        Statement stmt = conn.createStatement();
-        stmt.execute("PRAGMA checkpoint_threshold='1 byte';");
-        stmt.close();
+        if (globalState.getDbmsSpecificOptions().checkpointEveryWrite) {
+            Statement stmt = conn.createStatement();
+            stmt.execute("PRAGMA checkpoint_threshold='1 byte';");
+            stmt.close();
+        }
         return new SQLConnection(conn);
     }
 
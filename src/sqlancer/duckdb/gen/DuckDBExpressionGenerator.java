@@ -10,10 +10,12 @@ import sqlancer.Randomly;
 import sqlancer.common.ast.BinaryOperatorNode.Operator;
 import sqlancer.common.ast.newast.NewOrderingTerm.Ordering;
 import sqlancer.common.ast.newast.NewUnaryPostfixOperatorNode;
+import sqlancer.common.gen.GenerationGrammar;
 import sqlancer.common.gen.NoRECGenerator;
 import sqlancer.common.gen.TLPWhereGenerator;
 import sqlancer.common.gen.UntypedExpressionGenerator;
 import sqlancer.common.schema.AbstractTables;
+import sqlancer.duckdb.DuckDBOptions;
 import sqlancer.duckdb.DuckDBProvider.DuckDBGlobalState;
 import sqlancer.duckdb.DuckDBSchema.DuckDBColumn;
 import sqlancer.duckdb.DuckDBSchema.DuckDBCompositeDataType;
@@ -51,6 +53,18 @@ public final class DuckDBExpressionGenerator extends UntypedExpressionGenerator<
         IN, COLLATE, LIKE_ESCAPE
     }
 
+    private static final GenerationGrammar.Cache<DuckDBOptions, Expression> GRAMMAR = new GenerationGrammar.Cache<>(
+            options -> GenerationGrammar.builder(Expression.class) //
+                    .disableIf(!options.testCollate, Expression.COLLATE) //
+                    .disableIf(!options.testFunctions, Expression.FUNC) //
+                    .disableIf(!options.testCasts, Expression.CAST) //
+                    .disableIf(!options.testBetween, Expression.BETWEEN) //
+                    .disableIf(!options.testIn, Expression.IN) //
+                    .disableIf(!options.testCase, Expression.CASE) //
+                    .disableIf(!options.testBinaryComparisons, Expression.BINARY_COMPARISON) //
+                    .disableIf(!options.testBinaryLogicals, Expression.BINARY_LOGICAL) //
+                    .build());
+
     @Override
     protected DuckDBExpression generateExpression(int depth) {
         if (depth >= globalState.getOptions().getMaxExpressionDepth() || Randomly.getBoolean()) {
@@ -61,32 +75,7 @@ public final class DuckDBExpressionGenerator extends UntypedExpressionGenerator<
             allowAggregates = false;
             return new DuckDBFunction<>(generateExpressions(aggregate.getNrArgs(), depth + 1), aggregate);
         }
-        List<Expression> possibleOptions = new ArrayList<>(Arrays.asList(Expression.values()));
-        if (!globalState.getDbmsSpecificOptions().testCollate) {
-            possibleOptions.remove(Expression.COLLATE);
-        }
-        if (!globalState.getDbmsSpecificOptions().testFunctions) {
-            possibleOptions.remove(Expression.FUNC);
-        }
-        if (!globalState.getDbmsSpecificOptions().testCasts) {
-            possibleOptions.remove(Expression.CAST);
-        }
-        if (!globalState.getDbmsSpecificOptions().testBetween) {
-            possibleOptions.remove(Expression.BETWEEN);
-        }
-        if (!globalState.getDbmsSpecificOptions().testIn) {
-            possibleOptions.remove(Expression.IN);
-        }
-        if (!globalState.getDbmsSpecificOptions().testCase) {
-            possibleOptions.remove(Expression.CASE);
-        }
-        if (!globalState.getDbmsSpecificOptions().testBinaryComparisons) {
-            possibleOptions.remove(Expression.BINARY_COMPARISON);
-        }
-        if (!globalState.getDbmsSpecificOptions().testBinaryLogicals) {
-            possibleOptions.remove(Expression.BINARY_LOGICAL);
-        }
-        Expression expr = Randomly.fromList(possibleOptions);
+        Expression expr = GRAMMAR.get(globalState.getDbmsSpecificOptions()).next();
         switch (expr) {
         case COLLATE:
             return new sqlancer.duckdb.ast.DuckDBUnaryPostfixOperator(generateExpression(depth + 1),
@@ -504,6 +493,11 @@ public final class DuckDBExpressionGenerator extends UntypedExpressionGenerator<
         return select.asString();
     }
 
+    @Override
+    public RowCountStrategy getRowCountStrategy() {
+        return RowCountStrategy.SERVER_SIDE_COUNT;
+    }
+
     @Override
     public String generateUnoptimizedQueryString(DuckDBSelect select, DuckDBExpression whereCondition) {
         DuckDBExpression asText = new DuckDBPostFixText(new DuckDBCastOperation(
@@ -1,13 +1,13 @@
 package sqlancer.hive.gen;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import sqlancer.Randomly;
 import sqlancer.common.ast.BinaryOperatorNode.Operator;
 import sqlancer.common.ast.newast.NewOrderingTerm.Ordering;
+import sqlancer.common.gen.GenerationGrammar;
 import sqlancer.common.gen.TLPWhereGenerator;
 import sqlancer.common.gen.UntypedExpressionGenerator;
 import sqlancer.common.schema.AbstractTables;
@@ -43,6 +43,8 @@ public class HiveExpressionGenerator extends UntypedExpressionGenerator<HiveExpr
         CASE;
     }
 
+    private static final GenerationGrammar<Expression> GRAMMAR = GenerationGrammar.builder(Expression.class).build();
+
     public HiveExpressionGenerator(HiveGlobalState globalState) {
         this.globalState = globalState;
     }
@@ -74,10 +76,8 @@ public class HiveExpressionGenerator extends UntypedExpressionGenerator<HiveExpr
             return new HiveFunction<>(generateExpressions(aggregate.getNrArgs(), depth + 1), aggregate);
         }
 
-        List<Expression> possibleOptions = new ArrayList<>(Arrays.asList(Expression.values()));
-        // TODO: remove some of the possible expression types according to options.
-
-        Expression expr = Randomly.fromList(possibleOptions);
+        // TODO: disable some of the possible expression types according to options.
+        Expression expr = GRAMMAR.next();
         switch (expr) {
         case UNARY_PREFIX:
             return new HiveUnaryPrefixOperation(generateExpression(depth + 1), HiveUnaryPrefixOperator.getRandom());
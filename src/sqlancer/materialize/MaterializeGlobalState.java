@@ -1,11 +1,8 @@
 package sqlancer.materialize;
 
-import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -13,6 +10,8 @@ import java.util.Map;
 import sqlancer.Randomly;
 import sqlancer.SQLConnection;
 import sqlancer.SQLGlobalState;
+import sqlancer.common.CatalogCache;
+import sqlancer.postgres.PostgresBuiltinCatalog;
 
 public class MaterializeGlobalState extends SQLGlobalState<MaterializeOptions, MaterializeSchema> {
 
@@ -20,41 +19,30 @@ public class MaterializeGlobalState extends SQLGlobalState<MaterializeOptions, M
     public static final char STABLE = 's';
     public static final char VOLATILE = 'v';
 
-    private List<String> operators = Collections.emptyList();
-    private List<String> collates = Collections.emptyList();
-    private List<String> opClasses = Collections.emptyList();
-    private List<String> tableAccessMethods = Collections.emptyList();
+    // Materialize provides neither pg_opclass nor the volatility of functions in pg_proc
+    private static final CatalogCache<PostgresBuiltinCatalog> CATALOG_CACHE = PostgresBuiltinCatalog
+            .createCache(getOpclasses(), true, false);
+
     // store and allow filtering by function volatility classifications
     private final Map<String, Character> functionsAndTypes = new HashMap<>();
     private List<Character> allowedFunctionTypes = Arrays.asList(IMMUTABLE, STABLE, VOLATILE);
+    private PostgresBuiltinCatalog catalog = PostgresBuiltinCatalog.EMPTY;
 
     @Override
     public void setConnection(SQLConnection con) {
         super.setConnection(con);
         try {
-            this.opClasses = getOpclasses();
-            this.operators = getOperators(getConnection());
-            this.collates = getCollnames(getConnection());
-            this.tableAccessMethods = getTableAccessMethods(getConnection());
+            this.catalog = CATALOG_CACHE.get(getConnection());
         } catch (SQLException e) {
             throw new AssertionError(e);
         }
     }
 
-    private List<String> getCollnames(SQLConnection con) throws SQLException {
-        List<String> collNames = new ArrayList<>();
-        try (Statement s = con.createStatement()) {
-            try (ResultSet rs = s
-                    .executeQuery("SELECT collname FROM pg_collation WHERE collname LIKE '%utf8' or collname = 'C';")) {
-                while (rs.next()) {
-                    collNames.add(rs.getString(1));
-                }
-            }
-        }
-        return collNames;
+    public PostgresBuiltinCatalog getCatalog() {
+        return catalog;
     }
 
-    private List<String> getOpclasses() throws SQLException {
+    private static List<String> getOpclasses() {
         List<String> opClasses = new ArrayList<>();
         // select opcname FROM pg_opclass;
         // ERROR: unknown catalog item 'pg_opclass'
@@ -205,63 +193,36 @@ public class MaterializeGlobalState extends SQLGlobalState<MaterializeOptions, M
         return opClasses;
     }
 
-    private List<String> getOperators(SQLConnection con) throws SQLException {
-        List<String> operators = new ArrayList<>();
-        try (Statement s = con.createStatement()) {
-            try (ResultSet rs = s.executeQuery("SELECT oprname FROM pg_operator;")) {
-                while (rs.next()) {
-                    operators.add(rs.getString(1));
-                }
-            }
-        }
-        return operators;
-    }
-
-    private List<String> getTableAccessMethods(SQLConnection con) throws SQLException {
-        List<String> tableAccessMethods = new ArrayList<>();
-        try (Statement s = con.createStatement()) {
-            /*
-             * pg_am includes both index and table access methods so we need to filter with amtype = 't'
-             */
-            try (ResultSet rs = s.executeQuery("SELECT amname FROM pg_am WHERE amtype = 't';")) {
-                while (rs.next()) {
-                    tableAccessMethods.add(rs.getString(1));
-                }
-            }
-        }
-        return tableAccessMethods;
-    }
-
     public List<String> getOperators() {
-        return operators;
+        return catalog.getOperators();
     }
 
     public String getRandomOperator() {
-        return Randomly.fromList(operators);
+        return Randomly.fromList(catalog.getOperators());
     }
 
     public List<String> getCollates() {
-        return collates;
+        return catalog.getCollates();
     }
 
     public String getRandomCollate() {
-        return Randomly.fromList(collates);
+        return Randomly.fromList(catalog.getCollates());
     }
 
     public List<String> getOpClasses() {
-        return opClasses;
+        return catalog.getOpClasses();
     }
 
     public String getRandomOpclass() {
-        return Randomly.fromList(opClasses);
+        return Randomly.fromList(catalog.getOpClasses());
     }
 
     public List<String> getTableAccessMethods() {
-        return tableAccessMethods;
+        return catalog.getTableAccessMethods();
     }
 
     public String getRandomTableAccessMethod() {
-        return Randomly.fromList(tableAccessMethods);
+        return Randomly.fromList(catalog.getTableAccessMethods());
     }
 
     @Override
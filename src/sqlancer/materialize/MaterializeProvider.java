@@ -229,14 +229,7 @@ public class MaterializeProvider extends SQLProviderAdapter<MaterializeGlobalSta
     }
 
     protected void readFunctions(MaterializeGlobalState globalState) throws SQLException {
-        // ERROR: column "provolatile" does not exist
-        SQLQueryAdapter query = new SQLQueryAdapter("SELECT proname, 1 FROM pg_proc;");
-        SQLancerResultSet rs = query.executeAndGet(globalState);
-        while (rs.next()) {
-            String functionName = rs.getString(1);
-            Character functionType = rs.getString(2).charAt(0);
-            globalState.addFunctionAndType(functionName, functionType);
-        }
+        globalState.getFunctionsAndTypes().putAll(globalState.getCatalog().getFunctionsAndTypes());
     }
 
     protected void createTables(MaterializeGlobalState globalState, int numTables) throws Exception {
@@ -25,6 +25,9 @@ import sqlancer.common.schema.TableIndex;
 import sqlancer.materialize.MaterializeSchema.MaterializeTable;
 import sqlancer.materialize.MaterializeSchema.MaterializeTable.TableType;
 import sqlancer.materialize.ast.MaterializeConstant;
+import sqlancer.postgres.PostgresCatalogLoader;
+import sqlancer.postgres.PostgresCatalogLoader.CatalogColumn;
+import sqlancer.postgres.PostgresCatalogLoader.CatalogTable;
 
 public class MaterializeSchema extends AbstractSchema<MaterializeGlobalState, MaterializeTable> {
 
@@ -220,31 +223,30 @@ public class MaterializeSchema extends AbstractSchema<MaterializeGlobalState, Ma
         try {
             List<MaterializeTable> databaseTables = new ArrayList<>();
             List<String> indexNames = new ArrayList<>();
-            try (Statement s = con.createStatement()) {
-                // ERROR: column "is_insertable_into" does not exist
-                try (ResultSet rs = s.executeQuery(
-                        "SELECT table_name, table_schema, table_type FROM information_schema.tables WHERE table_schema='public' OR table_schema LIKE 'pg_temp_%' ORDER BY table_name;")) {
-                    while (rs.next()) {
-                        String tableName = rs.getString("table_name");
-                        String tableTypeSchema = rs.getString("table_schema");
-                        boolean isInsertable = true;
-                        String type = rs.getString("table_type");
-                        boolean isView = type.equals("VIEW") || type.equals("MATERIALIZED VIEW");
-                        if (isView) {
-                            isInsertable = false;
-                        }
-                        MaterializeTable.TableType tableType = getTableType(tableTypeSchema);
-                        List<MaterializeColumn> databaseColumns = getTableColumns(con, tableName);
-                        List<MaterializeIndex> indexes = getIndexes(con, tableName);
-                        List<MaterializeStatisticsObject> statistics = getStatistics(con);
-                        MaterializeTable t = new MaterializeTable(tableName, databaseColumns, indexes, tableType,
-                                statistics, isView, isInsertable);
-                        for (MaterializeColumn c : databaseColumns) {
-                            c.setTable(t);
-                        }
-                        databaseTables.add(t);
+            for (CatalogTable catalogTable : PostgresCatalogLoader.MATERIALIZE.load(con).getTables()) {
+                String tableName = catalogTable.getName();
+                boolean isView = catalogTable.isView();
+                boolean isInsertable = !isView;
+                MaterializeTable.TableType tableType = getTableType(catalogTable.getSchemaName());
+                List<MaterializeColumn> databaseColumns = new ArrayList<>();
+                for (CatalogColumn catalogColumn : catalogTable.getColumns()) {
+                    databaseColumns.add(
+                            new MaterializeColumn(catalogColumn.getName(), getColumnType(catalogColumn.getDataType())));
+                }
+                List<MaterializeIndex> indexes = new ArrayList<>();
+                for (String indexName : catalogTable.getIndexNames()) {
+                    if (DBMSCommon.matchesIndexName(indexName)) {
+                        indexes.add(MaterializeIndex.create(indexName));
                     }
                 }
+                // pg_statistic_ext is not supported
+                List<MaterializeStatisticsObject> statistics = new ArrayList<>();
+                MaterializeTable t = new MaterializeTable(tableName, databaseColumns, indexes, tableType, statistics,
+                        isView, isInsertable);
+                for (MaterializeColumn c : databaseColumns) {
+                    c.setTable(t);
+                }
+                databaseTables.add(t);
             }
             try (Statement s = con.createStatement()) {
                 try (ResultSet rs = s.executeQuery(String.format(
@@ -262,10 +264,6 @@ public class MaterializeSchema extends AbstractSchema<MaterializeGlobalState, Ma
         }
     }
 
-    protected static List<MaterializeStatisticsObject> getStatistics(SQLConnection con) throws SQLException {
-        return new ArrayList<>();
-    }
-
     protected static MaterializeTable.TableType getTableType(String tableTypeStr) throws AssertionError {
         MaterializeTable.TableType tableType;
         if (tableTypeStr.contentEquals("public")) {
@@ -278,41 +276,6 @@ public class MaterializeSchema extends AbstractSchema<MaterializeGlobalState, Ma
         return tableType;
     }
 
-    protected static List<MaterializeIndex> getIndexes(SQLConnection con, String tableName) throws SQLException {
-        List<MaterializeIndex> indexes = new ArrayList<>();
-        try (Statement s = con.createStatement()) {
-            try (ResultSet rs = s.executeQuery(String
-                    // org.postgresql.util.PSQLException: ERROR: unknown catalog item 'pg_indexes'
-                    .format("SELECT c.relname as indexname FROM pg_catalog.pg_class c LEFT JOIN pg_catalog.pg_namespace n ON n.oid = c.relnamespace LEFT JOIN pg_catalog.pg_index i ON i.indexrelid = c.oid LEFT JOIN pg_catalog.pg_class c2 ON i.indrelid = c2.oid WHERE c.relkind IN ('i','I','') AND n.nspname <> 'pg_catalog' AND n.nspname !~ '^pg_toast' AND n.nspname <> 'information_schema' AND c2.relname = '%s' AND pg_catalog.pg_table_is_visible(c.oid) ORDER BY indexname;",
-                            tableName))) {
-                while (rs.next()) {
-                    String indexName = rs.getString("indexname");
-                    if (DBMSCommon.matchesIndexName(indexName)) {
-                        indexes.add(MaterializeIndex.create(indexName));
-                    }
-                }
-            }
-        }
-        return indexes;
-    }
-
-    protected static List<MaterializeColumn> getTableColumns(SQLConnection con, String tableName) throws SQLException {
-        List<MaterializeColumn> columns = new ArrayList<>();
-        try (Statement s = con.createStatement()) {
-            try (ResultSet rs = s
-                    .executeQuery("select column_name, data_type from INFORMATION_SCHEMA.COLUMNS where table_name = '"
-                            + tableName + "' ORDER BY column_name")) {
-                while (rs.next()) {
-                    String columnName = rs.getString("column_name");
-                    String dataType = rs.getString("data_type");
-                    MaterializeColumn c = new MaterializeColumn(columnName, getColumnType(dataType));
-                    columns.add(c);
-                }
-            }
-        }
-        return columns;
-    }
-
     public MaterializeSchema(List<MaterializeTable> databaseTables, String databaseName, List<String> indexNames) {
         super(databaseTables);
         this.databaseName = databaseName;
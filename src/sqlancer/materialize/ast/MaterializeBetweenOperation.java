@@ -1,5 +1,6 @@
 package sqlancer.materialize.ast;
 
+import sqlancer.common.ast.ExpectedValueCache;
 import sqlancer.materialize.MaterializeSchema.MaterializeDataType;
 import sqlancer.materialize.ast.MaterializeBinaryComparisonOperation.MaterializeBinaryComparisonOperator;
 import sqlancer.materialize.ast.MaterializeBinaryLogicalOperation.BinaryLogicalOperator;
@@ -11,6 +12,8 @@ public final class MaterializeBetweenOperation implements MaterializeExpression
     private final MaterializeExpression right;
     private final boolean isSymmetric;
 
+    private final ExpectedValueCache<MaterializeConstant> expectedValueCache = new ExpectedValueCache<>();
+
     public MaterializeBetweenOperation(MaterializeExpression expr, MaterializeExpression left,
             MaterializeExpression right, boolean symmetric) {
         this.expr = expr;
@@ -37,6 +40,10 @@ public final class MaterializeBetweenOperation implements MaterializeExpression
 
     @Override
     public MaterializeConstant getExpectedValue() {
+        return expectedValueCache.get(this::computeExpectedValue);
+    }
+
+    private MaterializeConstant computeExpectedValue() {
         MaterializeBinaryComparisonOperation leftComparison = new MaterializeBinaryComparisonOperation(left, expr,
                 MaterializeBinaryComparisonOperator.LESS_EQUALS);
         MaterializeBinaryComparisonOperation rightComparison = new MaterializeBinaryComparisonOperation(expr, right,
@@ -5,12 +5,15 @@ import java.util.function.BinaryOperator;
 import sqlancer.Randomly;
 import sqlancer.common.ast.BinaryOperatorNode;
 import sqlancer.common.ast.BinaryOperatorNode.Operator;
+import sqlancer.common.ast.ExpectedValueCache;
 import sqlancer.materialize.MaterializeSchema.MaterializeDataType;
 import sqlancer.materialize.ast.MaterializeBinaryArithmeticOperation.MaterializeBinaryOperator;
 
 public class MaterializeBinaryArithmeticOperation
         extends BinaryOperatorNode<MaterializeExpression, MaterializeBinaryOperator> implements MaterializeExpression {
 
+    private final ExpectedValueCache<MaterializeConstant> expectedValueCache = new ExpectedValueCache<>();
+
     public enum MaterializeBinaryOperator implements Operator {
 
         ADDITION("+") {
@@ -87,6 +90,10 @@ public class MaterializeBinaryArithmeticOperation
 
     @Override
     public MaterializeConstant getExpectedValue() {
+        return expectedValueCache.get(this::computeExpectedValue);
+    }
+
+    private MaterializeConstant computeExpectedValue() {
         MaterializeConstant leftExpected = getLeft().getExpectedValue();
         MaterializeConstant rightExpected = getRight().getExpectedValue();
         if (leftExpected == null || rightExpected == null) {
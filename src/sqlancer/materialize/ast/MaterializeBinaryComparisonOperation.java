@@ -3,6 +3,7 @@ package sqlancer.materialize.ast;
 import sqlancer.Randomly;
 import sqlancer.common.ast.BinaryOperatorNode;
 import sqlancer.common.ast.BinaryOperatorNode.Operator;
+import sqlancer.common.ast.ExpectedValueCache;
 import sqlancer.materialize.MaterializeSchema.MaterializeDataType;
 import sqlancer.materialize.ast.MaterializeBinaryComparisonOperation.MaterializeBinaryComparisonOperator;
 
@@ -10,6 +11,8 @@ public class MaterializeBinaryComparisonOperation
         extends BinaryOperatorNode<MaterializeExpression, MaterializeBinaryComparisonOperator>
         implements MaterializeExpression {
 
+    private final ExpectedValueCache<MaterializeConstant> expectedValueCache = new ExpectedValueCache<>();
+
     public enum MaterializeBinaryComparisonOperator implements Operator {
         EQUALS("=") {
             @Override
@@ -105,6 +108,10 @@ public class MaterializeBinaryComparisonOperation
 
     @Override
     public MaterializeConstant getExpectedValue() {
+        return expectedValueCache.get(this::computeExpectedValue);
+    }
+
+    private MaterializeConstant computeExpectedValue() {
         MaterializeConstant leftExpectedValue = getLeft().getExpectedValue();
         MaterializeConstant rightExpectedValue = getRight().getExpectedValue();
         if (leftExpectedValue == null || rightExpectedValue == null) {
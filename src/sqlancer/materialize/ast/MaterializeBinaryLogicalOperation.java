@@ -3,12 +3,15 @@ package sqlancer.materialize.ast;
 import sqlancer.Randomly;
 import sqlancer.common.ast.BinaryOperatorNode;
 import sqlancer.common.ast.BinaryOperatorNode.Operator;
+import sqlancer.common.ast.ExpectedValueCache;
 import sqlancer.materialize.MaterializeSchema.MaterializeDataType;
 import sqlancer.materialize.ast.MaterializeBinaryLogicalOperation.BinaryLogicalOperator;
 
 public class MaterializeBinaryLogicalOperation extends BinaryOperatorNode<MaterializeExpression, BinaryLogicalOperator>
         implements MaterializeExpression {
 
+    private final ExpectedValueCache<MaterializeConstant> expectedValueCache = new ExpectedValueCache<>();
+
     public enum BinaryLogicalOperator implements Operator {
         AND {
             @Override
@@ -78,6 +81,10 @@ public class MaterializeBinaryLogicalOperation extends BinaryOperatorNode<Materi
 
     @Override
     public MaterializeConstant getExpectedValue() {
+        return expectedValueCache.get(this::computeExpectedValue);
+    }
+
+    private MaterializeConstant computeExpectedValue() {
         MaterializeConstant leftExpectedValue = getLeft().getExpectedValue();
         MaterializeConstant rightExpectedValue = getRight().getExpectedValue();
         if (leftExpectedValue == null || rightExpectedValue == null) {
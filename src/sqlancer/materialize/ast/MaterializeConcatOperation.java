@@ -1,10 +1,13 @@
 package sqlancer.materialize.ast;
 
 import sqlancer.common.ast.BinaryNode;
+import sqlancer.common.ast.ExpectedValueCache;
 import sqlancer.materialize.MaterializeSchema.MaterializeDataType;
 
 public class MaterializeConcatOperation extends BinaryNode<MaterializeExpression> implements MaterializeExpression {
 
+    private final ExpectedValueCache<MaterializeConstant> expectedValueCache = new ExpectedValueCache<>();
+
     public MaterializeConcatOperation(MaterializeExpression left, MaterializeExpression right) {
         super(left, right);
     }
@@ -16,6 +19,10 @@ public class MaterializeConcatOperation extends BinaryNode<MaterializeExpression
 
     @Override
     public MaterializeConstant getExpectedValue() {
+        return expectedValueCache.get(this::computeExpectedValue);
+    }
+
+    private MaterializeConstant computeExpectedValue() {
         MaterializeConstant leftExpectedValue = getLeft().getExpectedValue();
         MaterializeConstant rightExpectedValue = getRight().getExpectedValue();
         if (leftExpectedValue == null || rightExpectedValue == null) {
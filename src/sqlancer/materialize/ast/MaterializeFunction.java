@@ -1,5 +1,6 @@
 package sqlancer.materialize.ast;
 
+import sqlancer.common.ast.ExpectedValueCache;
 import sqlancer.materialize.MaterializeSchema.MaterializeDataType;
 
 public class MaterializeFunction implements MaterializeExpression {
@@ -9,6 +10,8 @@ public class MaterializeFunction implements MaterializeExpression {
     private final MaterializeDataType returnType;
     private MaterializeFunctionWithResult functionWithKnownResult;
 
+    private final ExpectedValueCache<MaterializeConstant> expectedValueCache = new ExpectedValueCache<>();
+
     public MaterializeFunction(MaterializeFunctionWithResult func, MaterializeDataType returnType,
             MaterializeExpression... args) {
         functionWithKnownResult = func;
@@ -235,6 +238,10 @@ public class MaterializeFunction implements MaterializeExpression {
 
     @Override
     public MaterializeConstant getExpectedValue() {
+        return expectedValueCache.get(this::computeExpectedValue);
+    }
+
+    private MaterializeConstant computeExpectedValue() {
         if (functionWithKnownResult == null) {
             return null;
         }
@@ -2,6 +2,7 @@ package sqlancer.materialize.ast;
 
 import java.util.List;
 
+import sqlancer.common.ast.ExpectedValueCache;
 import sqlancer.materialize.MaterializeSchema.MaterializeDataType;
 
 public class MaterializeInOperation implements MaterializeExpression {
@@ -10,6 +11,8 @@ public class MaterializeInOperation implements MaterializeExpression {
     private final List<MaterializeExpression> listElements;
     private final boolean isTrue;
 
+    private final ExpectedValueCache<MaterializeConstant> expectedValueCache = new ExpectedValueCache<>();
+
     public MaterializeInOperation(MaterializeExpression expr, List<MaterializeExpression> listElements,
             boolean isTrue) {
         this.expr = expr;
@@ -27,6 +30,10 @@ public class MaterializeInOperation implements MaterializeExpression {
 
     @Override
     public MaterializeConstant getExpectedValue() {
+        return expectedValueCache.get(this::computeExpectedValue);
+    }
+
+    private MaterializeConstant computeExpectedValue() {
         MaterializeConstant leftValue = expr.getExpectedValue();
         if (leftValue == null) {
             return null;
@@ -42,8 +49,8 @@ public class MaterializeInOperation implements MaterializeExpression {
             }
             if (rightExpectedValue.isNull()) {
                 isNull = true;
-            } else if (rightExpectedValue.isEquals(this.expr.getExpectedValue()).isBoolean()
-                    && rightExpectedValue.isEquals(this.expr.getExpectedValue()).asBoolean()) {
+            } else if (rightExpectedValue.isEquals(leftValue).isBoolean()
+                    && rightExpectedValue.isEquals(leftValue).asBoolean()) {
                 return MaterializeConstant.createBooleanConstant(isTrue);
             }
         }
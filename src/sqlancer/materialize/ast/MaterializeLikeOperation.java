@@ -2,10 +2,13 @@ package sqlancer.materialize.ast;
 
 import sqlancer.LikeImplementationHelper;
 import sqlancer.common.ast.BinaryNode;
+import sqlancer.common.ast.ExpectedValueCache;
 import sqlancer.materialize.MaterializeSchema.MaterializeDataType;
 
 public class MaterializeLikeOperation extends BinaryNode<MaterializeExpression> implements MaterializeExpression {
 
+    private final ExpectedValueCache<MaterializeConstant> expectedValueCache = new ExpectedValueCache<>();
+
     public MaterializeLikeOperation(MaterializeExpression left, MaterializeExpression right) {
         super(left, right);
     }
@@ -17,6 +20,10 @@ public class MaterializeLikeOperation extends BinaryNode<MaterializeExpression>
 
     @Override
     public MaterializeConstant getExpectedValue() {
+        return expectedValueCache.get(this::computeExpectedValue);
+    }
+
+    private MaterializeConstant computeExpectedValue() {
         MaterializeConstant leftVal = getLeft().getExpectedValue();
         MaterializeConstant rightVal = getRight().getExpectedValue();
         if (leftVal == null || rightVal == null) {
@@ -25,7 +32,7 @@ public class MaterializeLikeOperation extends BinaryNode<MaterializeExpression>
         if (leftVal.isNull() || rightVal.isNull()) {
             return MaterializeConstant.createNullConstant();
         } else {
-            boolean val = LikeImplementationHelper.match(leftVal.asString(), rightVal.asString(), 0, 0, true);
+            boolean val = LikeImplementationHelper.match(leftVal.asString(), rightVal.asString(), true);
             return MaterializeConstant.createBooleanConstant(val);
         }
     }
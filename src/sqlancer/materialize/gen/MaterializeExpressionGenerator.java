@@ -604,6 +604,11 @@ public class MaterializeExpressionGenerator implements ExpressionGenerator<Mater
         return select.asString();
     }
 
+    @Override
+    public RowCountStrategy getRowCountStrategy() {
+        return RowCountStrategy.SERVER_SIDE_COUNT;
+    }
+
     @Override
     public String generateUnoptimizedQueryString(MaterializeSelect select, MaterializeExpression whereCondition) {
         MaterializeCastOperation isTrue = new MaterializeCastOperation(whereCondition,
@@ -1,6 +1,7 @@
 package sqlancer.mysql.ast;
 
 import sqlancer.IgnoreMeException;
+import sqlancer.common.ast.ExpectedValueCache;
 import sqlancer.mysql.ast.MySQLBinaryComparisonOperation.BinaryComparisonOperator;
 import sqlancer.mysql.ast.MySQLBinaryLogicalOperation.MySQLBinaryLogicalOperator;
 
@@ -10,6 +11,8 @@ public class MySQLBetweenOperation implements MySQLExpression {
     private final MySQLExpression left;
     private final MySQLExpression right;
 
+    private final ExpectedValueCache<MySQLConstant> expectedValueCache = new ExpectedValueCache<>();
+
     public MySQLBetweenOperation(MySQLExpression expr, MySQLExpression left, MySQLExpression right) {
         this.expr = expr;
         this.left = left;
@@ -30,6 +33,10 @@ public class MySQLBetweenOperation implements MySQLExpression {
 
     @Override
     public MySQLConstant getExpectedValue() {
+        return expectedValueCache.get(this::computeExpectedValue);
+    }
+
+    private MySQLConstant computeExpectedValue() {
         MySQLExpression[] arr = { left, right, expr };
         MySQLConstant convertedExpr = MySQLComputableFunction.castToMostGeneralType(expr.getExpectedValue(), arr);
         MySQLConstant convertedLeft = MySQLComputableFunction.castToMostGeneralType(left.getExpectedValue(), arr);
@@ -2,6 +2,7 @@ package sqlancer.mysql.ast;
 
 import sqlancer.LikeImplementationHelper;
 import sqlancer.Randomly;
+import sqlancer.common.ast.ExpectedValueCache;
 import sqlancer.mysql.MySQLSchema.MySQLDataType;
 import sqlancer.mysql.ast.MySQLUnaryPrefixOperation.MySQLUnaryPrefixOperator;
 
@@ -87,7 +88,7 @@ public class MySQLBinaryComparisonOperation implements MySQLExpression {
                 }
                 String leftStr = leftVal.castAsString();
                 String rightStr = rightVal.castAsString();
-                boolean matches = LikeImplementationHelper.match(leftStr, rightStr, 0, 0, false);
+                boolean matches = LikeImplementationHelper.match(leftStr, rightStr, false);
                 return MySQLConstant.createBoolean(matches);
             }
 
@@ -123,6 +124,8 @@ public class MySQLBinaryComparisonOperation implements MySQLExpression {
     private final MySQLExpression right;
     private final BinaryComparisonOperator op;
 
+    private final ExpectedValueCache<MySQLConstant> expectedValueCache = new ExpectedValueCache<>();
+
     public MySQLBinaryComparisonOperation(MySQLExpression left, MySQLExpression right, BinaryComparisonOperator op) {
         this.left = left;
         this.right = right;
@@ -143,6 +146,10 @@ public class MySQLBinaryComparisonOperation implements MySQLExpression {
 
     @Override
     public MySQLConstant getExpectedValue() {
+        return expectedValueCache.get(this::computeExpectedValue);
+    }
+
+    private MySQLConstant computeExpectedValue() {
         return op.getExpectedValue(left.getExpectedValue(), right.getExpectedValue());
     }
 
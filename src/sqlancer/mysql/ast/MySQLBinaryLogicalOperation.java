@@ -1,6 +1,7 @@
 package sqlancer.mysql.ast;
 
 import sqlancer.Randomly;
+import sqlancer.common.ast.ExpectedValueCache;
 
 public class MySQLBinaryLogicalOperation implements MySQLExpression {
 
@@ -8,6 +9,7 @@ public class MySQLBinaryLogicalOperation implements MySQLExpression {
     private final MySQLExpression right;
     private final MySQLBinaryLogicalOperator op;
     private final String textRepresentation;
+    private final ExpectedValueCache<MySQLConstant> expectedValueCache = new ExpectedValueCache<>();
 
     public enum MySQLBinaryLogicalOperator {
         AND("AND", "&&") {
@@ -99,9 +101,13 @@ public class MySQLBinaryLogicalOperation implements MySQLExpression {
 
     @Override
     public MySQLConstant getExpectedValue() {
+        return expectedValueCache.get(this::computeExpectedValue);
+    }
+
+    private MySQLConstant computeExpectedValue() {
         MySQLConstant leftExpected = left.getExpectedValue();
         MySQLConstant rightExpected = right.getExpectedValue();
-        if (left.getExpectedValue() == null || right.getExpectedValue() == null) {
+        if (leftExpected == null || rightExpected == null) {
             return null;
         }
         return op.apply(leftExpected, rightExpected);
@@ -4,6 +4,7 @@ import java.util.function.BinaryOperator;
 
 import sqlancer.IgnoreMeException;
 import sqlancer.Randomly;
+import sqlancer.common.ast.ExpectedValueCache;
 import sqlancer.mysql.ast.MySQLCastOperation.CastType;
 
 public class MySQLBinaryOperation implements MySQLExpression {
@@ -11,6 +12,7 @@ public class MySQLBinaryOperation implements MySQLExpression {
     private final MySQLExpression left;
     private final MySQLExpression right;
     private final MySQLBinaryOperator op;
+    private final ExpectedValueCache<MySQLConstant> expectedValueCache = new ExpectedValueCache<>();
 
     public enum MySQLBinaryOperator {
 
@@ -72,6 +74,10 @@ public class MySQLBinaryOperation implements MySQLExpression {
 
     @Override
     public MySQLConstant getExpectedValue() {
+        return expectedValueCache.get(this::computeExpectedValue);
+    }
+
+    private MySQLConstant computeExpectedValue() {
         MySQLConstant leftExpected = left.getExpectedValue();
         MySQLConstant rightExpected = right.getExpectedValue();
 
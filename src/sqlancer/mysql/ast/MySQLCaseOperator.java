@@ -2,10 +2,13 @@ package sqlancer.mysql.ast;
 
 import java.util.List;
 
+import sqlancer.common.ast.ExpectedValueCache;
 import sqlancer.common.ast.newast.NewCaseOperatorNode;
 
 public class MySQLCaseOperator extends NewCaseOperatorNode<MySQLExpression> implements MySQLExpression {
 
+    private final ExpectedValueCache<MySQLConstant> expectedValueCache = new ExpectedValueCache<>();
+
     public MySQLCaseOperator(MySQLExpression switchCondition, List<MySQLExpression> whenExprs,
             List<MySQLExpression> thenExprs, MySQLExpression elseExpr) {
         super(switchCondition, whenExprs, thenExprs, elseExpr);
@@ -13,6 +16,10 @@ public class MySQLCaseOperator extends NewCaseOperatorNode<MySQLExpression> impl
 
     @Override
     public MySQLConstant getExpectedValue() {
+        return expectedValueCache.get(this::computeExpectedValue);
+    }
+
+    private MySQLConstant computeExpectedValue() {
         int nrConditions = getConditions().size();
 
         MySQLExpression switchCondition = getSwitchCondition();
@@ -4,6 +4,7 @@ import java.util.function.BinaryOperator;
 import java.util.stream.Stream;
 
 import sqlancer.Randomly;
+import sqlancer.common.ast.ExpectedValueCache;
 import sqlancer.mysql.MySQLSchema.MySQLDataType;
 import sqlancer.mysql.ast.MySQLCastOperation.CastType;
 
@@ -12,6 +13,8 @@ public class MySQLComputableFunction implements MySQLExpression {
     private final MySQLFunction func;
     private final MySQLExpression[] args;
 
+    private final ExpectedValueCache<MySQLConstant> expectedValueCache = new ExpectedValueCache<>();
+
     public MySQLComputableFunction(MySQLFunction func, MySQLExpression... args) {
         this.func = func;
         this.args = args.clone();
@@ -208,6 +211,10 @@ public class MySQLComputableFunction implements MySQLExpression {
 
     @Override
     public MySQLConstant getExpectedValue() {
+        return expectedValueCache.get(this::computeExpectedValue);
+    }
+
+    private MySQLConstant computeExpectedValue() {
         MySQLConstant[] constants = new MySQLConstant[args.length];
         for (int i = 0; i < constants.length; i++) {
             constants[i] = args[i].getExpectedValue();
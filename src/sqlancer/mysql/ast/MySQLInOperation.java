@@ -3,6 +3,7 @@ package sqlancer.mysql.ast;
 import java.util.List;
 
 import sqlancer.IgnoreMeException;
+import sqlancer.common.ast.ExpectedValueCache;
 
 /**
  * @see <a href="https://dev.mysql.com/doc/refman/8.0/en/comparison-operators.html#operator_in">Comparison Functions and
@@ -14,6 +15,8 @@ public class MySQLInOperation implements MySQLExpression {
     private final List<MySQLExpression> listElements;
     private final boolean isTrue;
 
+    private final ExpectedValueCache<MySQLConstant> expectedValueCache = new ExpectedValueCache<>();
+
     public MySQLInOperation(MySQLExpression expr, List<MySQLExpression> listElements, boolean isTrue) {
         this.expr = expr;
         this.listElements = listElements;
@@ -30,6 +33,10 @@ public class MySQLInOperation implements MySQLExpression {
 
     @Override
     public MySQLConstant getExpectedValue() {
+        return expectedValueCache.get(this::computeExpectedValue);
+    }
+
+    private MySQLConstant computeExpectedValue() {
         MySQLConstant leftVal = expr.getExpectedValue();
         if (leftVal.isNull()) {
             return MySQLConstant.createNullConstant();
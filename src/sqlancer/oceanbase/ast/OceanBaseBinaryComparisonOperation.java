@@ -1,6 +1,7 @@
 package sqlancer.oceanbase.ast;
 
 import sqlancer.Randomly;
+import sqlancer.common.ast.ExpectedValueCache;
 import sqlancer.oceanbase.OceanBaseSchema.OceanBaseDataType;
 import sqlancer.oceanbase.ast.OceanBaseUnaryPrefixOperation.OceanBaseUnaryPrefixOperator;
 
@@ -96,6 +97,8 @@ public class OceanBaseBinaryComparisonOperation implements OceanBaseExpression {
     private final OceanBaseExpression right;
     private final BinaryComparisonOperator op;
 
+    private final ExpectedValueCache<OceanBaseConstant> expectedValueCache = new ExpectedValueCache<>();
+
     public OceanBaseBinaryComparisonOperation(OceanBaseExpression left, OceanBaseExpression right,
             BinaryComparisonOperator op) {
         this.left = left;
@@ -117,6 +120,10 @@ public class OceanBaseBinaryComparisonOperation implements OceanBaseExpression {
 
     @Override
     public OceanBaseConstant getExpectedValue() {
+        return expectedValueCache.get(this::computeExpectedValue);
+    }
+
+    private OceanBaseConstant computeExpectedValue() {
         return op.getExpectedValue(left.getExpectedValue(), right.getExpectedValue());
     }
 
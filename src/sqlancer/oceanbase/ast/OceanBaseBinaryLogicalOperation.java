@@ -1,6 +1,7 @@
 package sqlancer.oceanbase.ast;
 
 import sqlancer.Randomly;
+import sqlancer.common.ast.ExpectedValueCache;
 
 public class OceanBaseBinaryLogicalOperation implements OceanBaseExpression {
 
@@ -8,6 +9,7 @@ public class OceanBaseBinaryLogicalOperation implements OceanBaseExpression {
     private final OceanBaseExpression right;
     private final OceanBaseBinaryLogicalOperator op;
     private final String textRepresentation;
+    private final ExpectedValueCache<OceanBaseConstant> expectedValueCache = new ExpectedValueCache<>();
 
     public enum OceanBaseBinaryLogicalOperator {
         AND("AND", "&&") {
@@ -100,9 +102,13 @@ public class OceanBaseBinaryLogicalOperation implements OceanBaseExpression {
 
     @Override
     public OceanBaseConstant getExpectedValue() {
+        return expectedValueCache.get(this::computeExpectedValue);
+    }
+
+    private OceanBaseConstant computeExpectedValue() {
         OceanBaseConstant leftExpected = left.getExpectedValue();
         OceanBaseConstant rightExpected = right.getExpectedValue();
-        if (left.getExpectedValue() == null || right.getExpectedValue() == null) {
+        if (leftExpected == null || rightExpected == null) {
             return null;
         }
         return op.apply(leftExpected, rightExpected);
@@ -4,6 +4,7 @@ import java.util.function.BinaryOperator;
 import java.util.stream.Stream;
 
 import sqlancer.Randomly;
+import sqlancer.common.ast.ExpectedValueCache;
 import sqlancer.oceanbase.OceanBaseSchema.OceanBaseDataType;
 import sqlancer.oceanbase.ast.OceanBaseCastOperation.CastType;
 
@@ -12,6 +13,8 @@ public class OceanBaseComputableFunction implements OceanBaseExpression {
     private final OceanBaseFunction func;
     private final OceanBaseExpression[] args;
 
+    private final ExpectedValueCache<OceanBaseConstant> expectedValueCache = new ExpectedValueCache<>();
+
     public OceanBaseComputableFunction(OceanBaseFunction func, OceanBaseExpression... args) {
         this.func = func;
         this.args = args.clone();
@@ -221,6 +224,10 @@ public class OceanBaseComputableFunction implements OceanBaseExpression {
 
     @Override
     public OceanBaseConstant getExpectedValue() {
+        return expectedValueCache.get(this::computeExpectedValue);
+    }
+
+    private OceanBaseConstant computeExpectedValue() {
         OceanBaseConstant[] constants = new OceanBaseConstant[args.length];
         for (int i = 0; i < constants.length; i++) {
             constants[i] = args[i].getExpectedValue();
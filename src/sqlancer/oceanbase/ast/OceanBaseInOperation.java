@@ -2,12 +2,16 @@ package sqlancer.oceanbase.ast;
 
 import java.util.List;
 
+import sqlancer.common.ast.ExpectedValueCache;
+
 public class OceanBaseInOperation implements OceanBaseExpression {
 
     private final OceanBaseExpression expr;
     private final List<OceanBaseExpression> listElements;
     private final boolean isTrue;
 
+    private final ExpectedValueCache<OceanBaseConstant> expectedValueCache = new ExpectedValueCache<>();
+
     public OceanBaseInOperation(OceanBaseExpression expr, List<OceanBaseExpression> listElements, boolean isTrue) {
         this.expr = expr;
         this.listElements = listElements;
@@ -24,6 +28,10 @@ public class OceanBaseInOperation implements OceanBaseExpression {
 
     @Override
     public OceanBaseConstant getExpectedValue() {
+        return expectedValueCache.get(this::computeExpectedValue);
+    }
+
+    private OceanBaseConstant computeExpectedValue() {
         OceanBaseConstant leftVal = expr.getExpectedValue();
         if (leftVal.isNull()) {
             return OceanBaseConstant.createNullConstant();
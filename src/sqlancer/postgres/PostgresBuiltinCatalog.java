@@ -0,0 +1,146 @@
+package sqlancer.postgres;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import sqlancer.SQLConnection;
+import sqlancer.common.CatalogCache;
+
+/**
+ * The built-in functions, operators, collations, operator classes, and table access methods of a PostgreSQL-compatible
+ * server (e.g., Citus, YSQL, and Materialize). They are the same for all databases on a server, so each global state
+ * takes them from a {@link CatalogCache}, which reads them once per server version when the connection is set, rather
+ * than querying <code>pg_proc</code> and the other catalogs for every database.
+ */
+public final class PostgresBuiltinCatalog {
+
+    /**
+     * The catalog of a global state whose connection has not been set yet.
+     */
+    public static final PostgresBuiltinCatalog EMPTY = new PostgresBuiltinCatalog(Collections.emptyList(),
+            Collections.emptyList(), Collections.emptyList(), Collections.emptyList(), Collections.emptyMap());
+
+    private final List<String> operators;
+    private final List<String> collates;
+    private final List<String> opClasses;
+    private final List<String> tableAccessMethods;
+    private final Map<String, Character> functionsAndTypes;
+
+    private PostgresBuiltinCatalog(List<String> operators, List<String> collates, List<String> opClasses,
+            List<String> tableAccessMethods, Map<String, Character> functionsAndTypes) {
+        this.operators = Collections.unmodifiableList(operators);
+        this.collates = Collections.unmodifiableList(collates);
+        this.opClasses = Collections.unmodifiableList(opClasses);
+        this.tableAccessMethods = Collections.unmodifiableList(tableAccessMethods);
+        this.functionsAndTypes = Collections.unmodifiableMap(functionsAndTypes);
+    }
+
+    /**
+     * Creates a cache of the catalogs that are read from <code>pg_opclass</code> and the other system catalogs.
+     *
+     * @param readTableAccessMethods
+     *            whether the DBMS supports table access methods, which are otherwise empty
+     * @param readVolatility
+     *            whether <code>pg_proc</code> provides the volatility of functions, which is otherwise unknown
+     *
+     * @return the cache
+     */
+    public static CatalogCache<PostgresBuiltinCatalog> createCache(boolean readTableAccessMethods,
+            boolean readVolatility) {
+        return new CatalogCache<>(con -> load(con, readOpClasses(con), readTableAccessMethods, readVolatility));
+    }
+
+    /**
+     * Creates a cache of the catalogs for a DBMS that does not provide <code>pg_opclass</code>.
+     *
+     * @param opClasses
+     *            the operator classes of the DBMS
+     * @param readTableAccessMethods
+     *            whether the DBMS supports table access methods, which are otherwise empty
+     * @param readVolatility
+     *            whether <code>pg_proc</code> provides the volatility of functions, which is otherwise unknown
+     *
+     * @return the cache
+     */
+    public static CatalogCache<PostgresBuiltinCatalog> createCache(List<String> opClasses,
+            boolean readTableAccessMethods, boolean readVolatility) {
+        return new CatalogCache<>(con -> load(con, opClasses, readTableAccessMethods, readVolatility));
+    }
+
+    private static PostgresBuiltinCatalog load(SQLConnection con, List<String> opClasses,
+            boolean readTableAccessMethods, boolean readVolatility) throws SQLException {
+        List<String> operators = readNames(con, "SELECT oprname FROM pg_operator;");
+        List<String> collates = readNames(con,
+                "SELECT collname FROM pg_collation WHERE collname LIKE '%utf8' or collname = 'C';");
+        /*
+         * pg_am includes both index and table access methods so we need to filter with amtype = 't'
+         */
+        List<String> tableAccessMethods = readTableAccessMethods
+                ? readNames(con, "SELECT amname FROM pg_am WHERE amtype = 't';") : Collections.emptyList();
+        return new PostgresBuiltinCatalog(operators, collates, opClasses, tableAccessMethods,
+                readFunctionsAndTypes(con, readVolatility));
+    }
+
+    private static List<String> readOpClasses(SQLConnection con) throws SQLException {
+        return readNames(con, "select opcname FROM pg_opclass;");
+    }
+
+    private static List<String> readNames(SQLConnection con, String query) throws SQLException {
+        List<String> names = new ArrayList<>();
+        try (Statement s = con.createStatement()) {
+            try (ResultSet rs = s.executeQuery(query)) {
+                while (rs.next()) {
+                    names.add(rs.getString(1));
+                }
+            }
+        }
+        return names;
+    }
+
+    private static Map<String, Character> readFunctionsAndTypes(SQLConnection con, boolean readVolatility)
+            throws SQLException {
+        Map<String, Character> functionsAndTypes = new HashMap<>();
+        try (Statement s = con.createStatement()) {
+            try (ResultSet rs = s.executeQuery(
+                    readVolatility ? "SELECT proname, provolatile FROM pg_proc;" : "SELECT proname, 1 FROM pg_proc;")) {
+                while (rs.next()) {
+                    functionsAndTypes.put(rs.getString(1), rs.getString(2).charAt(0));
+                }
+            }
+        }
+        return functionsAndTypes;
+    }
+
+    public List<String> getOperators() {
+        return operators;
+    }
+
+    public List<String> getCollates() {
+        return collates;
+    }
+
+    public List<String> getOpClasses() {
+        return opClasses;
+    }
+
+    public List<String> getTableAccessMethods() {
+        return tableAccessMethods;
+    }
+
+    /**
+     * Returns the volatility of each built-in function, which global states copy into their own function map, to which
+     * they can add user-defined functions.
+     *
+     * @return a map from the function name to its volatility
+     */
+    public Map<String, Character> getFunctionsAndTypes() {
+        return functionsAndTypes;
+    }
+
+}
@@ -0,0 +1,217 @@
+package sqlancer.postgres;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import sqlancer.SQLConnection;
+
+/**
+ * Reads the tables, columns, indexes, and extended statistics of a PostgreSQL-compatible database with a single query
+ * on the system catalogs, rather than issuing separate queries for every table. The loader only returns raw catalog
+ * entries, so that the schema classes of PostgreSQL-compatible DBMSs (e.g., Citus, YSQL, and Materialize) can map
+ * them to their own table and column types.
+ */
+public final class PostgresCatalogLoader {
+
+    /**
+     * The loader for PostgreSQL and DBMSs that faithfully implement its catalogs (e.g., Citus and YSQL). Materialized
+     * views are excluded to match the tables reported by <code>information_schema.tables</code>.
+     */
+    public static final PostgresCatalogLoader POSTGRES = new PostgresCatalogLoader("'r', 'v', 'f', 'p'", true, true);
+
+    /**
+     * The loader for Materialize, whose catalogs neither provide <code>pg_relation_is_updatable</code> nor
+     * <code>pg_statistic_ext</code>, but which reports materialized views as tables.
+     */
+    public static final PostgresCatalogLoader MATERIALIZE = new PostgresCatalogLoader("'r', 'v', 'm'", false, false);
+
+    private static final String SCHEMA_FILTER = "(n.nspname = 'public' OR n.nspname LIKE 'pg_temp_%')";
+
+    private final String query;
+
+    private PostgresCatalogLoader(String relationKinds, boolean readInsertability, boolean readStatistics) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("SELECT 'c' AS kind, c.relname::text AS table_name, n.nspname::text AS table_schema, ");
+        sb.append("c.relkind::text AS relkind, ");
+        if (readInsertability) {
+            sb.append(
+                    "c.relkind IN ('r', 'p') OR (pg_catalog.pg_relation_is_updatable(c.oid::regclass, false) & 8) = 8");
+        } else {
+            sb.append("NULL::boolean");
+        }
+        sb.append(" AS is_insertable, a.attname::text AS name, pg_catalog.format_type(a.atttypid, NULL) AS data_type");
+        sb.append(" FROM pg_catalog.pg_class c JOIN pg_catalog.pg_namespace n ON n.oid = c.relnamespace");
+        sb.append(" LEFT JOIN pg_catalog.pg_attribute a ON a.attrelid = c.oid AND a.attnum > 0 AND NOT a.attisdropped");
+        sb.append(" WHERE c.relkind IN (").append(relationKinds).append(") AND ").append(SCHEMA_FILTER);
+        sb.append(" UNION ALL SELECT 'i', t.relname::text, n.nspname::text, t.relkind::text, NULL::boolean, ");
+        sb.append("i.relname::text, NULL::text FROM pg_catalog.pg_index x");
+        sb.append(" JOIN pg_catalog.pg_class i ON i.oid = x.indexrelid");
+        sb.append(" JOIN pg_catalog.pg_class t ON t.oid = x.indrelid");
+        sb.append(" JOIN pg_catalog.pg_namespace n ON n.oid = t.relnamespace WHERE ").append(SCHEMA_FILTER);
+        if (readStatistics) {
+            sb.append(" UNION ALL SELECT 's', NULL::text, NULL::text, NULL::text, NULL::boolean, stxname::text, ");
+            sb.append("NULL::text FROM pg_catalog.pg_statistic_ext");
+        }
+        this.query = sb.toString();
+    }
+
+    public static final class CatalogColumn {
+
+        private final String name;
+        private final String dataType;
+
+        CatalogColumn(String name, String dataType) {
+            this.name = name;
+            this.dataType = dataType;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Returns the type name in the format of <code>information_schema.columns.data_type</code> (e.g.,
+         * <code>character varying</code>).
+         *
+         * @return the type name
+         */
+        public String getDataType() {
+            return dataType;
+        }
+
+    }
+
+    public static final class CatalogTable {
+
+        private final String name;
+        private final String schemaName;
+        private final String relationKind;
+        private final boolean insertable;
+        private final List<CatalogColumn> columns = new ArrayList<>();
+        private final List<String> indexNames = new ArrayList<>();
+
+        CatalogTable(String name, String schemaName, String relationKind, boolean insertable) {
+            this.name = name;
+            this.schemaName = schemaName;
+            this.relationKind = relationKind;
+            this.insertable = insertable;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getSchemaName() {
+            return schemaName;
+        }
+
+        public boolean isView() {
+            return "v".equals(relationKind) || "m".equals(relationKind);
+        }
+
+        public boolean isInsertable() {
+            return insertable;
+        }
+
+        public List<CatalogColumn> getColumns() {
+            return Collections.unmodifiableList(columns);
+        }
+
+        public List<String> getIndexNames() {
+            return Collections.unmodifiableList(indexNames);
+        }
+
+    }
+
+    public static final class Catalog {
+
+        private final List<CatalogTable> tables;
+        private final List<String> statisticsNames;
+
+        Catalog(List<CatalogTable> tables, List<String> statisticsNames) {
+            this.tables = tables;
+            this.statisticsNames = statisticsNames;
+        }
+
+        /**
+         * Returns the tables and views ordered by their name. Their columns and indexes are ordered by name as well.
+         *
+         * @return the tables and views
+         */
+        public List<CatalogTable> getTables() {
+            return Collections.unmodifiableList(tables);
+        }
+
+        public List<String> getStatisticsNames() {
+            return Collections.unmodifiableList(statisticsNames);
+        }
+
+    }
+
+    public Catalog load(SQLConnection con) throws SQLException {
+        Map<String, CatalogTable> tables = new LinkedHashMap<>();
+        Map<String, List<String>> indexNames = new HashMap<>();
+        List<String> statisticsNames = new ArrayList<>();
+        try (Statement s = con.createStatement(); ResultSet rs = s.executeQuery(query)) {
+            while (rs.next()) {
+                String kind = rs.getString("kind");
+                String tableName = rs.getString("table_name");
+                String schemaName = rs.getString("table_schema");
+                String name = rs.getString("name");
+                switch (kind) {
+                case "c":
+                    CatalogTable table = tables.computeIfAbsent(getKey(schemaName, tableName),
+                            k -> createTable(rs, tableName, schemaName));
+                    if (name != null) {
+                        table.columns.add(new CatalogColumn(name, rs.getString("data_type")));
+                    }
+                    break;
+                case "i":
+                    indexNames.computeIfAbsent(getKey(schemaName, tableName), k -> new ArrayList<>()).add(name);
+                    break;
+                case "s":
+                    statisticsNames.add(name);
+                    break;
+                default:
+                    throw new AssertionError(kind);
+                }
+            }
+        }
+        // the catalog names use the "C" collation, which corresponds to the natural ordering of Java strings
+        List<CatalogTable> sortedTables = tables.values().stream().sorted(Comparator.comparing(CatalogTable::getName))
+                .collect(Collectors.toList());
+        for (CatalogTable table : sortedTables) {
+            table.indexNames.addAll(indexNames.getOrDefault(getKey(table.schemaName, table.name), List.of()));
+            table.columns.sort(Comparator.comparing(CatalogColumn::getName));
+            Collections.sort(table.indexNames);
+        }
+        Collections.sort(statisticsNames);
+        return new Catalog(sortedTables, statisticsNames);
+    }
+
+    private static String getKey(String schemaName, String tableName) {
+        return schemaName + "." + tableName;
+    }
+
+    private static CatalogTable createTable(ResultSet rs, String tableName, String schemaName) {
+        try {
+            boolean insertable = rs.getBoolean("is_insertable");
+            if (rs.wasNull()) {
+                insertable = !"v".equals(rs.getString("relkind")) && !"m".equals(rs.getString("relkind"));
+            }
+            return new CatalogTable(tableName, schemaName, rs.getString("relkind"), insertable);
+        } catch (SQLException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+}
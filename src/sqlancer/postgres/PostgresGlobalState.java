@@ -1,18 +1,17 @@
 package sqlancer.postgres;
 
-import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Pattern;
 
 import sqlancer.Randomly;
 import sqlancer.SQLConnection;
 import sqlancer.SQLGlobalState;
+import sqlancer.common.CatalogCache;
+import sqlancer.common.query.Query;
 
 public class PostgresGlobalState extends SQLGlobalState<PostgresOptions, PostgresSchema> {
 
@@ -20,109 +19,66 @@ public class PostgresGlobalState extends SQLGlobalState<PostgresOptions, Postgre
     public static final char STABLE = 's';
     public static final char VOLATILE = 'v';
 
-    private List<String> operators = Collections.emptyList();
-    private List<String> collates = Collections.emptyList();
-    private List<String> opClasses = Collections.emptyList();
-    private List<String> tableAccessMethods = Collections.emptyList();
+    private static final CatalogCache<PostgresBuiltinCatalog> CATALOG_CACHE = PostgresBuiltinCatalog
+            .createCache(true, true);
+
+    // DDL is transactional, so ending a transaction can undo DDL whose effect has already been applied to the schema
+    private static final Pattern TRANSACTION_END = Pattern.compile("\\s*(COMMIT|END|ROLLBACK|ABORT)\\b",
+            Pattern.CASE_INSENSITIVE);
+
+    // a failed CREATE INDEX CONCURRENTLY leaves an invalid index behind
+    private static final Pattern NON_TRANSACTIONAL_DDL = Pattern.compile("\\bCONCURRENTLY\\b",
+            Pattern.CASE_INSENSITIVE);
+
     // store and allow filtering by function volatility classifications
     private final Map<String, Character> functionsAndTypes = new HashMap<>();
     private List<Character> allowedFunctionTypes = Arrays.asList(IMMUTABLE, STABLE, VOLATILE);
+    private PostgresBuiltinCatalog catalog = PostgresBuiltinCatalog.EMPTY;
 
     @Override
     public void setConnection(SQLConnection con) {
         super.setConnection(con);
         try {
-            this.opClasses = getOpclasses(getConnection());
-            this.operators = getOperators(getConnection());
-            this.collates = getCollnames(getConnection());
-            this.tableAccessMethods = getTableAccessMethods(getConnection());
+            this.catalog = CATALOG_CACHE.get(getConnection());
         } catch (SQLException e) {
             throw new AssertionError(e);
         }
     }
 
-    private List<String> getCollnames(SQLConnection con) throws SQLException {
-        List<String> collNames = new ArrayList<>();
-        try (Statement s = con.createStatement()) {
-            try (ResultSet rs = s
-                    .executeQuery("SELECT collname FROM pg_collation WHERE collname LIKE '%utf8' or collname = 'C';")) {
-                while (rs.next()) {
-                    collNames.add(rs.getString(1));
-                }
-            }
-        }
-        return collNames;
-    }
-
-    private List<String> getOpclasses(SQLConnection con) throws SQLException {
-        List<String> opClasses = new ArrayList<>();
-        try (Statement s = con.createStatement()) {
-            try (ResultSet rs = s.executeQuery("select opcname FROM pg_opclass;")) {
-                while (rs.next()) {
-                    opClasses.add(rs.getString(1));
-                }
-            }
-        }
-        return opClasses;
-    }
-
-    private List<String> getOperators(SQLConnection con) throws SQLException {
-        List<String> operators = new ArrayList<>();
-        try (Statement s = con.createStatement()) {
-            try (ResultSet rs = s.executeQuery("SELECT oprname FROM pg_operator;")) {
-                while (rs.next()) {
-                    operators.add(rs.getString(1));
-                }
-            }
-        }
-        return operators;
-    }
-
-    private List<String> getTableAccessMethods(SQLConnection con) throws SQLException {
-        List<String> tableAccessMethods = new ArrayList<>();
-        try (Statement s = con.createStatement()) {
-            /*
-             * pg_am includes both index and table access methods so we need to filter with amtype = 't'
-             */
-            try (ResultSet rs = s.executeQuery("SELECT amname FROM pg_am WHERE amtype = 't';")) {
-                while (rs.next()) {
-                    tableAccessMethods.add(rs.getString(1));
-                }
-            }
-        }
-        return tableAccessMethods;
+    public PostgresBuiltinCatalog getCatalog() {
+        return catalog;
     }
 
     public List<String> getOperators() {
-        return operators;
+        return catalog.getOperators();
     }
 
     public String getRandomOperator() {
-        return Randomly.fromList(operators);
+        return Randomly.fromList(catalog.getOperators());
     }
 
     public List<String> getCollates() {
-        return collates;
+        return catalog.getCollates();
     }
 
     public String getRandomCollate() {
-        return Randomly.fromList(collates);
+        return Randomly.fromList(catalog.getCollates());
     }
 
     public List<String> getOpClasses() {
-        return opClasses;
+        return catalog.getOpClasses();
     }
 
     public String getRandomOpclass() {
-        return Randomly.fromList(opClasses);
+        return Randomly.fromList(catalog.getOpClasses());
     }
 
     public List<String> getTableAccessMethods() {
-        return tableAccessMethods;
+        return catalog.getTableAccessMethods();
     }
 
     public String getRandomTableAccessMethod() {
-        return Randomly.fromList(tableAccessMethods);
+        return Randomly.fromList(catalog.getTableAccessMethods());
     }
 
     @Override
@@ -130,6 +86,28 @@ public class PostgresGlobalState extends SQLGlobalState<PostgresOptions, Postgre
         return PostgresSchema.fromConnection(getConnection(), getDatabaseName());
     }
 
+    @Override
+    protected boolean useIncrementalSchemaUpdatesByDefault() {
+        return true;
+    }
+
+    @Override
+    protected PostgresSchema applySchemaDelta(PostgresSchema currentSchema, Query<?> q, boolean success) {
+        String query = q.getQueryString();
+        if (TRANSACTION_END.matcher(query).lookingAt()) {
+            return null;
+        }
+        if (!success) {
+            // other statements are atomic, so a failed statement did not change the schema
+            return NON_TRANSACTIONAL_DDL.matcher(query).find() ? null : currentSchema;
+        }
+        PostgresSchema updatedSchema = PostgresSchemaDelta.apply(currentSchema, query);
+        if (updatedSchema == null) {
+            return super.applySchemaDelta(currentSchema, q, success);
+        }
+        return updatedSchema;
+    }
+
     public void addFunctionAndType(String functionName, Character functionType) {
         this.functionsAndTypes.put(functionName, functionType);
     }
@@ -11,7 +11,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Queue;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import com.fasterxml.jackson.databind.JsonNode;
@@ -19,6 +21,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.auto.service.AutoService;
 
 import sqlancer.AbstractAction;
+import sqlancer.CheckpointableDatabaseProvider;
 import sqlancer.DatabaseProvider;
 import sqlancer.IgnoreMeException;
 import sqlancer.MainOptions;
@@ -27,6 +30,7 @@ import sqlancer.SQLConnection;
 import sqlancer.SQLProviderAdapter;
 import sqlancer.StatementExecutor;
 import sqlancer.common.DBMSCommon;
+import sqlancer.common.query.Query;
 import sqlancer.common.query.SQLQueryAdapter;
 import sqlancer.common.query.SQLQueryProvider;
 import sqlancer.common.query.SQLancerResultSet;
@@ -55,13 +59,21 @@ import sqlancer.postgres.gen.PostgresViewGenerator;
 // EXISTS
 // IN
 @AutoService(DatabaseProvider.class)
-public class PostgresProvider extends SQLProviderAdapter<PostgresGlobalState, PostgresOptions> {
+public class PostgresProvider extends SQLProviderAdapter<PostgresGlobalState, PostgresOptions>
+        implements CheckpointableDatabaseProvider<PostgresGlobalState, SQLConnection> {
 
     /**
      * Generate only data types and expressions that are understood by PQS.
      */
     public static boolean generateOnlyKnown;
 
+    // statements that change the configuration of the session
+    private static final Pattern SETTING_STATEMENT = Pattern.compile("^(SET|RESET|DISCARD)\\s");
+
+    // statements that create temporary objects, which only exist in the session, or start a transaction
+    private static final Pattern SESSION_STATE_STATEMENT = Pattern
+            .compile("^(CREATE\\s+(OR\\s+REPLACE\\s+)?TEMP(ORARY)?\\s|BEGIN\\b|START\\s+TRANSACTION\\b)");
+
     protected String entryURL;
     protected String username;
     protected String password;
@@ -320,16 +332,61 @@ public class PostgresProvider extends SQLProviderAdapter<PostgresGlobalState, Po
         return new SQLConnection(con);
     }
 
-    protected void readFunctions(PostgresGlobalState globalState) throws SQLException {
-        SQLQueryAdapter query = new SQLQueryAdapter("SELECT proname, provolatile FROM pg_proc;");
-        SQLancerResultSet rs = query.executeAndGet(globalState);
-        while (rs.next()) {
-            String functionName = rs.getString(1);
-            Character functionType = rs.getString(2).charAt(0);
-            globalState.addFunctionAndType(functionName, functionType);
+    /*
+     * A checkpoint is a copy of the test database that is created by using the test database as a template. Both
+     * creating and restoring a copy require that no other session is connected to the source database.
+     */
+    @Override
+    public Checkpoint createCheckpoint(PostgresGlobalState globalState) throws Exception {
+        String checkpointName = globalState.getDatabaseName() + "_checkpoint";
+        globalState.getConnection().close();
+        try {
+            executeOnEntryDatabase("DROP DATABASE IF EXISTS " + checkpointName);
+            executeOnEntryDatabase(
+                    "CREATE DATABASE " + checkpointName + " TEMPLATE " + globalState.getDatabaseName());
+        } finally {
+            globalState.setConnection(connectToTestDatabase(globalState));
+        }
+        return () -> executeOnEntryDatabase("DROP DATABASE IF EXISTS " + checkpointName);
+    }
+
+    @Override
+    public SQLConnection restoreCheckpoint(PostgresGlobalState globalState, Checkpoint checkpoint) throws Exception {
+        String name = globalState.getDatabaseName();
+        executeOnEntryDatabase("DROP DATABASE IF EXISTS " + name);
+        executeOnEntryDatabase("CREATE DATABASE " + name + " TEMPLATE " + name + "_checkpoint");
+        return connectToTestDatabase(globalState);
+    }
+
+    @Override
+    public SessionEffect getSessionEffect(Query<SQLConnection> statement) {
+        String sql = statement.getQueryString().trim().toUpperCase(Locale.ROOT);
+        if (SETTING_STATEMENT.matcher(sql).find()) {
+            return SessionEffect.SETTING;
+        } else if (SESSION_STATE_STATEMENT.matcher(sql).find()) {
+            return SessionEffect.SESSION_STATE;
+        } else {
+            return SessionEffect.NONE;
+        }
+    }
+
+    private void executeOnEntryDatabase(String command) throws SQLException {
+        try (Connection con = DriverManager.getConnection("jdbc:" + entryURL, username, password);
+                Statement s = con.createStatement()) {
+            s.execute(command);
         }
     }
 
+    // the test URL is shared by all threads, so derive it from the name of this state's database
+    private SQLConnection connectToTestDatabase(PostgresGlobalState globalState) throws SQLException {
+        String url = entryURL.substring(0, entryURL.lastIndexOf('/') + 1) + globalState.getDatabaseName();
+        return new SQLConnection(DriverManager.getConnection("jdbc:" + url, username, password));
+    }
+
+    protected void readFunctions(PostgresGlobalState globalState) throws SQLException {
+        globalState.getFunctionsAndTypes().putAll(globalState.getCatalog().getFunctionsAndTypes());
+    }
+
     protected void createTables(PostgresGlobalState globalState, int numTables) throws Exception {
         while (globalState.getSchema().getDatabaseTables().size() < numTables) {
             try {
@@ -22,6 +22,9 @@ import sqlancer.common.schema.AbstractSchema;
 import sqlancer.common.schema.AbstractTableColumn;
 import sqlancer.common.schema.AbstractTables;
 import sqlancer.common.schema.TableIndex;
+import sqlancer.postgres.PostgresCatalogLoader.Catalog;
+import sqlancer.postgres.PostgresCatalogLoader.CatalogColumn;
+import sqlancer.postgres.PostgresCatalogLoader.CatalogTable;
 import sqlancer.postgres.PostgresSchema.PostgresTable;
 import sqlancer.postgres.PostgresSchema.PostgresTable.TableType;
 import sqlancer.postgres.ast.PostgresConstant;
@@ -223,30 +226,37 @@ public class PostgresSchema extends AbstractSchema<PostgresGlobalState, Postgres
     public static PostgresSchema fromConnection(SQLConnection con, String databaseName) throws SQLException {
         try {
             List<PostgresTable> databaseTables = new ArrayList<>();
-            try (Statement s = con.createStatement()) {
-                try (ResultSet rs = s.executeQuery(
-                        "SELECT table_name, table_schema, table_type, is_insertable_into FROM information_schema.tables WHERE table_schema='public' OR table_schema LIKE 'pg_temp_%' ORDER BY table_name;")) {
-                    while (rs.next()) {
-                        String tableName = rs.getString("table_name");
-                        String tableTypeSchema = rs.getString("table_schema");
-                        boolean isInsertable = rs.getBoolean("is_insertable_into");
-                        // TODO: also check insertable
-                        // TODO: insert into view?
-                        boolean isView = tableName.startsWith("v"); // tableTypeStr.contains("VIEW") ||
-                                                                    // tableTypeStr.contains("LOCAL TEMPORARY") &&
-                                                                    // !isInsertable;
-                        PostgresTable.TableType tableType = getTableType(tableTypeSchema);
-                        List<PostgresColumn> databaseColumns = getTableColumns(con, tableName);
-                        List<PostgresIndex> indexes = getIndexes(con, tableName);
-                        List<PostgresStatisticsObject> statistics = getStatistics(con);
-                        PostgresTable t = new PostgresTable(tableName, databaseColumns, indexes, tableType, statistics,
-                                isView, isInsertable);
-                        for (PostgresColumn c : databaseColumns) {
-                            c.setTable(t);
-                        }
-                        databaseTables.add(t);
+            Catalog catalog = PostgresCatalogLoader.POSTGRES.load(con);
+            for (CatalogTable catalogTable : catalog.getTables()) {
+                String tableName = catalogTable.getName();
+                boolean isInsertable = catalogTable.isInsertable();
+                // TODO: also check insertable
+                // TODO: insert into view?
+                boolean isView = tableName.startsWith("v"); // tableTypeStr.contains("VIEW") ||
+                                                            // tableTypeStr.contains("LOCAL TEMPORARY") &&
+                                                            // !isInsertable;
+                PostgresTable.TableType tableType = getTableType(catalogTable.getSchemaName());
+                List<PostgresColumn> databaseColumns = new ArrayList<>();
+                for (CatalogColumn catalogColumn : catalogTable.getColumns()) {
+                    databaseColumns
+                            .add(new PostgresColumn(catalogColumn.getName(), getColumnType(catalogColumn.getDataType())));
+                }
+                List<PostgresIndex> indexes = new ArrayList<>();
+                for (String indexName : catalogTable.getIndexNames()) {
+                    if (DBMSCommon.matchesIndexName(indexName)) {
+                        indexes.add(PostgresIndex.create(indexName));
                     }
                 }
+                List<PostgresStatisticsObject> statistics = new ArrayList<>();
+                for (String statisticsName : catalog.getStatisticsNames()) {
+                    statistics.add(new PostgresStatisticsObject(statisticsName));
+                }
+                PostgresTable t = new PostgresTable(tableName, databaseColumns, indexes, tableType, statistics, isView,
+                        isInsertable);
+                for (PostgresColumn c : databaseColumns) {
+                    c.setTable(t);
+                }
+                databaseTables.add(t);
             }
             return new PostgresSchema(databaseTables, databaseName);
         } catch (SQLIntegrityConstraintViolationException e) {
@@ -254,18 +264,6 @@ public class PostgresSchema extends AbstractSchema<PostgresGlobalState, Postgres
         }
     }
 
-    protected static List<PostgresStatisticsObject> getStatistics(SQLConnection con) throws SQLException {
-        List<PostgresStatisticsObject> statistics = new ArrayList<>();
-        try (Statement s = con.createStatement()) {
-            try (ResultSet rs = s.executeQuery("SELECT stxname FROM pg_statistic_ext ORDER BY stxname;")) {
-                while (rs.next()) {
-                    statistics.add(new PostgresStatisticsObject(rs.getString("stxname")));
-                }
-            }
-        }
-        return statistics;
-    }
-
     protected static PostgresTable.TableType getTableType(String tableTypeStr) throws AssertionError {
         PostgresTable.TableType tableType;
         if (tableTypeStr.contentEquals("public")) {
@@ -278,39 +276,6 @@ public class PostgresSchema extends AbstractSchema<PostgresGlobalState, Postgres
         return tableType;
     }
 
-    protected static List<PostgresIndex> getIndexes(SQLConnection con, String tableName) throws SQLException {
-        List<PostgresIndex> indexes = new ArrayList<>();
-        try (Statement s = con.createStatement()) {
-            try (ResultSet rs = s.executeQuery(String
-                    .format("SELECT indexname FROM pg_indexes WHERE tablename='%s' ORDER BY indexname;", tableName))) {
-                while (rs.next()) {
-                    String indexName = rs.getString("indexname");
-                    if (DBMSCommon.matchesIndexName(indexName)) {
-                        indexes.add(PostgresIndex.create(indexName));
-                    }
-                }
-            }
-        }
-        return indexes;
-    }
-
-    protected static List<PostgresColumn> getTableColumns(SQLConnection con, String tableName) throws SQLException {
-        List<PostgresColumn> columns = new ArrayList<>();
-        try (Statement s = con.createStatement()) {
-            try (ResultSet rs = s
-                    .executeQuery("select column_name, data_type from INFORMATION_SCHEMA.COLUMNS where table_name = '"
-                            + tableName + "' ORDER BY column_name")) {
-                while (rs.next()) {
-                    String columnName = rs.getString("column_name");
-                    String dataType = rs.getString("data_type");
-                    PostgresColumn c = new PostgresColumn(columnName, getColumnType(dataType));
-                    columns.add(c);
-                }
-            }
-        }
-        return columns;
-    }
-
     public PostgresSchema(List<PostgresTable> databaseTables, String databaseName) {
         super(databaseTables);
         this.databaseName = databaseName;
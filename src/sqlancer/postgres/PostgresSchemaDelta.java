@@ -0,0 +1,175 @@
+package sqlancer.postgres;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import sqlancer.common.DBMSCommon;
+import sqlancer.postgres.PostgresSchema.PostgresColumn;
+import sqlancer.postgres.PostgresSchema.PostgresDataType;
+import sqlancer.postgres.PostgresSchema.PostgresIndex;
+import sqlancer.postgres.PostgresSchema.PostgresTable;
+
+/**
+ * Infers the effect of successfully executed DDL statements on a {@link PostgresSchema}, so that the schema does not
+ * need to be read from the catalog again. Only statements whose effect is fully determined by their text are handled;
+ * for all other statements, the whole schema needs to be read.
+ */
+public final class PostgresSchemaDelta {
+
+    private static final Pattern CREATE_INDEX = Pattern.compile(
+            "\\s*CREATE\\s+(?:UNIQUE\\s+)?INDEX\\s+(?:IF\\s+NOT\\s+EXISTS\\s+)?(\\w+)\\s+ON\\s+(?:ONLY\\s+)?(\\w+)\\b",
+            Pattern.CASE_INSENSITIVE);
+
+    // without ONLY, the column would also be added to the tables that inherit from the table, which are not known
+    private static final Pattern ADD_COLUMN = Pattern.compile(
+            "\\s*ALTER\\s+TABLE\\s+ONLY\\s+(\\w+)\\s+ADD\\s+(?:COLUMN\\s+)?(IF\\s+NOT\\s+EXISTS\\s+)?(\\w+)\\s+"
+                    + "([a-z]\\w*(?:\\s+(?:PRECISION|VARYING))?)(\\s*\\(\\s*\\d+\\s*(?:,\\s*\\d+\\s*)?\\))?\\s*;?\\s*",
+            Pattern.CASE_INSENSITIVE);
+
+    // with CASCADE, dependent views would be dropped as well
+    private static final Pattern DROP_TABLE_OR_VIEW = Pattern.compile(
+            "\\s*DROP\\s+(?:TABLE|VIEW)\\s+(IF\\s+EXISTS\\s+)?(\\w+(?:\\s*,\\s*\\w+)*)(?:\\s+RESTRICT)?\\s*;?\\s*",
+            Pattern.CASE_INSENSITIVE);
+
+    private static final Map<String, PostgresDataType> TYPES = new HashMap<>();
+
+    static {
+        for (String type : new String[] { "smallint", "integer", "int", "int2", "int4", "int8", "bigint" }) {
+            TYPES.put(type, PostgresDataType.INT);
+        }
+        TYPES.put("boolean", PostgresDataType.BOOLEAN);
+        TYPES.put("bool", PostgresDataType.BOOLEAN);
+        for (String type : new String[] { "text", "varchar", "character varying", "char", "character", "name" }) {
+            TYPES.put(type, PostgresDataType.TEXT);
+        }
+        TYPES.put("decimal", PostgresDataType.DECIMAL);
+        TYPES.put("numeric", PostgresDataType.DECIMAL);
+        // FLOAT is only handled without a precision, which determines whether it is a REAL
+        TYPES.put("float", PostgresDataType.FLOAT);
+        TYPES.put("float8", PostgresDataType.FLOAT);
+        TYPES.put("double precision", PostgresDataType.FLOAT);
+        TYPES.put("real", PostgresDataType.REAL);
+        TYPES.put("float4", PostgresDataType.REAL);
+        TYPES.put("int4range", PostgresDataType.RANGE);
+        TYPES.put("money", PostgresDataType.MONEY);
+        TYPES.put("bit", PostgresDataType.BIT);
+        TYPES.put("varbit", PostgresDataType.BIT);
+        TYPES.put("bit varying", PostgresDataType.BIT);
+        TYPES.put("inet", PostgresDataType.INET);
+    }
+
+    private PostgresSchemaDelta() {
+    }
+
+    /**
+     * Applies the effect of a successfully executed statement to a schema, which is not modified itself.
+     *
+     * @param schema
+     *            the schema before executing the statement
+     * @param statement
+     *            the executed statement
+     *
+     * @return the schema after executing the statement, or null if the statement's effect cannot be inferred
+     */
+    public static PostgresSchema apply(PostgresSchema schema, String statement) {
+        Matcher m = CREATE_INDEX.matcher(statement);
+        // the rest of the statement does not affect the schema
+        if (m.lookingAt()) {
+            return createIndex(schema, m.group(1), m.group(2));
+        }
+        m = ADD_COLUMN.matcher(statement);
+        if (m.matches()) {
+            return addColumn(schema, m.group(1), m.group(2) != null, m.group(3), m.group(4), m.group(5) != null);
+        }
+        m = DROP_TABLE_OR_VIEW.matcher(statement);
+        if (m.matches()) {
+            return dropTables(schema, m.group(1) != null, m.group(2).split("\\s*,\\s*"));
+        }
+        return null;
+    }
+
+    private static PostgresSchema createIndex(PostgresSchema schema, String indexName, String tableName) {
+        PostgresTable table = getTable(schema, tableName);
+        if (table == null) {
+            return null;
+        }
+        String name = indexName.toLowerCase();
+        // index names are unique within the database, so IF NOT EXISTS did not create the index if its name is taken
+        boolean exists = schema.getDatabaseTables().stream().flatMap(t -> t.getIndexes().stream())
+                .anyMatch(i -> i.getIndexName().equals(name));
+        if (exists || !DBMSCommon.matchesIndexName(name)) {
+            // the schema only contains indexes that have been created by SQLancer
+            return schema;
+        }
+        List<PostgresIndex> indexes = new ArrayList<>(table.getIndexes());
+        indexes.add(PostgresIndex.create(name));
+        return replaceTable(schema, table, copyColumns(table.getColumns()), indexes);
+    }
+
+    private static PostgresSchema addColumn(PostgresSchema schema, String tableName, boolean ifNotExists,
+            String columnName, String typeName, boolean hasTypeModifier) {
+        PostgresTable table = getTable(schema, tableName);
+        PostgresDataType type = TYPES.get(typeName.toLowerCase().replaceAll("\\s+", " "));
+        if (table == null || type == null || hasTypeModifier && "float".equalsIgnoreCase(typeName)) {
+            return null;
+        }
+        String name = columnName.toLowerCase();
+        if (table.getColumns().stream().anyMatch(c -> c.getName().equals(name))) {
+            return ifNotExists ? schema : null;
+        }
+        List<PostgresColumn> columns = copyColumns(table.getColumns());
+        columns.add(new PostgresColumn(name, type));
+        return replaceTable(schema, table, columns, table.getIndexes());
+    }
+
+    private static PostgresSchema dropTables(PostgresSchema schema, boolean ifExists, String... tableNames) {
+        /*
+         * The extended statistics on the dropped tables are dropped as well, but the schema does not record which table
+         * they belong to. Partitions, which would also be dropped with their table, are not created by SQLancer.
+         */
+        if (schema.getDatabaseTables().stream().anyMatch(t -> !t.getStatistics().isEmpty())) {
+            return null;
+        }
+        List<PostgresTable> tables = new ArrayList<>(schema.getDatabaseTables());
+        for (String tableName : tableNames) {
+            PostgresTable table = getTable(schema, tableName);
+            if (table == null && !ifExists) {
+                return null;
+            }
+            tables.remove(table);
+        }
+        return new PostgresSchema(tables, schema.getDatabaseName());
+    }
+
+    // unquoted identifiers are folded to lower case
+    private static PostgresTable getTable(PostgresSchema schema, String tableName) {
+        String name = tableName.toLowerCase();
+        return schema.getDatabaseTables().stream().filter(t -> t.getName().equals(name)).findFirst().orElse(null);
+    }
+
+    private static List<PostgresColumn> copyColumns(List<PostgresColumn> columns) {
+        List<PostgresColumn> copies = new ArrayList<>();
+        for (PostgresColumn c : columns) {
+            copies.add(new PostgresColumn(c.getName(), c.getType()));
+        }
+        return copies;
+    }
+
+    // the columns are assigned to the new table, so that the columns of the previous schema remain unchanged
+    private static PostgresSchema replaceTable(PostgresSchema schema, PostgresTable table, List<PostgresColumn> columns,
+            List<PostgresIndex> indexes) {
+        PostgresTable newTable = new PostgresTable(table.getName(), columns, indexes, table.getTableType(),
+                table.getStatistics(), table.isView(), table.isInsertable());
+        for (PostgresColumn c : columns) {
+            c.setTable(newTable);
+        }
+        List<PostgresTable> tables = new ArrayList<>(schema.getDatabaseTables());
+        tables.set(tables.indexOf(table), newTable);
+        return new PostgresSchema(tables, schema.getDatabaseName());
+    }
+
+}
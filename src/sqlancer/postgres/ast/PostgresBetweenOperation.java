@@ -1,5 +1,6 @@
 package sqlancer.postgres.ast;
 
+import sqlancer.common.ast.ExpectedValueCache;
 import sqlancer.postgres.PostgresSchema.PostgresDataType;
 import sqlancer.postgres.ast.PostgresBinaryComparisonOperation.PostgresBinaryComparisonOperator;
 import sqlancer.postgres.ast.PostgresBinaryLogicalOperation.BinaryLogicalOperator;
@@ -11,6 +12,8 @@ public final class PostgresBetweenOperation implements PostgresExpression {
     private final PostgresExpression right;
     private final boolean isSymmetric;
 
+    private final ExpectedValueCache<PostgresConstant> expectedValueCache = new ExpectedValueCache<>();
+
     public PostgresBetweenOperation(PostgresExpression expr, PostgresExpression left, PostgresExpression right,
             boolean symmetric) {
         this.expr = expr;
@@ -37,6 +40,10 @@ public final class PostgresBetweenOperation implements PostgresExpression {
 
     @Override
     public PostgresConstant getExpectedValue() {
+        return expectedValueCache.get(this::computeExpectedValue);
+    }
+
+    private PostgresConstant computeExpectedValue() {
         PostgresBinaryComparisonOperation leftComparison = new PostgresBinaryComparisonOperation(left, expr,
                 PostgresBinaryComparisonOperator.LESS_EQUALS);
         PostgresBinaryComparisonOperation rightComparison = new PostgresBinaryComparisonOperation(expr, right,
@@ -5,12 +5,15 @@ import java.util.function.BinaryOperator;
 import sqlancer.Randomly;
 import sqlancer.common.ast.BinaryOperatorNode;
 import sqlancer.common.ast.BinaryOperatorNode.Operator;
+import sqlancer.common.ast.ExpectedValueCache;
 import sqlancer.postgres.PostgresSchema.PostgresDataType;
 import sqlancer.postgres.ast.PostgresBinaryArithmeticOperation.PostgresBinaryOperator;
 
 public class PostgresBinaryArithmeticOperation extends BinaryOperatorNode<PostgresExpression, PostgresBinaryOperator>
         implements PostgresExpression {
 
+    private final ExpectedValueCache<PostgresConstant> expectedValueCache = new ExpectedValueCache<>();
+
     public enum PostgresBinaryOperator implements Operator {
 
         ADDITION("+") {
@@ -93,6 +96,10 @@ public class PostgresBinaryArithmeticOperation extends BinaryOperatorNode<Postgr
 
     @Override
     public PostgresConstant getExpectedValue() {
+        return expectedValueCache.get(this::computeExpectedValue);
+    }
+
+    private PostgresConstant computeExpectedValue() {
         PostgresConstant leftExpected = getLeft().getExpectedValue();
         PostgresConstant rightExpected = getRight().getExpectedValue();
         if (leftExpected == null || rightExpected == null) {
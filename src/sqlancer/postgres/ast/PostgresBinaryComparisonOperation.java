@@ -3,12 +3,15 @@ package sqlancer.postgres.ast;
 import sqlancer.Randomly;
 import sqlancer.common.ast.BinaryOperatorNode;
 import sqlancer.common.ast.BinaryOperatorNode.Operator;
+import sqlancer.common.ast.ExpectedValueCache;
 import sqlancer.postgres.PostgresSchema.PostgresDataType;
 import sqlancer.postgres.ast.PostgresBinaryComparisonOperation.PostgresBinaryComparisonOperator;
 
 public class PostgresBinaryComparisonOperation
         extends BinaryOperatorNode<PostgresExpression, PostgresBinaryComparisonOperator> implements PostgresExpression {
 
+    private final ExpectedValueCache<PostgresConstant> expectedValueCache = new ExpectedValueCache<>();
+
     public enum PostgresBinaryComparisonOperator implements Operator {
         EQUALS("=") {
             @Override
@@ -123,6 +126,10 @@ public class PostgresBinaryComparisonOperation
 
     @Override
     public PostgresConstant getExpectedValue() {
+        return expectedValueCache.get(this::computeExpectedValue);
+    }
+
+    private PostgresConstant computeExpectedValue() {
         PostgresConstant leftExpectedValue = getLeft().getExpectedValue();
         PostgresConstant rightExpectedValue = getRight().getExpectedValue();
         if (leftExpectedValue == null || rightExpectedValue == null) {
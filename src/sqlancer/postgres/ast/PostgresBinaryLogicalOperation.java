@@ -3,12 +3,15 @@ package sqlancer.postgres.ast;
 import sqlancer.Randomly;
 import sqlancer.common.ast.BinaryOperatorNode;
 import sqlancer.common.ast.BinaryOperatorNode.Operator;
+import sqlancer.common.ast.ExpectedValueCache;
 import sqlancer.postgres.PostgresSchema.PostgresDataType;
 import sqlancer.postgres.ast.PostgresBinaryLogicalOperation.BinaryLogicalOperator;
 
 public class PostgresBinaryLogicalOperation extends BinaryOperatorNode<PostgresExpression, BinaryLogicalOperator>
         implements PostgresExpression {
 
+    private final ExpectedValueCache<PostgresConstant> expectedValueCache = new ExpectedValueCache<>();
+
     public enum BinaryLogicalOperator implements Operator {
         AND {
             @Override
@@ -77,6 +80,10 @@ public class PostgresBinaryLogicalOperation extends BinaryOperatorNode<PostgresE
 
     @Override
     public PostgresConstant getExpectedValue() {
+        return expectedValueCache.get(this::computeExpectedValue);
+    }
+
+    private PostgresConstant computeExpectedValue() {
         PostgresConstant leftExpectedValue = getLeft().getExpectedValue();
         PostgresConstant rightExpectedValue = getRight().getExpectedValue();
         if (leftExpectedValue == null || rightExpectedValue == null) {
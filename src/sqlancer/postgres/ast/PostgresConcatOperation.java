@@ -1,10 +1,13 @@
 package sqlancer.postgres.ast;
 
 import sqlancer.common.ast.BinaryNode;
+import sqlancer.common.ast.ExpectedValueCache;
 import sqlancer.postgres.PostgresSchema.PostgresDataType;
 
 public class PostgresConcatOperation extends BinaryNode<PostgresExpression> implements PostgresExpression {
 
+    private final ExpectedValueCache<PostgresConstant> expectedValueCache = new ExpectedValueCache<>();
+
     public PostgresConcatOperation(PostgresExpression left, PostgresExpression right) {
         super(left, right);
     }
@@ -16,6 +19,10 @@ public class PostgresConcatOperation extends BinaryNode<PostgresExpression> impl
 
     @Override
     public PostgresConstant getExpectedValue() {
+        return expectedValueCache.get(this::computeExpectedValue);
+    }
+
+    private PostgresConstant computeExpectedValue() {
         PostgresConstant leftExpectedValue = getLeft().getExpectedValue();
         PostgresConstant rightExpectedValue = getRight().getExpectedValue();
         if (leftExpectedValue == null || rightExpectedValue == null) {
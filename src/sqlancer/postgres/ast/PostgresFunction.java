@@ -1,5 +1,6 @@
 package sqlancer.postgres.ast;
 
+import sqlancer.common.ast.ExpectedValueCache;
 import sqlancer.postgres.PostgresSchema.PostgresDataType;
 
 public class PostgresFunction implements PostgresExpression {
@@ -9,6 +10,8 @@ public class PostgresFunction implements PostgresExpression {
     private final PostgresDataType returnType;
     private PostgresFunctionWithResult functionWithKnownResult;
 
+    private final ExpectedValueCache<PostgresConstant> expectedValueCache = new ExpectedValueCache<>();
+
     public PostgresFunction(PostgresFunctionWithResult func, PostgresDataType returnType, PostgresExpression... args) {
         functionWithKnownResult = func;
         this.func = func.getName();
@@ -267,6 +270,10 @@ public class PostgresFunction implements PostgresExpression {
 
     @Override
     public PostgresConstant getExpectedValue() {
+        return expectedValueCache.get(this::computeExpectedValue);
+    }
+
+    private PostgresConstant computeExpectedValue() {
         if (functionWithKnownResult == null) {
             return null;
         }
@@ -2,6 +2,7 @@ package sqlancer.postgres.ast;
 
 import java.util.List;
 
+import sqlancer.common.ast.ExpectedValueCache;
 import sqlancer.postgres.PostgresSchema.PostgresDataType;
 
 public class PostgresInOperation implements PostgresExpression {
@@ -10,6 +11,8 @@ public class PostgresInOperation implements PostgresExpression {
     private final List<PostgresExpression> listElements;
     private final boolean isTrue;
 
+    private final ExpectedValueCache<PostgresConstant> expectedValueCache = new ExpectedValueCache<>();
+
     public PostgresInOperation(PostgresExpression expr, List<PostgresExpression> listElements, boolean isTrue) {
         this.expr = expr;
         this.listElements = listElements;
@@ -26,6 +29,10 @@ public class PostgresInOperation implements PostgresExpression {
 
     @Override
     public PostgresConstant getExpectedValue() {
+        return expectedValueCache.get(this::computeExpectedValue);
+    }
+
+    private PostgresConstant computeExpectedValue() {
         PostgresConstant leftValue = expr.getExpectedValue();
         if (leftValue == null) {
             return null;
@@ -41,8 +48,8 @@ public class PostgresInOperation implements PostgresExpression {
             }
             if (rightExpectedValue.isNull()) {
                 isNull = true;
-            } else if (rightExpectedValue.isEquals(this.expr.getExpectedValue()).isBoolean()
-                    && rightExpectedValue.isEquals(this.expr.getExpectedValue()).asBoolean()) {
+            } else if (rightExpectedValue.isEquals(leftValue).isBoolean()
+                    && rightExpectedValue.isEquals(leftValue).asBoolean()) {
                 return PostgresConstant.createBooleanConstant(isTrue);
             }
         }
@@ -2,10 +2,13 @@ package sqlancer.postgres.ast;
 
 import sqlancer.LikeImplementationHelper;
 import sqlancer.common.ast.BinaryNode;
+import sqlancer.common.ast.ExpectedValueCache;
 import sqlancer.postgres.PostgresSchema.PostgresDataType;
 
 public class PostgresLikeOperation extends BinaryNode<PostgresExpression> implements PostgresExpression {
 
+    private final ExpectedValueCache<PostgresConstant> expectedValueCache = new ExpectedValueCache<>();
+
     public PostgresLikeOperation(PostgresExpression left, PostgresExpression right) {
         super(left, right);
     }
@@ -17,6 +20,10 @@ public class PostgresLikeOperation extends BinaryNode<PostgresExpression> implem
 
     @Override
     public PostgresConstant getExpectedValue() {
+        return expectedValueCache.get(this::computeExpectedValue);
+    }
+
+    private PostgresConstant computeExpectedValue() {
         PostgresConstant leftVal = getLeft().getExpectedValue();
         PostgresConstant rightVal = getRight().getExpectedValue();
         if (leftVal == null || rightVal == null) {
@@ -25,7 +32,7 @@ public class PostgresLikeOperation extends BinaryNode<PostgresExpression> implem
         if (leftVal.isNull() || rightVal.isNull()) {
             return PostgresConstant.createNullConstant();
         } else {
-            boolean val = LikeImplementationHelper.match(leftVal.asString(), rightVal.asString(), 0, 0, true);
+            boolean val = LikeImplementationHelper.match(leftVal.asString(), rightVal.asString(), true);
             return PostgresConstant.createBooleanConstant(val);
         }
     }
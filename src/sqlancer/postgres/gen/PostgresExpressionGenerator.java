@@ -811,6 +811,11 @@ public class PostgresExpressionGenerator implements ExpressionGenerator<Postgres
         return select.asString();
     }
 
+    @Override
+    public RowCountStrategy getRowCountStrategy() {
+        return RowCountStrategy.SERVER_SIDE_COUNT;
+    }
+
     @Override
     public String generateUnoptimizedQueryString(PostgresSelect select, PostgresExpression whereCondition) {
         PostgresCastOperation isTrue = new PostgresCastOperation(whereCondition,
@@ -136,7 +136,7 @@ public final class PostgresIndexGenerator {
         errors.add("result of range difference would not be contiguous");
         errors.add("which is part of the partition key");
         PostgresCommon.addCommonExpressionErrors(errors);
-        return new SQLQueryAdapter(sb.toString(), errors);
+        return new SQLQueryAdapter(sb.toString(), errors, true);
     }
 
     private static String getNewIndexName(PostgresTable randomTable) {
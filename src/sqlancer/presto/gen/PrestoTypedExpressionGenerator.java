@@ -1,7 +1,6 @@
 package sqlancer.presto.gen;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
@@ -9,12 +8,14 @@ import java.util.stream.Collectors;
 
 import sqlancer.Randomly;
 import sqlancer.common.ast.BinaryOperatorNode;
+import sqlancer.common.gen.GenerationGrammar;
 import sqlancer.common.gen.NoRECGenerator;
 import sqlancer.common.gen.TLPWhereGenerator;
 import sqlancer.common.gen.TypedExpressionGenerator;
 import sqlancer.common.schema.AbstractTableColumn;
 import sqlancer.common.schema.AbstractTables;
 import sqlancer.presto.PrestoGlobalState;
+import sqlancer.presto.PrestoOptions;
 import sqlancer.presto.PrestoSchema;
 import sqlancer.presto.PrestoSchema.PrestoColumn;
 import sqlancer.presto.PrestoSchema.PrestoCompositeDataType;
@@ -264,15 +265,7 @@ public final class PrestoTypedExpressionGenerator extends
     }
 
     private PrestoExpression generateBooleanExpression(int depth) {
-        List<BooleanExpression> booleanExpressions = Arrays.stream(BooleanExpression.values())
-                .collect(Collectors.toList());
-        if (!globalState.getDbmsSpecificOptions().testBetween) {
-            booleanExpressions.remove(BooleanExpression.BETWEEN);
-        }
-
-        booleanExpressions.remove(BooleanExpression.REGEX);
-
-        BooleanExpression exprType = Randomly.fromList(booleanExpressions);
+        BooleanExpression exprType = BOOLEAN_GRAMMAR.get(globalState.getDbmsSpecificOptions()).next();
         switch (exprType) {
         case NOT:
             return generateNOT(depth + 1);
@@ -606,9 +599,7 @@ public final class PrestoTypedExpressionGenerator extends
         if (remainingDepth <= 2 || Randomly.getBooleanWithRatherLowProbability()) {
             return new PrestoColumnReference(column);
         }
-        List<Expression> possibleOptions = new ArrayList<>(
-                Arrays.asList(PrestoTypedExpressionGenerator.Expression.values()));
-        PrestoTypedExpressionGenerator.Expression expr = Randomly.fromList(possibleOptions);
+        PrestoTypedExpressionGenerator.Expression expr = EXPRESSION_GRAMMAR.next();
         BinaryOperatorNode.Operator op;
         switch (expr) {
         case BINARY_LOGICAL:
@@ -673,6 +664,12 @@ public final class PrestoTypedExpressionGenerator extends
         NOT, BINARY_COMPARISON, BINARY_LOGICAL, AND_OR_CHAIN, REGEX, IS_NULL, IN, BETWEEN, LIKE, MULTI_VALUED_COMPARISON
     }
 
+    private static final GenerationGrammar.Cache<PrestoOptions, BooleanExpression> BOOLEAN_GRAMMAR //
+            = new GenerationGrammar.Cache<>(options -> GenerationGrammar.builder(BooleanExpression.class) //
+                    .disableIf(!options.testBetween, BooleanExpression.BETWEEN) //
+                    .disable(BooleanExpression.REGEX) //
+                    .build());
+
     public enum PrestoBinaryLogicalOperator implements BinaryOperatorNode.Operator {
 
         AND, OR;
@@ -804,6 +801,9 @@ public final class PrestoTypedExpressionGenerator extends
         BINARY_LOGICAL, BINARY_COMPARISON, BINARY_ARITHMETIC
     }
 
+    private static final GenerationGrammar<Expression> EXPRESSION_GRAMMAR = GenerationGrammar.builder(Expression.class)
+            .build();
+
     @Override
     public PrestoTypedExpressionGenerator setTablesAndColumns(AbstractTables<PrestoTable, PrestoColumn> tables) {
         this.columns = tables.getColumns();
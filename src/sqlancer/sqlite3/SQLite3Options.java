@@ -1,5 +1,6 @@
 package sqlancer.sqlite3;
 
+import java.io.File;
 import java.util.Arrays;
 import java.util.List;
 
@@ -68,6 +69,14 @@ public class SQLite3Options implements DBMSSpecificOptions<SQLite3OracleFactory>
             "--delete-existing-databases" }, description = "Delete a database file if it already exists", arity = 1)
     public boolean deleteIfExists = true;
 
+    @Parameter(names = {
+            "--database-directory" }, description = "The directory of the database files and checkpoints (e.g., a tmpfs mount to avoid disk writes)")
+    public String databaseDirectory = "." + File.separator + "databases";
+
+    @Parameter(names = {
+            "--in-memory" }, description = "Keep each database in memory rather than in a file (checkpoints are still written to the database directory)", arity = 1)
+    public boolean inMemory;
+
     @Parameter(names = {
             "--generate-new-database" }, description = "Specifies whether new databases should be generated", arity = 1)
     public boolean generateDatabase = true;
@@ -110,4 +110,10 @@ public enum SQLite3OracleFactory implements OracleFactory<SQLite3GlobalState> {
         }
     };
 
+    // CODDTest creates and drops tables to compare the folded and the original query
+    @Override
+    public boolean isReadOnly() {
+        return this != CODDTest;
+    }
+
 }
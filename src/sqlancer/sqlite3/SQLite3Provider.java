@@ -3,23 +3,31 @@ package sqlancer.sqlite3;
 import java.io.File;
 import java.io.IOException;
 import java.sql.DriverManager;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import com.google.auto.service.AutoService;
 
 import sqlancer.AbstractAction;
+import sqlancer.CheckpointableDatabaseProvider;
 import sqlancer.DatabaseProvider;
+import sqlancer.DumpableDatabaseProvider;
 import sqlancer.IgnoreMeException;
+import sqlancer.MultiSessionDatabaseProvider;
 import sqlancer.Randomly;
 import sqlancer.SQLConnection;
 import sqlancer.SQLProviderAdapter;
 import sqlancer.StatementExecutor;
 import sqlancer.common.DBMSCommon;
 import sqlancer.common.query.ExpectedErrors;
+import sqlancer.common.query.Query;
 import sqlancer.common.query.SQLQueryAdapter;
 import sqlancer.common.query.SQLQueryProvider;
 import sqlancer.common.query.SQLancerResultSet;
@@ -46,11 +54,24 @@ import sqlancer.sqlite3.gen.dml.SQLite3UpdateGenerator;
 import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Table;
 
 @AutoService(DatabaseProvider.class)
-public class SQLite3Provider extends SQLProviderAdapter<SQLite3GlobalState, SQLite3Options> {
+public class SQLite3Provider extends SQLProviderAdapter<SQLite3GlobalState, SQLite3Options>
+        implements CheckpointableDatabaseProvider<SQLite3GlobalState, SQLConnection>,
+        DumpableDatabaseProvider<SQLite3GlobalState>, MultiSessionDatabaseProvider<SQLite3GlobalState, SQLConnection> {
 
     public static boolean allowFloatingPointFp = true;
     public static boolean mustKnowResult;
 
+    // PRAGMAs of a connection whose values influence query results or the behavior of subsequent statements
+    private static final List<String> CONNECTION_PRAGMAS = Arrays.asList("automatic_index", "cache_size",
+            "cache_spill", "cell_size_check", "defer_foreign_keys", "foreign_keys", "ignore_check_constraints",
+            "legacy_alter_table", "recursive_triggers", "reverse_unordered_selects", "secure_delete");
+
+    // PRAGMAs whose values are stored in the database file
+    private static final List<String> DATABASE_PRAGMAS = Arrays.asList("application_id", "user_version");
+
+    // statements that create TEMP objects, which are only visible to the connection, or start a transaction
+    private static final Pattern SESSION_STATE_STATEMENT = Pattern.compile("^(CREATE\\s+TEMP(ORARY)?\\s|BEGIN\\b)");
+
     // PRAGMAS to achieve good performance
     private static final List<String> DEFAULT_PRAGMAS = Arrays.asList("PRAGMA cache_size = 50000;",
             "PRAGMA temp_store=MEMORY;", "PRAGMA synchronous=off;");
@@ -285,16 +306,258 @@ public class SQLite3Provider extends SQLProviderAdapter<SQLite3GlobalState, SQLi
 
     @Override
     public SQLConnection createDatabase(SQLite3GlobalState globalState) throws SQLException {
-        File dir = new File("." + File.separator + "databases");
+        SQLite3Options options = globalState.getDbmsSpecificOptions();
+        File dataBase = new File(getDatabaseDirectory(globalState), globalState.getDatabaseName() + ".db");
+        if (!options.inMemory && dataBase.exists() && options.deleteIfExists) {
+            dataBase.delete();
+        }
+        return new SQLConnection(DriverManager.getConnection(getDatabaseURL(globalState)));
+    }
+
+    private static File getDatabaseDirectory(SQLite3GlobalState globalState) {
+        File dir = new File(globalState.getDbmsSpecificOptions().databaseDirectory);
         if (!dir.exists()) {
-            dir.mkdir();
+            dir.mkdirs();
         }
-        File dataBase = new File(dir, globalState.getDatabaseName() + ".db");
-        if (dataBase.exists() && ((SQLite3GlobalState) globalState).getDbmsSpecificOptions().deleteIfExists) {
-            dataBase.delete();
+        return dir;
+    }
+
+    private static String getDatabaseURL(SQLite3GlobalState globalState) {
+        if (globalState.getDbmsSpecificOptions().inMemory) {
+            // every connection to :memory: opens a new, private database
+            return "jdbc:sqlite::memory:";
+        }
+        File dataBase = new File(getDatabaseDirectory(globalState), globalState.getDatabaseName() + ".db");
+        return "jdbc:sqlite:" + dataBase.getAbsolutePath();
+    }
+
+    @Override
+    public Checkpoint createCheckpoint(SQLite3GlobalState globalState) throws Exception {
+        File backup = File.createTempFile(globalState.getDatabaseName() + "-checkpoint", ".db",
+                getDatabaseDirectory(globalState));
+        try (Statement s = globalState.getConnection().createStatement()) {
+            s.executeUpdate("backup to " + quotePath(backup));
+        } catch (SQLException e) {
+            backup.delete();
+            throw e;
+        }
+        return new SQLite3Checkpoint(backup);
+    }
+
+    @Override
+    public SQLConnection restoreCheckpoint(SQLite3GlobalState globalState, Checkpoint checkpoint) throws Exception {
+        SQLConnection con = new SQLConnection(DriverManager.getConnection(getDatabaseURL(globalState)));
+        try (Statement s = con.createStatement()) {
+            s.executeUpdate("restore from " + quotePath(((SQLite3Checkpoint) checkpoint).backup));
+        } catch (SQLException e) {
+            con.close();
+            throw e;
+        }
+        return con;
+    }
+
+    @Override
+    public SessionEffect getSessionEffect(Query<SQLConnection> statement) {
+        String sql = statement.getQueryString().trim().toUpperCase(Locale.ROOT);
+        if (sql.startsWith("PRAGMA")) {
+            return SessionEffect.SETTING;
+        } else if (SESSION_STATE_STATEMENT.matcher(sql).find()) {
+            return SessionEffect.SESSION_STATE;
+        } else {
+            return SessionEffect.NONE;
         }
-        String url = "jdbc:sqlite:" + dataBase.getAbsolutePath();
-        return new SQLConnection(DriverManager.getConnection(url));
+    }
+
+    private static String quotePath(File file) {
+        return "\"" + file.getAbsolutePath().replace("\"", "\"\"") + "\"";
+    }
+
+    @Override
+    public List<String> dumpDatabase(SQLite3GlobalState globalState) throws SQLException {
+        try (Statement s = globalState.getConnection().createStatement()) {
+            // the contents of virtual and temporary tables cannot be recreated by plain INSERTs
+            try (ResultSet rs = s.executeQuery(
+                    "SELECT (SELECT COUNT(*) FROM sqlite_temp_master) + (SELECT COUNT(*) FROM sqlite_master WHERE sql LIKE 'CREATE VIRTUAL TABLE%')")) {
+                if (rs.next() && rs.getInt(1) != 0) {
+                    return null;
+                }
+            }
+            List<String> tables = new ArrayList<>();
+            List<String> tableStatements = new ArrayList<>();
+            List<String> otherStatements = new ArrayList<>();
+            try (ResultSet rs = s.executeQuery(
+                    "SELECT type, name, sql FROM sqlite_master WHERE sql IS NOT NULL AND substr(name, 1, 7) <> 'sqlite_' ORDER BY rowid")) {
+                while (rs.next()) {
+                    if (rs.getString(1).equals("table")) {
+                        tables.add(rs.getString(2));
+                        tableStatements.add(rs.getString(3) + ";");
+                    } else {
+                        otherStatements.add(rs.getString(3) + ";");
+                    }
+                }
+            }
+            List<String> dump = new ArrayList<>();
+            // the encoding can only be set before the first table is created
+            try (ResultSet rs = s.executeQuery("PRAGMA encoding")) {
+                if (rs.next()) {
+                    dump.add("PRAGMA encoding = " + quoteLiteral(rs.getString(1)) + ";");
+                }
+            }
+            dump.add("PRAGMA foreign_keys = OFF;");
+            dump.add("PRAGMA ignore_check_constraints = ON;");
+            dump.addAll(tableStatements);
+            for (String table : tables) {
+                dumpRows(s, table, dump);
+            }
+            // indexes, views, and triggers are created after the rows, so that the triggers do not fire
+            dump.addAll(otherStatements);
+            if (tableExists(s, "sqlite_sequence")) {
+                dump.add("DELETE FROM sqlite_sequence;");
+                dumpRows(s, "sqlite_sequence", dump);
+            }
+            if (tableExists(s, "sqlite_stat1")) {
+                // creates sqlite_stat1, and sqlite_stat4 if it is enabled in the build
+                dump.add("ANALYZE sqlite_master;");
+                dump.add("DELETE FROM sqlite_stat1;");
+                dumpRows(s, "sqlite_stat1", dump);
+                if (tableExists(s, "sqlite_stat4")) {
+                    dump.add("DELETE FROM sqlite_stat4;");
+                    dumpRows(s, "sqlite_stat4", dump);
+                }
+            }
+            dumpPragmas(s, CONNECTION_PRAGMAS, dump);
+            dumpPragmas(s, DATABASE_PRAGMAS, dump);
+            dumpCaseSensitiveLike(s, dump);
+            return dump;
+        }
+    }
+
+    private static void dumpPragmas(Statement s, List<String> pragmas, List<String> dump) throws SQLException {
+        for (String pragma : pragmas) {
+            // PRAGMAs that are not supported by the build do not return a result
+            if (s.execute("PRAGMA " + pragma)) {
+                try (ResultSet rs = s.getResultSet()) {
+                    if (rs.next()) {
+                        dump.add(String.format("PRAGMA %s = %s;", pragma, rs.getString(1)));
+                    }
+                }
+            }
+        }
+    }
+
+    // case_sensitive_like cannot be queried, but its effect can
+    private static void dumpCaseSensitiveLike(Statement s, List<String> dump) throws SQLException {
+        try (ResultSet rs = s.executeQuery("SELECT 'a' LIKE 'A'")) {
+            if (rs.next() && rs.getInt(1) == 0) {
+                dump.add("PRAGMA case_sensitive_like = ON;");
+            }
+        }
+    }
+
+    @Override
+    public SQLConnection openSession(SQLite3GlobalState globalState) throws SQLException {
+        if (globalState.getDbmsSpecificOptions().inMemory) {
+            return null;
+        }
+        List<String> settings = new ArrayList<>();
+        try (Statement s = globalState.getConnection().createStatement()) {
+            // a transaction left open by the generated statements hides its changes from other connections, and
+            // the exclusive locking mode keeps the database locked after the first access; in both cases the other
+            // connections cannot test the same database
+            try (ResultSet rs = s.executeQuery("PRAGMA main.locking_mode")) {
+                if (rs.next() && rs.getString(1).equalsIgnoreCase("exclusive")) {
+                    return null;
+                }
+            }
+            try {
+                // accessing the database file also drops a lock kept from an earlier exclusive locking mode
+                s.execute("BEGIN IMMEDIATE");
+            } catch (SQLException e) {
+                return null;
+            }
+            s.execute("COMMIT");
+            dumpPragmas(s, CONNECTION_PRAGMAS, settings);
+            dumpCaseSensitiveLike(s, settings);
+        }
+        SQLConnection con = new SQLConnection(DriverManager.getConnection(getDatabaseURL(globalState)));
+        try (Statement s = con.createStatement()) {
+            for (String setting : settings) {
+                s.execute(setting);
+            }
+        } catch (SQLException e) {
+            con.close();
+            throw e;
+        }
+        return con;
+    }
+
+    private static boolean tableExists(Statement s, String table) throws SQLException {
+        try (ResultSet rs = s.executeQuery(
+                "SELECT COUNT(*) FROM sqlite_master WHERE type = 'table' AND name = " + quoteLiteral(table))) {
+            return rs.next() && rs.getInt(1) != 0;
+        }
+    }
+
+    private static void dumpRows(Statement s, String table, List<String> dump) throws SQLException {
+        boolean withoutRowid;
+        try (ResultSet rs = s.executeQuery("SELECT wr FROM pragma_table_list WHERE schema = 'main' AND name = "
+                + quoteLiteral(table))) {
+            withoutRowid = rs.next() && rs.getBoolean(1);
+        }
+        List<String> columns = new ArrayList<>();
+        boolean hasRowidAlias = false;
+        int nrPrimaryKeyColumns = 0;
+        try (ResultSet rs = s.executeQuery(
+                "SELECT name, type, pk, hidden FROM pragma_table_xinfo(" + quoteLiteral(table) + ")")) {
+            while (rs.next()) {
+                int hidden = rs.getInt(4);
+                if (hidden == 2 || hidden == 3) {
+                    // generated columns cannot be inserted into
+                    continue;
+                }
+                columns.add(quoteIdentifier(rs.getString(1)));
+                if (rs.getInt(3) != 0) {
+                    nrPrimaryKeyColumns++;
+                    hasRowidAlias = rs.getString(2).equalsIgnoreCase("INTEGER");
+                }
+            }
+        }
+        if (!withoutRowid && !(hasRowidAlias && nrPrimaryKeyColumns == 1)) {
+            // the rowids are observable, for example, by the order of rows without an ORDER BY
+            columns.add("rowid");
+        }
+        String values = columns.stream().map(c -> String.format(
+                "CASE WHEN typeof(%1$s) = 'real' AND abs(%1$s) <= 1.7976931348623157e308 THEN printf('%%!.17g', %1$s) ELSE quote(%1$s) END",
+                c)).collect(Collectors.joining(" || ', ' || "));
+        String prefix = "INSERT INTO " + quoteIdentifier(table) + "(" + String.join(", ", columns) + ") VALUES (";
+        try (ResultSet rs = s.executeQuery("SELECT " + values + " FROM " + quoteIdentifier(table))) {
+            while (rs.next()) {
+                dump.add(prefix + rs.getString(1) + ");");
+            }
+        }
+    }
+
+    private static String quoteIdentifier(String name) {
+        return "\"" + name.replace("\"", "\"\"") + "\"";
+    }
+
+    private static String quoteLiteral(String s) {
+        return "'" + s.replace("'", "''") + "'";
+    }
+
+    private static final class SQLite3Checkpoint implements Checkpoint {
+
+        private final File backup;
+
+        SQLite3Checkpoint(File backup) {
+            this.backup = backup;
+        }
+
+        @Override
+        public void close() {
+            backup.delete();
+        }
+
     }
 
     @Override
@@ -7,6 +7,7 @@ import java.util.Optional;
 import sqlancer.IgnoreMeException;
 import sqlancer.LikeImplementationHelper;
 import sqlancer.Randomly;
+import sqlancer.common.ast.ExpectedValueCache;
 import sqlancer.common.ast.newast.Expression;
 import sqlancer.common.visitor.BinaryOperation;
 import sqlancer.common.visitor.UnaryOperation;
@@ -22,6 +23,8 @@ import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Table;
 
 public abstract class SQLite3Expression implements Expression<SQLite3Column> {
 
+    private final ExpectedValueCache<SQLite3Constant> expectedValueCache = new ExpectedValueCache<>();
+
     public static class SQLite3TableReference extends SQLite3Expression {
 
         private final String indexedBy;
@@ -66,7 +69,7 @@ public abstract class SQLite3Expression implements Expression<SQLite3Column> {
         }
 
         @Override
-        public SQLite3Constant getExpectedValue() {
+        protected SQLite3Constant computeExpectedValue() {
             return expr.getExpectedValue();
         }
 
@@ -82,7 +85,17 @@ public abstract class SQLite3Expression implements Expression<SQLite3Column> {
 
     }
 
+    /**
+     * Returns the value that the expression yields for the pivot row, or <code>null</code> if it is unknown. The value
+     * is computed only once per node.
+     *
+     * @return the expected value
+     */
     public SQLite3Constant getExpectedValue() {
+        return expectedValueCache.get(this::computeExpectedValue);
+    }
+
+    protected SQLite3Constant computeExpectedValue() {
         return null;
     }
 
@@ -290,7 +303,7 @@ public abstract class SQLite3Expression implements Expression<SQLite3Column> {
         }
 
         @Override
-        public SQLite3Constant getExpectedValue() {
+        protected SQLite3Constant computeExpectedValue() {
             if (expression.getExpectedValue() == null) {
                 return null;
             } else {
@@ -379,7 +392,7 @@ public abstract class SQLite3Expression implements Expression<SQLite3Column> {
         }
 
         @Override
-        public SQLite3Constant getExpectedValue() {
+        protected SQLite3Constant computeExpectedValue() {
             return getTopNode().getExpectedValue();
         }
 
@@ -488,7 +501,7 @@ public abstract class SQLite3Expression implements Expression<SQLite3Column> {
         }
 
         @Override
-        public SQLite3Constant getExpectedValue() {
+        protected SQLite3Constant computeExpectedValue() {
             return expression.getExpectedValue();
         }
 
@@ -600,7 +613,7 @@ public abstract class SQLite3Expression implements Expression<SQLite3Column> {
         }
 
         @Override
-        public SQLite3Constant getExpectedValue() {
+        protected SQLite3Constant computeExpectedValue() {
             if (expression.getExpectedValue() == null) {
                 return null;
             }
@@ -664,7 +677,7 @@ public abstract class SQLite3Expression implements Expression<SQLite3Column> {
         }
 
         @Override
-        public SQLite3Constant getExpectedValue() {
+        protected SQLite3Constant computeExpectedValue() {
             // TODO query as right hand side is not implemented
             if (left.getExpectedValue() == null) {
                 return null;
@@ -759,7 +772,7 @@ public abstract class SQLite3Expression implements Expression<SQLite3Column> {
         }
 
         @Override
-        public SQLite3Constant getExpectedValue() {
+        protected SQLite3Constant computeExpectedValue() {
             SQLite3Constant leftExpected = left.getExpectedValue();
             SQLite3Constant rightExpected = right.getExpectedValue();
             if (leftExpected == null || rightExpected == null) {
@@ -919,7 +932,7 @@ public abstract class SQLite3Expression implements Expression<SQLite3Column> {
                     if (leftStr == null || rightStr == null) {
                         return null;
                     }
-                    boolean val = LikeImplementationHelper.match(leftStr.asString(), rightStr.asString(), 0, 0, false);
+                    boolean val = LikeImplementationHelper.match(leftStr.asString(), rightStr.asString(), false);
                     return SQLite3Constant.createBoolean(val);
                 }
 
@@ -1357,7 +1370,7 @@ public abstract class SQLite3Expression implements Expression<SQLite3Column> {
         }
 
         @Override
-        public SQLite3Constant getExpectedValue() {
+        protected SQLite3Constant computeExpectedValue() {
             if (left.getExpectedValue() == null || right.getExpectedValue() == null) {
                 return null;
             }
@@ -780,6 +780,11 @@ public class SQLite3ExpressionGenerator implements ExpressionGenerator<SQLite3Ex
         return select.asString();
     }
 
+    @Override
+    public RowCountStrategy getRowCountStrategy() {
+        return RowCountStrategy.SERVER_SIDE_COUNT;
+    }
+
     @Override
     public String generateUnoptimizedQueryString(SQLite3Select select, SQLite3Expression whereCondition) {
         SQLite3PostfixUnaryOperation isTrue = new SQLite3PostfixUnaryOperation(PostfixUnaryOperator.IS_TRUE,
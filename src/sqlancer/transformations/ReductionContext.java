@@ -0,0 +1,112 @@
+package sqlancer.transformations;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import sqlancer.common.Fingerprint;
+
+/**
+ * The state of a single AST-based reduction, which is shared by its transformations. It decides whether the current
+ * candidate still triggers the bug, counts the reduction steps, and remembers the outcome of every candidate that has
+ * been tested, so that a candidate that occurs again (e.g., after {@link Transformation#tryRemoveElms} restores an
+ * element) is not replayed. Candidates are identified by a 64-bit fingerprint of their statements; two different
+ * candidates have the same fingerprint only with negligible probability.
+ */
+public class ReductionContext {
+
+    private final Supplier<List<String>> candidate;
+    private final Supplier<Boolean> bugJudgement;
+    private final Map<Long, Outcome> outcomes = new HashMap<>();
+    private final Map<String, Statistics> statistics = new LinkedHashMap<>();
+    private long reduceSteps;
+
+    private static final class Outcome {
+        private final boolean bugTriggered;
+        private final long nanos;
+
+        Outcome(boolean bugTriggered, long nanos) {
+            this.bugTriggered = bugTriggered;
+            this.nanos = nanos;
+        }
+    }
+
+    /**
+     * The number of candidates that a transformation tested, how many of them were answered from the cache, and how
+     * much time replaying these would have taken.
+     */
+    public static final class Statistics {
+        private long nrAttempts;
+        private long nrHits;
+        private long savedNanos;
+
+        public long getNrAttempts() {
+            return nrAttempts;
+        }
+
+        public long getNrHits() {
+            return nrHits;
+        }
+
+        public long getSavedNanos() {
+            return savedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("attempts: %d, hits: %d, saved: %d ms", nrAttempts, nrHits, savedNanos / 1_000_000);
+        }
+    }
+
+    /**
+     * @param candidate
+     *            supplies the statements of the current candidate
+     * @param bugJudgement
+     *            checks whether the current candidate still triggers the bug
+     */
+    public ReductionContext(Supplier<List<String>> candidate, Supplier<Boolean> bugJudgement) {
+        this.candidate = candidate;
+        this.bugJudgement = bugJudgement;
+    }
+
+    boolean bugStillTriggers(Transformation t) {
+        Statistics stats = statistics.computeIfAbsent(t.toString(), k -> new Statistics());
+        stats.nrAttempts++;
+        long key = Fingerprint.of(candidate.get());
+        Outcome outcome = outcomes.get(key);
+        if (outcome != null) {
+            stats.nrHits++;
+            stats.savedNanos += outcome.nanos;
+            return outcome.bugTriggered;
+        }
+        long start = System.nanoTime();
+        boolean bugTriggered;
+        try {
+            bugTriggered = bugJudgement.get();
+        } catch (Exception ignored) {
+            bugTriggered = false;
+        }
+        outcomes.put(key, new Outcome(bugTriggered, System.nanoTime() - start));
+        return bugTriggered;
+    }
+
+    void incrementReduceSteps() {
+        reduceSteps++;
+    }
+
+    public long getReduceSteps() {
+        return reduceSteps;
+    }
+
+    /**
+     * Returns the statistics of each transformation that tested a candidate, in the order of their first attempt.
+     *
+     * @return a map from the description of the transformation to its statistics
+     */
+    public Map<String, Statistics> getStatistics() {
+        return statistics;
+    }
+
+}
@@ -4,15 +4,13 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
-import java.util.function.Supplier;
 
 /**
  * The base class of transformations. Defines APIs to remove, replace, remove elements of a list.
  */
 public class Transformation {
 
-    private static Supplier<Boolean> bugJudgement;
-    private static long reduceSteps;
+    private ReductionContext context;
 
     protected boolean isChanged;
     protected String current;
@@ -28,8 +26,8 @@ public class Transformation {
     protected Transformation() {
     }
 
-    public static void setBugJudgement(Supplier<Boolean> judgement) {
-        bugJudgement = judgement;
+    public void setReductionContext(ReductionContext context) {
+        this.context = context;
     }
 
     @Override
@@ -50,7 +48,7 @@ public class Transformation {
             onStatementChanged();
             return false;
         }
-        reduceSteps++;
+        context.incrementReduceSteps();
         isChanged = true;
         return true;
     }
@@ -63,7 +61,7 @@ public class Transformation {
             onStatementChanged();
             return false;
         }
-        reduceSteps++;
+        context.incrementReduceSteps();
         isChanged = true;
         return true;
     }
@@ -86,18 +84,14 @@ public class Transformation {
             }
             isChanged |= observeChange;
             setter.accept(parent, elms);
-            reduceSteps++;
+            context.incrementReduceSteps();
             onStatementChanged();
         } while (observeChange);
 
     }
 
     public boolean bugStillTriggers() {
-        try {
-            return Transformation.bugJudgement.get();
-        } catch (Exception ignored) {
-        }
-        return false;
+        return context.bugStillTriggers(this);
     }
 
     public void apply() {
@@ -108,10 +102,6 @@ public class Transformation {
         return isChanged;
     }
 
-    public static long getReduceSteps() {
-        return reduceSteps;
-    }
-
     protected void onStatementChanged() {
     }
 
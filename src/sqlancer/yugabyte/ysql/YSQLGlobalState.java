@@ -1,11 +1,7 @@
 package sqlancer.yugabyte.ysql;
 
-import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -13,95 +9,64 @@ import java.util.Map;
 import sqlancer.Randomly;
 import sqlancer.SQLConnection;
 import sqlancer.SQLGlobalState;
+import sqlancer.common.CatalogCache;
+import sqlancer.postgres.PostgresBuiltinCatalog;
 
 public class YSQLGlobalState extends SQLGlobalState<YSQLOptions, YSQLSchema> {
 
     public static final char IMMUTABLE = 'i';
     public static final char STABLE = 's';
     public static final char VOLATILE = 'v';
+
+    private static final CatalogCache<PostgresBuiltinCatalog> CATALOG_CACHE = PostgresBuiltinCatalog
+            .createCache(false, true);
+
     // store and allow filtering by function volatility classifications
     private final Map<String, Character> functionsAndTypes = new HashMap<>();
-    private List<String> operators = Collections.emptyList();
-    private List<String> collates = Collections.emptyList();
-    private List<String> opClasses = Collections.emptyList();
     private List<Character> allowedFunctionTypes = Arrays.asList(IMMUTABLE, STABLE, VOLATILE);
+    private PostgresBuiltinCatalog catalog = PostgresBuiltinCatalog.EMPTY;
 
     @Override
     public void setConnection(SQLConnection con) {
         super.setConnection(con);
         try {
-            this.opClasses = getOpclasses(getConnection());
-            this.operators = getOperators(getConnection());
-            this.collates = getCollnames(getConnection());
+            this.catalog = CATALOG_CACHE.get(getConnection());
         } catch (SQLException e) {
             throw new AssertionError(e);
         }
     }
 
+    public PostgresBuiltinCatalog getCatalog() {
+        return catalog;
+    }
+
     @Override
     public YSQLSchema readSchema() throws SQLException {
         return YSQLSchema.fromConnection(getConnection(), getDatabaseName());
     }
 
-    private List<String> getCollnames(SQLConnection con) throws SQLException {
-        List<String> opClasses = new ArrayList<>();
-        try (Statement s = con.createStatement()) {
-            try (ResultSet rs = s
-                    .executeQuery("SELECT collname FROM pg_collation WHERE collname LIKE '%utf8' or collname = 'C';")) {
-                while (rs.next()) {
-                    opClasses.add(rs.getString(1));
-                }
-            }
-        }
-        return opClasses;
-    }
-
-    private List<String> getOpclasses(SQLConnection con) throws SQLException {
-        List<String> opClasses = new ArrayList<>();
-        try (Statement s = con.createStatement()) {
-            try (ResultSet rs = s.executeQuery("select opcname FROM pg_opclass;")) {
-                while (rs.next()) {
-                    opClasses.add(rs.getString(1));
-                }
-            }
-        }
-        return opClasses;
-    }
-
-    private List<String> getOperators(SQLConnection con) throws SQLException {
-        List<String> opClasses = new ArrayList<>();
-        try (Statement s = con.createStatement()) {
-            try (ResultSet rs = s.executeQuery("SELECT oprname FROM pg_operator;")) {
-                while (rs.next()) {
-                    opClasses.add(rs.getString(1));
-                }
-            }
-        }
-        return opClasses;
-    }
-
     public List<String> getOperators() {
-        return operators;
+        return catalog.getOperators();
     }
 
     public String getRandomOperator() {
-        return Randomly.fromList(operators);
+        return Randomly.fromList(catalog.getOperators());
     }
 
     public List<String> getCollates() {
-        return collates;
+        return catalog.getCollates();
     }
 
     public String getRandomCollate() {
-        return Randomly.fromList(collates);
+        return Randomly.fromList(catalog.getCollates());
     }
 
     public List<String> getOpClasses() {
-        return opClasses;
+        return catalog.getOpClasses();
     }
 
     public String getRandomOpclass() {
-        return Randomly.fromList(opClasses);
+        return Randomly.fromList(catalog.getOpClasses());
     }
 
     public void addFunctionAndType(String functionName, Character functionType) {
@@ -22,6 +22,10 @@ import sqlancer.common.schema.AbstractSchema;
 import sqlancer.common.schema.AbstractTableColumn;
 import sqlancer.common.schema.AbstractTables;
 import sqlancer.common.schema.TableIndex;
+import sqlancer.postgres.PostgresCatalogLoader;
+import sqlancer.postgres.PostgresCatalogLoader.Catalog;
+import sqlancer.postgres.PostgresCatalogLoader.CatalogColumn;
+import sqlancer.postgres.PostgresCatalogLoader.CatalogTable;
 import sqlancer.yugabyte.ysql.YSQLSchema.YSQLTable;
 import sqlancer.yugabyte.ysql.ast.YSQLConstant;
 
@@ -72,30 +76,37 @@ public class YSQLSchema extends AbstractSchema<YSQLGlobalState, YSQLTable> {
     public static YSQLSchema fromConnection(SQLConnection con, String databaseName) throws SQLException {
         try {
             List<YSQLTable> databaseTables = new ArrayList<>();
-            try (Statement s = con.createStatement()) {
-                try (ResultSet rs = s.executeQuery(
-                        "SELECT table_name, table_schema, table_type, is_insertable_into FROM information_schema.tables WHERE table_schema='public' OR table_schema LIKE 'pg_temp_%' ORDER BY table_name;")) {
-                    while (rs.next()) {
-                        String tableName = rs.getString("table_name");
-                        String tableTypeSchema = rs.getString("table_schema");
-                        boolean isInsertable = rs.getBoolean("is_insertable_into");
-                        // TODO: also check insertable
-                        // TODO: insert into view?
-                        boolean isView = tableName.startsWith("v"); // tableTypeStr.contains("VIEW") ||
-                        // tableTypeStr.contains("LOCAL TEMPORARY") &&
-                        // !isInsertable;
-                        YSQLTable.TableType tableType = getTableType(tableTypeSchema);
-                        List<YSQLColumn> databaseColumns = getTableColumns(con, tableName);
-                        List<YSQLIndex> indexes = getIndexes(con, tableName);
-                        List<YSQLStatisticsObject> statistics = getStatistics(con);
-                        YSQLTable t = new YSQLTable(tableName, databaseColumns, indexes, tableType, statistics, isView,
-                                isInsertable);
-                        for (YSQLColumn c : databaseColumns) {
-                            c.setTable(t);
-                        }
-                        databaseTables.add(t);
+            Catalog catalog = PostgresCatalogLoader.POSTGRES.load(con);
+            for (CatalogTable catalogTable : catalog.getTables()) {
+                String tableName = catalogTable.getName();
+                boolean isInsertable = catalogTable.isInsertable();
+                // TODO: also check insertable
+                // TODO: insert into view?
+                boolean isView = tableName.startsWith("v"); // tableTypeStr.contains("VIEW") ||
+                // tableTypeStr.contains("LOCAL TEMPORARY") &&
+                // !isInsertable;
+                YSQLTable.TableType tableType = getTableType(catalogTable.getSchemaName());
+                List<YSQLColumn> databaseColumns = new ArrayList<>();
+                for (CatalogColumn catalogColumn : catalogTable.getColumns()) {
+                    databaseColumns
+                            .add(new YSQLColumn(catalogColumn.getName(), getColumnType(catalogColumn.getDataType())));
+                }
+                List<YSQLIndex> indexes = new ArrayList<>();
+                for (String indexName : catalogTable.getIndexNames()) {
+                    if (DBMSCommon.matchesIndexName(indexName)) {
+                        indexes.add(YSQLIndex.create(indexName));
                     }
                 }
+                List<YSQLStatisticsObject> statistics = new ArrayList<>();
+                for (String statisticsName : catalog.getStatisticsNames()) {
+                    statistics.add(new YSQLStatisticsObject(statisticsName));
+                }
+                YSQLTable t = new YSQLTable(tableName, databaseColumns, indexes, tableType, statistics, isView,
+                        isInsertable);
+                for (YSQLColumn c : databaseColumns) {
+                    c.setTable(t);
+                }
+                databaseTables.add(t);
             }
             return new YSQLSchema(databaseTables, databaseName);
         } catch (SQLIntegrityConstraintViolationException e) {
@@ -103,18 +114,6 @@ public class YSQLSchema extends AbstractSchema<YSQLGlobalState, YSQLTable> {
         }
     }
 
-    protected static List<YSQLStatisticsObject> getStatistics(SQLConnection con) throws SQLException {
-        List<YSQLStatisticsObject> statistics = new ArrayList<>();
-        try (Statement s = con.createStatement()) {
-            try (ResultSet rs = s.executeQuery("SELECT stxname FROM pg_statistic_ext ORDER BY stxname;")) {
-                while (rs.next()) {
-                    statistics.add(new YSQLStatisticsObject(rs.getString("stxname")));
-                }
-            }
-        }
-        return statistics;
-    }
-
     protected static YSQLTable.TableType getTableType(String tableTypeStr) throws AssertionError {
         YSQLTable.TableType tableType;
         if (tableTypeStr.contentEquals("public")) {
@@ -127,39 +126,6 @@ public class YSQLSchema extends AbstractSchema<YSQLGlobalState, YSQLTable> {
         return tableType;
     }
 
-    protected static List<YSQLIndex> getIndexes(SQLConnection con, String tableName) throws SQLException {
-        List<YSQLIndex> indexes = new ArrayList<>();
-        try (Statement s = con.createStatement()) {
-            try (ResultSet rs = s.executeQuery(String
-                    .format("SELECT indexname FROM pg_indexes WHERE tablename='%s' ORDER BY indexname;", tableName))) {
-                while (rs.next()) {
-                    String indexName = rs.getString("indexname");
-                    if (DBMSCommon.matchesIndexName(indexName)) {
-                        indexes.add(YSQLIndex.create(indexName));
-                    }
-                }
-            }
-        }
-        return indexes;
-    }
-
-    protected static List<YSQLColumn> getTableColumns(SQLConnection con, String tableName) throws SQLException {
-        List<YSQLColumn> columns = new ArrayList<>();
-        try (Statement s = con.createStatement()) {
-            try (ResultSet rs = s
-                    .executeQuery("select column_name, data_type from INFORMATION_SCHEMA.COLUMNS where table_name = '"
-                            + tableName + "' ORDER BY column_name")) {
-                while (rs.next()) {
-                    String columnName = rs.getString("column_name");
-                    String dataType = rs.getString("data_type");
-                    YSQLColumn c = new YSQLColumn(columnName, getColumnType(dataType));
-                    columns.add(c);
-                }
-            }
-        }
-        return columns;
-    }
-
     public boolean getDatabaseIsColocated(SQLConnection con) {
         try (Statement s = con.createStatement(); ResultSet rs = s.executeQuery("SELECT yb_is_database_colocated();")) {
             rs.next();
@@ -668,6 +668,11 @@ public class YSQLExpressionGenerator implements ExpressionGenerator<YSQLExpressi
         return select.asString();
     }
 
+    @Override
+    public RowCountStrategy getRowCountStrategy() {
+        return RowCountStrategy.SERVER_SIDE_COUNT;
+    }
+
     @Override
     public String generateUnoptimizedQueryString(YSQLSelect select, YSQLExpression whereCondition) {
         YSQLCastOperation isTrue = new YSQLCastOperation(whereCondition, YSQLCompoundDataType.create(YSQLDataType.INT));
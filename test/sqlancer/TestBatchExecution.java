@@ -0,0 +1,106 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.beust.jcommander.JCommander;
+
+import sqlancer.common.metrics.LatencyMetrics;
+import sqlancer.common.query.Query;
+import sqlancer.common.query.SQLQueryAdapter;
+import sqlancer.sqlite3.SQLite3GlobalState;
+import sqlancer.sqlite3.SQLite3Options;
+import sqlancer.sqlite3.SQLite3Provider;
+
+public class TestBatchExecution {
+
+    private static final String DATABASE_NAME = "batch-execution";
+
+    @Test
+    public void testCountsThatEndAtTheFailingQuery() throws Exception {
+        SQLite3GlobalState state = createGlobalState(new BatchUpdateException(new int[] { 1 }));
+        assertArrayEquals(new boolean[] { true, false, false }, state.executeBatch(createInserts(3)));
+        assertEquals(1, state.getState().getStatements().size());
+    }
+
+    @Test
+    public void testCountsThatMarkTheFailingQueries() throws Exception {
+        SQLite3GlobalState state = createGlobalState(
+                new BatchUpdateException(new int[] { 1, Statement.EXECUTE_FAILED, Statement.SUCCESS_NO_INFO }));
+        LatencyMetrics.reset();
+        assertArrayEquals(new boolean[] { true, false, true }, state.executeBatch(createInserts(3)));
+        assertEquals(2, state.getState().getStatements().size());
+        String metrics = LatencyMetrics.toPrometheusText();
+        assertTrue(metrics.contains("kind=\"BATCH\",outcome=\"expected_error\""), metrics);
+        LatencyMetrics.reset();
+    }
+
+    @Test
+    public void testBatchUpdateExceptionWithoutCounts() throws Exception {
+        SQLite3GlobalState state = createGlobalState(new BatchUpdateException());
+        assertThrows(IgnoreMeException.class, () -> state.executeBatch(createInserts(3)));
+    }
+
+    @Test
+    public void testFailedBatchIsLoggedAndDiscardsTheDatabase() throws Exception {
+        SQLite3GlobalState state = createGlobalState(new SQLException("connection reset"));
+        List<Query<SQLConnection>> inserts = createInserts(3);
+        assertThrows(IgnoreMeException.class, () -> state.executeBatch(inserts));
+        assertEquals(0, state.getState().getStatements().size());
+        String currentLog = new String(Files.readAllBytes(
+                new File(new File(Main.LOG_DIRECTORY, "sqlite3"), DATABASE_NAME + "-cur.log").toPath()),
+                StandardCharsets.UTF_8);
+        for (Query<SQLConnection> insert : inserts) {
+            assertTrue(currentLog.contains(insert.getQueryString()), currentLog);
+        }
+    }
+
+    private static List<Query<SQLConnection>> createInserts(int nrInserts) {
+        List<Query<SQLConnection>> inserts = new ArrayList<>();
+        for (int i = 0; i < nrInserts; i++) {
+            inserts.add(new SQLQueryAdapter("INSERT INTO t0 VALUES (" + i + ");"));
+        }
+        return inserts;
+    }
+
+    // the connection fails every batch with the given exception
+    private static SQLite3GlobalState createGlobalState(SQLException batchException) {
+        MainOptions options = new MainOptions();
+        JCommander.newBuilder().addObject(options).build().parse("--log-execution-time", "false");
+        SQLite3Provider provider = new SQLite3Provider();
+        SQLite3GlobalState state = new SQLite3GlobalState();
+        state.setMainOptions(options);
+        state.setDbmsSpecificOptions(new SQLite3Options());
+        state.setDatabaseName(DATABASE_NAME);
+        state.setState(provider.getStateToReproduce(DATABASE_NAME));
+        state.setStateLogger(new Main.StateLogger(DATABASE_NAME, provider, options));
+        state.setManager(new Main.QueryManager<>(state, null));
+        Statement statement = (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(),
+                new Class<?>[] { Statement.class }, (proxy, method, args) -> {
+                    if (method.getName().equals("executeBatch")) {
+                        throw batchException;
+                    }
+                    return null;
+                });
+        Connection connection = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, (proxy, method, args) -> statement);
+        state.setConnection(new SQLConnection(connection));
+        return state;
+    }
+
+}
@@ -0,0 +1,59 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import sqlancer.common.log.BinaryStatementLog;
+
+public class TestBinaryStatementLog {
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        List<String> statements = new ArrayList<>();
+        statements.add("CREATE TABLE t0(c0 INT, c1 TEXT);");
+        for (int i = 0; i < 1000; i++) {
+            statements.add("INSERT INTO t0(c0, c1) VALUES (" + i + ", '\u00e4" + i + "');");
+        }
+        statements.add("SELECT * FROM t0 WHERE " + "c0 > 1 AND ".repeat(5000) + "TRUE;");
+        statements.add("");
+        File file = File.createTempFile("statements", ".bin");
+        try {
+            try (BinaryStatementLog log = new BinaryStatementLog(file)) {
+                for (String s : statements) {
+                    log.append(s);
+                }
+            }
+            List<String> read = new ArrayList<>();
+            BinaryStatementLog.forEachStatement(file, read::add);
+            assertEquals(statements, read);
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testTruncatedLastRecord() throws Exception {
+        File file = File.createTempFile("statements", ".bin");
+        try {
+            try (BinaryStatementLog log = new BinaryStatementLog(file)) {
+                log.append("CREATE TABLE t0(c0 INT);");
+                log.append("INSERT INTO t0(c0) VALUES (1);");
+            }
+            try (RandomAccessFile f = new RandomAccessFile(file, "rw")) {
+                f.setLength(f.length() - 2);
+            }
+            List<String> read = new ArrayList<>();
+            BinaryStatementLog.forEachStatement(file, read::add);
+            assertEquals(List.of("CREATE TABLE t0(c0 INT);"), read);
+        } finally {
+            file.delete();
+        }
+    }
+
+}
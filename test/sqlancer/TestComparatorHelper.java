@@ -1,6 +1,9 @@
 package sqlancer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.sql.SQLException;
 import java.util.Arrays;
@@ -69,4 +72,59 @@ public class TestComparatorHelper {
         });
     }
 
+    @Test
+    public void testRemoveTrailingZeros() {
+        for (String value : Arrays.asList("", "0", "1.0", "1.00", "1.50", "10", "100.", ".0", "a.0\n", "1.0\r\n",
+                "1.0\n\n", "0.000", "1e10", "-0.0")) {
+            assertEquals(value.replaceAll("[\\.]0+$", ""), ComparatorHelper.removeTrailingZeros(value), value);
+        }
+    }
+
+    @Test
+    public void testFingerprintsCompareValueSets() {
+        ResultSetFingerprint r1 = fingerprintOf("a", "b", null, "a");
+        ResultSetFingerprint r2 = fingerprintOf("b", "a", "b", null);
+        assertEquals(4, r1.getNrRows());
+        assertTrue(r1.hasSameValues(r2));
+        assertTrue(r2.hasSameValues(r1));
+        assertFalse(r1.hasSameValues(fingerprintOf("a", "b", "c", "a")));
+        assertFalse(r1.hasSameValues(fingerprintOf("a", "b", "null", "a")));
+    }
+
+    @Test
+    public void testFingerprintsWithManyValues() {
+        ResultSetFingerprint r1 = new ResultSetFingerprint();
+        ResultSetFingerprint r2 = new ResultSetFingerprint();
+        for (int i = 0; i < 10000; i++) {
+            r1.add(String.valueOf(i));
+            r2.add(String.valueOf(9999 - i));
+        }
+        assertTrue(r1.hasSameValues(r2));
+        r2.add("10000");
+        assertFalse(r1.hasSameValues(r2));
+    }
+
+    @Test
+    public void testAssumeResultSetsAreEqualWithEqualFingerprints() {
+        ComparatorHelper.assumeResultSetsAreEqual(fingerprintOf("a", "b", "c"), fingerprintOf("c", "b", "a"), "",
+                Arrays.asList(""), state);
+    }
+
+    @Test
+    public void testAssumeResultSetsAreEqualWithUnequalLengthFingerprints() {
+        // see testAssumeResultSetsAreEqualWithUnequalLengthSets for the NullPointerException
+        assertThrowsExactly(NullPointerException.class, () -> {
+            ComparatorHelper.assumeResultSetsAreEqual(fingerprintOf("a", "b"), fingerprintOf("a", "b", "c"), "",
+                    Arrays.asList(""), state);
+        });
+    }
+
+    private static ResultSetFingerprint fingerprintOf(String... values) {
+        ResultSetFingerprint fingerprint = new ResultSetFingerprint();
+        for (String value : values) {
+            fingerprint.add(value);
+        }
+        return fingerprint;
+    }
+
 }
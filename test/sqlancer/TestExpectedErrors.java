@@ -1,8 +1,11 @@
 package sqlancer;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 import java.util.regex.Pattern;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -156,4 +159,66 @@ public class TestExpectedErrors {
         assertTrue(errors.errorIsExpected("c"));
         assertFalse(errors.errorIsExpected("aa"));
     }
+
+    @Test
+    public void testOverlappingStrings() {
+        ExpectedErrors errors = ExpectedErrors.from("abcd", "bce", "cdx");
+        assertTrue(errors.errorIsExpected("xabce"));
+        assertTrue(errors.errorIsExpected("abcdx"));
+        assertTrue(errors.errorIsExpected("abcabcd"));
+        assertFalse(errors.errorIsExpected("abcbc"));
+    }
+
+    @Test
+    public void testEmptyString() {
+        ExpectedErrors errors = ExpectedErrors.from("");
+        assertTrue(errors.errorIsExpected(""));
+        assertTrue(errors.errorIsExpected("a"));
+    }
+
+    @Test
+    public void testModifiedAfterMatching() {
+        ExpectedErrors errors = ExpectedErrors.from("a");
+        assertFalse(errors.errorIsExpected("b"));
+        errors.add("b");
+        assertTrue(errors.errorIsExpected("b"));
+        errors.addRegexString("c+d");
+        assertTrue(errors.errorIsExpected("ccd"));
+    }
+
+    @Test
+    public void testRegexFlags() {
+        ExpectedErrors errors = new ExpectedErrors();
+        errors.addRegex(Pattern.compile("abc", Pattern.CASE_INSENSITIVE));
+        errors.addRegexString("x\\d");
+        errors.addRegexString("(y)\\1");
+        assertTrue(errors.errorIsExpected("ABC"));
+        assertTrue(errors.errorIsExpected("x1"));
+        assertTrue(errors.errorIsExpected("yy"));
+        assertFalse(errors.errorIsExpected("X1"));
+        assertFalse(errors.errorIsExpected("y"));
+    }
+
+    @Test
+    public void testStringsRandomized() {
+        Random r = new Random(0);
+        for (int i = 0; i < 10000; i++) {
+            List<String> substrings = new ArrayList<>();
+            for (int j = 0; j < r.nextInt(5); j++) {
+                substrings.add(randomString(r, 1 + r.nextInt(4)));
+            }
+            ExpectedErrors errors = ExpectedErrors.newErrors().with(substrings).build();
+            String error = randomString(r, r.nextInt(10));
+            boolean expected = substrings.stream().anyMatch(error::contains);
+            assertEquals(expected, errors.errorIsExpected(error), error + " " + substrings);
+        }
+    }
+
+    private static String randomString(Random r, int length) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            sb.append((char) ('a' + r.nextInt(3)));
+        }
+        return sb.toString();
+    }
 }
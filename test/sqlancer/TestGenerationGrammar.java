@@ -0,0 +1,70 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import sqlancer.common.gen.GenerationGrammar;
+
+public class TestGenerationGrammar {
+
+    private static final int NR_SAMPLES = 100000;
+
+    private enum Kind {
+        A, B, C, D
+    }
+
+    private static Map<Kind, Integer> sample(GenerationGrammar<Kind> grammar) {
+        Map<Kind, Integer> counts = new EnumMap<>(Kind.class);
+        for (Kind kind : Kind.values()) {
+            counts.put(kind, 0);
+        }
+        for (int i = 0; i < NR_SAMPLES; i++) {
+            counts.merge(grammar.next(), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    @Test
+    public void testWeights() {
+        new Randomly(0);
+        GenerationGrammar<Kind> grammar = GenerationGrammar.builder(Kind.class).weight(Kind.A, 5).weight(Kind.B, 3)
+                .disable(Kind.C).build();
+        Map<Kind, Integer> counts = sample(grammar);
+        assertEquals(0, counts.get(Kind.C));
+        assertEquals(NR_SAMPLES * 5 / 9, counts.get(Kind.A), NR_SAMPLES / 100);
+        assertEquals(NR_SAMPLES * 3 / 9, counts.get(Kind.B), NR_SAMPLES / 100);
+        assertEquals(NR_SAMPLES / 9, counts.get(Kind.D), NR_SAMPLES / 100);
+    }
+
+    @Test
+    public void testSingleKind() {
+        GenerationGrammar<Kind> grammar = GenerationGrammar.builder(Kind.class).disable(Kind.A, Kind.B)
+                .disableIf(true, Kind.C).build();
+        assertEquals(NR_SAMPLES, sample(grammar).get(Kind.D));
+    }
+
+    @Test
+    public void testAllDisabled() {
+        assertThrows(IllegalStateException.class,
+                () -> GenerationGrammar.builder(Kind.class).disable(Kind.values()).build());
+    }
+
+    @Test
+    public void testCacheCompilesPerOptions() {
+        GenerationGrammar.Cache<boolean[], Kind> cache = new GenerationGrammar.Cache<>(
+                options -> GenerationGrammar.builder(Kind.class).disableIf(options[0], Kind.A).build());
+        boolean[] options = { true };
+        GenerationGrammar<Kind> grammar = cache.get(options);
+        assertSame(grammar, cache.get(options));
+        assertEquals(0, sample(grammar).get(Kind.A));
+        assertNotSame(grammar, cache.get(new boolean[] { false }));
+    }
+
+}
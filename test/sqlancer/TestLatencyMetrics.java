@@ -0,0 +1,89 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.Test;
+
+import sqlancer.common.metrics.LatencyHistogram;
+import sqlancer.common.metrics.LatencyMetrics;
+
+public class TestLatencyMetrics {
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 100_000; i++) {
+            histogram.record(i * 1000);
+        }
+        assertEquals(100_000, histogram.getCount());
+        assertEquals(100_000_000L, histogram.getMax());
+        for (double percentile : new double[] { 1, 50, 90, 99, 99.9 }) {
+            double expected = percentile * 1_000_000;
+            double actual = histogram.getValueAtPercentile(percentile);
+            assertTrue(Math.abs(actual - expected) / expected < 0.04, percentile + ": " + actual);
+        }
+        assertEquals(100_000_000L, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testSmallAndExtremeValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getValueAtPercentile(50));
+        histogram.record(7);
+        assertEquals(7, histogram.getValueAtPercentile(50));
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testConcurrentRecording() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread thread = new Thread(() -> {
+                for (int j = 0; j < 100_000; j++) {
+                    histogram.record(j);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(400_000, histogram.getCount());
+        assertEquals(4L * 99_999 * 100_000 / 2, histogram.getSum());
+    }
+
+    @Test
+    public void testPrometheusText() throws Exception {
+        LatencyMetrics.reset();
+        LatencyMetrics.record("sqlite3", LatencyMetrics.Phase.EXECUTION, "CREATE_INDEX",
+                LatencyMetrics.Outcome.SUCCESS, 2_000_000);
+        LatencyMetrics.record("sqlite3", LatencyMetrics.Phase.EXECUTION, "CREATE_INDEX",
+                LatencyMetrics.Outcome.SUCCESS, 2_000_000);
+        LatencyMetrics.record("sqlite3", LatencyMetrics.Phase.SCHEMA_REFRESH, null,
+                LatencyMetrics.Outcome.EXPECTED_ERROR, 1000);
+        String text = LatencyMetrics.toPrometheusText();
+        String labels = "dbms=\"sqlite3\",phase=\"execution\",kind=\"CREATE_INDEX\",outcome=\"success\"";
+        assertTrue(text.contains("# TYPE sqlancer_latency_seconds summary\n"), text);
+        assertTrue(text.contains("sqlancer_latency_seconds_count{" + labels + "} 2\n"), text);
+        assertTrue(text.contains("sqlancer_latency_seconds_sum{" + labels + "} 0.004\n"), text);
+        assertTrue(text.contains("phase=\"schema_refresh\",kind=\"other\",outcome=\"expected_error\""), text);
+
+        LatencyMetrics.registerMBean();
+        LatencyMetrics.registerMBean();
+        Object prometheusText = ManagementFactory.getPlatformMBeanServer()
+                .getAttribute(new ObjectName(LatencyMetrics.OBJECT_NAME), "PrometheusText");
+        assertEquals(text, prometheusText);
+        LatencyMetrics.reset();
+    }
+
+}
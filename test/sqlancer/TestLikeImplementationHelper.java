@@ -0,0 +1,87 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+public class TestLikeImplementationHelper {
+
+    @Test
+    public void testWildcards() {
+        assertTrue(LikeImplementationHelper.match("", "", true));
+        assertTrue(LikeImplementationHelper.match("", "%", true));
+        assertTrue(LikeImplementationHelper.match("", "%%", true));
+        assertFalse(LikeImplementationHelper.match("", "_", true));
+        assertTrue(LikeImplementationHelper.match("abc", "a_c", true));
+        assertTrue(LikeImplementationHelper.match("abc", "%c", true));
+        assertTrue(LikeImplementationHelper.match("abc", "a%", true));
+        assertTrue(LikeImplementationHelper.match("abcbc", "%b_", true));
+        assertFalse(LikeImplementationHelper.match("abc", "a_", true));
+        assertFalse(LikeImplementationHelper.match("abc", "%b", true));
+        assertTrue(LikeImplementationHelper.match("mississippi", "m%issip%", true));
+    }
+
+    @Test
+    public void testCaseSensitivity() {
+        assertFalse(LikeImplementationHelper.match("ABC", "abc", true));
+        assertTrue(LikeImplementationHelper.match("ABC", "abc", false));
+        assertTrue(LikeImplementationHelper.match("aBc", "A%C", false));
+        // only ASCII letters are folded
+        assertFalse(LikeImplementationHelper.match("ä", "Ä", false));
+    }
+
+    @Test
+    public void testAgainstRegex() {
+        Random r = new Random(0);
+        char[] patternChars = { 'a', 'b', 'A', '%', '_' };
+        char[] strChars = { 'a', 'b', 'A', 'B' };
+        for (int i = 0; i < 100000; i++) {
+            String pattern = randomString(r, patternChars, 6);
+            String str = randomString(r, strChars, 8);
+            for (boolean caseSensitive : new boolean[] { true, false }) {
+                assertEquals(matchWithRegex(str, pattern, caseSensitive),
+                        LikeImplementationHelper.match(str, pattern, caseSensitive), str + " LIKE " + pattern);
+            }
+        }
+    }
+
+    @Test
+    public void testAdversarialPattern() {
+        String str = "a".repeat(100000);
+        String pattern = "%a".repeat(50) + "b";
+        assertTimeoutPreemptively(Duration.ofSeconds(10),
+                () -> assertFalse(LikeImplementationHelper.match(str, pattern, true)));
+    }
+
+    private static String randomString(Random r, char[] chars, int maxLength) {
+        StringBuilder sb = new StringBuilder();
+        int length = r.nextInt(maxLength + 1);
+        for (int i = 0; i < length; i++) {
+            sb.append(chars[r.nextInt(chars.length)]);
+        }
+        return sb.toString();
+    }
+
+    private static boolean matchWithRegex(String str, String pattern, boolean caseSensitive) {
+        StringBuilder sb = new StringBuilder();
+        for (char c : pattern.toCharArray()) {
+            if (c == '%') {
+                sb.append(".*");
+            } else if (c == '_') {
+                sb.append('.');
+            } else {
+                sb.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        int flags = Pattern.DOTALL | (caseSensitive ? 0 : Pattern.CASE_INSENSITIVE);
+        return Pattern.compile(sb.toString(), flags).matcher(str).matches();
+    }
+
+}
@@ -0,0 +1,113 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Statement;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.beust.jcommander.JCommander;
+
+import sqlancer.sqlite3.SQLite3GlobalState;
+import sqlancer.sqlite3.SQLite3OracleFactory;
+import sqlancer.sqlite3.SQLite3Options;
+import sqlancer.sqlite3.SQLite3Provider;
+
+public class TestOracleSessions {
+
+    @Test
+    public void testAdditionalSessionsRunReadOnlyOracle() throws Exception {
+        ProviderAdapter<SQLite3GlobalState, SQLite3Options, SQLConnection> provider = new SQLite3Provider();
+        SQLite3GlobalState state = createDatabase(provider, "sessions-read-only", SQLite3OracleFactory.NoREC);
+        try {
+            ProviderAdapter.BugSink<SQLite3GlobalState> bugSink = new ProviderAdapter.BugSink<>();
+            long nrQueries = Main.nrQueries.get();
+            ExecutorService sessions = provider.startAdditionalSessions(state, bugSink);
+            assertNotNull(sessions);
+            sessions.shutdown();
+            assertTrue(sessions.awaitTermination(1, TimeUnit.MINUTES));
+            assertFalse(bugSink.isStopped());
+            assertTrue(Main.nrQueries.get() > nrQueries);
+        } finally {
+            state.getConnection().close();
+        }
+    }
+
+    @Test
+    public void testModifyingOracleUsesSingleSession() throws Exception {
+        ProviderAdapter<SQLite3GlobalState, SQLite3Options, SQLConnection> provider = new SQLite3Provider();
+        SQLite3GlobalState state = createDatabase(provider, "sessions-modifying", SQLite3OracleFactory.CODDTest);
+        try {
+            assertFalse(SQLite3OracleFactory.CODDTest.isReadOnly());
+            assertNull(provider.startAdditionalSessions(state, new ProviderAdapter.BugSink<SQLite3GlobalState>()));
+        } finally {
+            state.getConnection().close();
+        }
+    }
+
+    @Test
+    public void testBugSinkSurfacesFirstBug() throws Exception {
+        SQLite3Provider provider = new SQLite3Provider();
+        SQLite3GlobalState mainState = createState(provider, "sessions-bug-sink");
+        SQLite3GlobalState firstSession = createState(provider, "sessions-bug-sink");
+        firstSession.getState().logStatement("SELECT 1;");
+        SQLite3GlobalState secondSession = createState(provider, "sessions-bug-sink");
+        ProviderAdapter.BugSink<SQLite3GlobalState> bugSink = new ProviderAdapter.BugSink<>();
+        assertFalse(bugSink.isStopped());
+        bugSink.report(firstSession, null, new AssertionError("first"));
+        bugSink.report(secondSession, null, new AssertionError("second"));
+        assertTrue(bugSink.isStopped());
+        AssertionError error = assertThrows(AssertionError.class, () -> bugSink.surface(mainState));
+        assertEquals("first", error.getMessage());
+        assertEquals(1, mainState.getState().getStatements().size());
+    }
+
+    @Test
+    public void testBugSinkReturnsReproducer() throws Exception {
+        SQLite3Provider provider = new SQLite3Provider();
+        SQLite3GlobalState mainState = createState(provider, "sessions-reproducer");
+        Reproducer<SQLite3GlobalState> reproducer = globalState -> true;
+        ProviderAdapter.BugSink<SQLite3GlobalState> bugSink = new ProviderAdapter.BugSink<>();
+        assertNull(bugSink.surface(mainState));
+        bugSink.report(mainState, reproducer, null);
+        assertSame(reproducer, bugSink.surface(mainState));
+        assertEquals(0, mainState.getState().getStatements().size());
+    }
+
+    private static SQLite3GlobalState createState(DatabaseProvider<?, ?, ?> provider, String databaseName) {
+        MainOptions options = new MainOptions();
+        JCommander.newBuilder().addObject(options).build().parse("--oracle-sessions", "3", "--num-queries", "20",
+                "--log-each-select", "false");
+        SQLite3GlobalState state = new SQLite3GlobalState();
+        state.setMainOptions(options);
+        state.setDbmsSpecificOptions(new SQLite3Options());
+        state.setDatabaseName(databaseName);
+        state.setRandomly(new Randomly(0));
+        state.setState(provider.getStateToReproduce(databaseName));
+        state.setManager(new Main.QueryManager<>(state, null));
+        return state;
+    }
+
+    private static SQLite3GlobalState createDatabase(
+            ProviderAdapter<SQLite3GlobalState, SQLite3Options, SQLConnection> provider, String databaseName,
+            SQLite3OracleFactory oracle) throws Exception {
+        SQLite3GlobalState state = createState(provider, databaseName);
+        state.getDbmsSpecificOptions().oracles = oracle;
+        state.setConnection(provider.createDatabase(state));
+        try (Statement s = state.getConnection().createStatement()) {
+            s.execute("CREATE TABLE t0(c0 INT, c1 TEXT)");
+            s.execute("INSERT INTO t0 VALUES (1, 'a'), (2, NULL), (NULL, 'b')");
+        }
+        state.updateSchema();
+        return state;
+    }
+
+}
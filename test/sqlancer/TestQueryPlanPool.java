@@ -0,0 +1,83 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+public class TestQueryPlanPool {
+
+    @Test
+    public void testFingerprintIgnoresWhitespace() {
+        assertEquals(QueryPlanPool.fingerprint("SCAN t0; SEARCH t1"),
+                QueryPlanPool.fingerprint("  SCAN   t0;\n SEARCH t1 "));
+        assertNotEquals(QueryPlanPool.fingerprint("SCAN t0;SEARCH t1"), QueryPlanPool.fingerprint("SCAN t1;SEARCH t0"));
+    }
+
+    @Test
+    public void testNewPlansAreSharedAcrossPools() {
+        QueryPlanPool pool1 = new QueryPlanPool();
+        QueryPlanPool pool2 = new QueryPlanPool();
+        assertTrue(pool1.add("testNewPlansAreSharedAcrossPools SCAN t0", "SELECT * FROM t0"));
+        assertFalse(pool1.add("testNewPlansAreSharedAcrossPools SCAN t0", "SELECT c0 FROM t0"));
+        assertFalse(pool2.add("testNewPlansAreSharedAcrossPools SCAN t0", "SELECT * FROM t0"));
+        assertEquals(1, pool1.size());
+        // the query is kept for re-checking in the second database, although the plan is not new
+        assertEquals(1, pool2.size());
+    }
+
+    @Test
+    public void testObservedPlansAreBounded() {
+        long recent = QueryPlanPool.fingerprint("testObservedPlansAreBounded recent");
+        long old = QueryPlanPool.fingerprint("testObservedPlansAreBounded old");
+        assertTrue(QueryPlanPool.observe(old));
+        assertTrue(QueryPlanPool.observe(recent));
+        // fill two generations, observing the recent plan again in each of them
+        for (long i = 0; i < 2L * QueryPlanPool.MAX_PLANS_PER_GENERATION + 2; i++) {
+            QueryPlanPool.observe(QueryPlanPool.fingerprint("testObservedPlansAreBounded " + i));
+            if (i % QueryPlanPool.MAX_PLANS_PER_GENERATION == 0) {
+                assertFalse(QueryPlanPool.observe(recent));
+            }
+        }
+        assertFalse(QueryPlanPool.observe(recent));
+        assertTrue(QueryPlanPool.observe(old));
+    }
+
+    @Test
+    public void testRevalidateInRounds() throws Exception {
+        QueryPlanPool pool = new QueryPlanPool();
+        Map<String, String> plans = new HashMap<>();
+        for (int i = 0; i < 10; i++) {
+            String query = "SELECT " + i;
+            plans.put(query, "testRevalidateInRounds plan " + i);
+            pool.add(plans.get(query), query);
+        }
+        List<String> checked = new ArrayList<>();
+        assertEquals(0, pool.revalidate(4, query -> {
+            checked.add(query);
+            return plans.get(query);
+        }));
+        assertEquals(List.of("SELECT 0", "SELECT 1", "SELECT 2", "SELECT 3"), checked);
+
+        // invalidate one query, change the plan of another one, and merge two plans
+        plans.put("SELECT 4", "");
+        plans.put("SELECT 5", "testRevalidateInRounds changed plan 5");
+        plans.put("SELECT 7", plans.get("SELECT 6"));
+        checked.clear();
+        assertEquals(1, pool.revalidate(8, query -> {
+            checked.add(query);
+            return plans.get(query);
+        }));
+        assertEquals(List.of("SELECT 4", "SELECT 5", "SELECT 6", "SELECT 7", "SELECT 8", "SELECT 9", "SELECT 0",
+                "SELECT 1"), checked);
+        assertEquals(8, pool.size());
+    }
+
+}
@@ -9,7 +9,9 @@ import static org.junit.jupiter.api.Assertions.fail;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -247,6 +249,42 @@ public class TestRandomly {
         }
     }
 
+    @Test
+    public void testThreadAndDatabaseSeedsAreDistinct() {
+        Set<Long> seeds = new HashSet<>();
+        for (int thread = 0; thread < 100; thread++) {
+            long threadSeed = Randomly.deriveSeed(42, Randomly.SeedStream.THREAD, thread);
+            for (int database = 0; database < 100; database++) {
+                long databaseSeed = Randomly.deriveSeed(threadSeed, Randomly.SeedStream.DATABASE, database);
+                assertTrue(seeds.add(databaseSeed), thread + " " + database);
+                for (int session = 1; session < 4; session++) {
+                    assertTrue(seeds.add(Randomly.deriveSeed(databaseSeed, Randomly.SeedStream.SESSION, session)));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testDeriveSeed() {
+        assertNotEquals(42, Randomly.deriveSeed(42, Randomly.SeedStream.THREAD, 0));
+        assertEquals(Randomly.deriveSeed(42, Randomly.SeedStream.THREAD, 1),
+                Randomly.deriveSeed(42, Randomly.SeedStream.THREAD, 1));
+        assertNotEquals(Randomly.deriveSeed(42, Randomly.SeedStream.THREAD, 1),
+                Randomly.deriveSeed(42, Randomly.SeedStream.THREAD, 2));
+        assertNotEquals(Randomly.deriveSeed(42, Randomly.SeedStream.THREAD, 1),
+                Randomly.deriveSeed(43, Randomly.SeedStream.THREAD, 1));
+        assertNotEquals(Randomly.deriveSeed(42, Randomly.SeedStream.THREAD, 1),
+                Randomly.deriveSeed(42, Randomly.SeedStream.DATABASE, 1));
+        // creating an unseeded instance does not interrupt a seeded sequence
+        new Randomly(7);
+        long first = Randomly.getNonCachedInteger();
+        new Randomly();
+        long second = Randomly.getNonCachedInteger();
+        new Randomly(7);
+        assertEquals(first, Randomly.getNonCachedInteger());
+        assertEquals(second, Randomly.getNonCachedInteger());
+    }
+
     private List<String> getRandomValueList(Randomly r) {
         List<String> values = new ArrayList<>();
         for (int i = 0; i < 1000; i++) {
@@ -0,0 +1,95 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import sqlancer.common.query.Query;
+import sqlancer.common.query.SQLQueryAdapter;
+import sqlancer.sqlite3.SQLite3GlobalState;
+import sqlancer.sqlite3.SQLite3Options;
+import sqlancer.sqlite3.SQLite3Provider;
+
+public class TestReducerDatabaseManager {
+
+    private static final class CountingQuery extends SQLQueryAdapter {
+
+        private int nrExecutions;
+
+        CountingQuery(String query) {
+            super(query);
+        }
+
+        @Override
+        public <G extends GlobalState<?, ?, SQLConnection>> boolean execute(G globalState, String... fills)
+                throws SQLException {
+            nrExecutions++;
+            return super.execute(globalState, fills);
+        }
+
+    }
+
+    @Test
+    public void testSettingsAreAppliedToRestoredDatabase() throws Exception {
+        CountingQuery pragma = new CountingQuery("PRAGMA case_sensitive_like=ON;");
+        CountingQuery insert = new CountingQuery("INSERT INTO t0 VALUES ('a');");
+        List<Query<SQLConnection>> prefix = List.of(pragma, new CountingQuery("CREATE TABLE t0(c0);"), insert);
+        SQLite3GlobalState state = createGlobalState("reducer-settings");
+        try (ReducerDatabaseManager<SQLite3GlobalState, SQLite3Options, SQLConnection> databases = createManager(
+                state)) {
+            databases.prepare(state, append(prefix, "DELETE FROM t0;"), prefix.size());
+            databases.prepare(state, append(prefix, "INSERT INTO t0 VALUES ('b');"), prefix.size());
+            assertEquals(1, insert.nrExecutions);
+            assertEquals(2, pragma.nrExecutions);
+            assertEquals(2, queryInt(state, "SELECT COUNT(*) FROM t0"));
+            assertEquals(0, queryInt(state, "SELECT 'a' LIKE 'A'"));
+        }
+    }
+
+    @Test
+    public void testPrefixWithTempTableIsNotCheckpointed() throws Exception {
+        CountingQuery insert = new CountingQuery("INSERT INTO t0 VALUES (1);");
+        List<Query<SQLConnection>> prefix = List.of(new CountingQuery("CREATE TEMP TABLE t0(c0);"), insert);
+        SQLite3GlobalState state = createGlobalState("reducer-temp");
+        try (ReducerDatabaseManager<SQLite3GlobalState, SQLite3Options, SQLConnection> databases = createManager(
+                state)) {
+            databases.prepare(state, append(prefix, "DELETE FROM t0;"), prefix.size());
+            databases.prepare(state, append(prefix, "INSERT INTO t0 VALUES (2);"), prefix.size());
+            assertEquals(2, insert.nrExecutions);
+            assertEquals(2, queryInt(state, "SELECT COUNT(*) FROM t0"));
+        }
+    }
+
+    private static ReducerDatabaseManager<SQLite3GlobalState, SQLite3Options, SQLConnection> createManager(
+            SQLite3GlobalState state) {
+        return new ReducerDatabaseManager<>(new SQLite3Provider(), state);
+    }
+
+    private static SQLite3GlobalState createGlobalState(String databaseName) {
+        SQLite3GlobalState state = new SQLite3GlobalState();
+        state.setMainOptions(MainOptions.DEFAULT_OPTIONS);
+        state.setDbmsSpecificOptions(new SQLite3Options());
+        state.setDatabaseName(databaseName);
+        return state;
+    }
+
+    private static List<Query<SQLConnection>> append(List<Query<SQLConnection>> prefix, String statement) {
+        List<Query<SQLConnection>> statements = new ArrayList<>(prefix);
+        statements.add(new CountingQuery(statement));
+        return statements;
+    }
+
+    private static int queryInt(SQLite3GlobalState state, String query) throws SQLException {
+        try (Statement s = state.getConnection().createStatement(); ResultSet rs = s.executeQuery(query)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+}
@@ -0,0 +1,61 @@
+package sqlancer.cnosdb;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+import sqlancer.cnosdb.client.CnosDBClient;
+import sqlancer.cnosdb.client.CnosDBResultSet;
+
+public class TestCnosDBClient {
+
+    @Test
+    public void testStreamingAndKeepAlive() throws Exception {
+        Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/v1/sql", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            String query = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.ISO_8859_1);
+            int status = query.startsWith("SELECT") ? 200 : 422;
+            byte[] body = (status == 200 ? "table_name\nm0\n\"m,1\"\n" : "error").getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        try {
+            CnosDBClient client = new CnosDBClient("127.0.0.1", server.getAddress().getPort(), "root", "", "db", 1);
+            for (int i = 0; i < 10; i++) {
+                try (CnosDBResultSet rs = client.executeQuery("SELECT * FROM m0")) {
+                    assertTrue(rs.next());
+                    assertEquals("m0", rs.getString(1));
+                    assertTrue(rs.next());
+                    assertEquals("m,1", rs.getString(1));
+                    assertFalse(rs.next());
+                }
+                // a result set that is closed early releases its connection
+                client.executeQuery("SELECT * FROM m0").close();
+                assertTrue(client.execute("SELECT 1"));
+                assertThrows(Exception.class, () -> client.executeQuery("DROP TABLE m0"));
+            }
+            client.close();
+            // all requests were sent over the same kept-alive connection
+            assertEquals(1, clientPorts.size());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+}
@@ -0,0 +1,112 @@
+package sqlancer.postgres;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import sqlancer.postgres.PostgresSchema.PostgresColumn;
+import sqlancer.postgres.PostgresSchema.PostgresDataType;
+import sqlancer.postgres.PostgresSchema.PostgresIndex;
+import sqlancer.postgres.PostgresSchema.PostgresTable;
+
+public class TestPostgresSchemaDelta {
+
+    private static PostgresTable table(String name, boolean isView, String... columnNames) {
+        List<PostgresColumn> columns = new ArrayList<>();
+        for (String columnName : columnNames) {
+            columns.add(new PostgresColumn(columnName, PostgresDataType.INT));
+        }
+        PostgresTable table = new PostgresTable(name, columns, new ArrayList<>(List.of(PostgresIndex.create("i0"))),
+                PostgresTable.TableType.STANDARD, new ArrayList<>(), isView, !isView);
+        for (PostgresColumn c : columns) {
+            c.setTable(table);
+        }
+        return table;
+    }
+
+    private static PostgresSchema schema() {
+        return new PostgresSchema(Arrays.asList(table("t0", false, "c0"), table("t1", false, "c0", "c1"),
+                table("v0", true, "c0")), "database0");
+    }
+
+    private static List<String> indexNames(PostgresSchema schema, String tableName) {
+        return schema.getDatabaseTables().stream().filter(t -> t.getName().equals(tableName))
+                .flatMap(t -> t.getIndexes().stream()).map(PostgresIndex::getIndexName).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testCreateIndex() {
+        PostgresSchema schema = schema();
+        PostgresSchema updated = PostgresSchemaDelta.apply(schema,
+                "CREATE UNIQUE INDEX i1 ON ONLY t1 USING BTREE(c1, (c0 + 1)) WHERE c0 > 0;");
+        assertEquals(List.of("i0", "i1"), indexNames(updated, "t1"));
+        assertEquals(List.of("i0"), indexNames(schema, "t1"));
+        PostgresTable table = updated.getDatabaseTables().get(1);
+        assertSame(table, table.getColumns().get(0).getTable());
+        PostgresTable previousTable = schema.getDatabaseTables().get(1);
+        assertSame(previousTable, previousTable.getColumns().get(0).getTable());
+    }
+
+    @Test
+    public void testCreateIndexWithExistingOrUnknownName() {
+        PostgresSchema schema = schema();
+        assertSame(schema, PostgresSchemaDelta.apply(schema, "CREATE INDEX IF NOT EXISTS i0 ON t1(c0);"));
+        assertSame(schema, PostgresSchemaDelta.apply(schema, "CREATE INDEX t1_c0_idx ON t1(c0);"));
+        assertNull(PostgresSchemaDelta.apply(schema, "CREATE INDEX CONCURRENTLY i1 ON t1(c0);"));
+        assertNull(PostgresSchemaDelta.apply(schema, "CREATE INDEX i1 ON t2(c0);"));
+    }
+
+    @Test
+    public void testAddColumn() {
+        PostgresSchema schema = schema();
+        PostgresSchema updated = PostgresSchemaDelta.apply(schema, "ALTER TABLE ONLY t0 ADD COLUMN c1 NUMERIC(5, 2);");
+        PostgresTable table = updated.getDatabaseTables().get(0);
+        assertEquals("c1", table.getColumns().get(1).getName());
+        assertEquals(PostgresDataType.DECIMAL, table.getColumns().get(1).getType());
+        assertSame(table, table.getColumns().get(1).getTable());
+        assertEquals(1, schema.getDatabaseTables().get(0).getColumns().size());
+        updated = PostgresSchemaDelta.apply(schema, "ALTER TABLE ONLY t0 ADD c1 double precision");
+        assertEquals(PostgresDataType.FLOAT, updated.getDatabaseTables().get(0).getColumns().get(1).getType());
+        assertSame(schema, PostgresSchemaDelta.apply(schema, "ALTER TABLE ONLY t0 ADD COLUMN IF NOT EXISTS c0 TEXT;"));
+    }
+
+    @Test
+    public void testAddColumnWithUnknownEffect() {
+        PostgresSchema schema = schema();
+        // the column is also added to the tables inheriting from t0
+        assertNull(PostgresSchemaDelta.apply(schema, "ALTER TABLE t0 ADD COLUMN c1 INT;"));
+        assertNull(PostgresSchemaDelta.apply(schema, "ALTER TABLE ONLY t0 ADD COLUMN c1 INT, DROP COLUMN c0;"));
+        assertNull(PostgresSchemaDelta.apply(schema, "ALTER TABLE ONLY t0 ADD COLUMN c1 FLOAT(10);"));
+        assertNull(PostgresSchemaDelta.apply(schema, "ALTER TABLE ONLY t0 ADD CONSTRAINT a UNIQUE(c0);"));
+    }
+
+    @Test
+    public void testDropTablesAndViews() {
+        PostgresSchema schema = schema();
+        PostgresSchema updated = PostgresSchemaDelta.apply(schema, "DROP TABLE t0, t1;");
+        assertEquals(List.of("v0"),
+                updated.getDatabaseTables().stream().map(PostgresTable::getName).collect(Collectors.toList()));
+        updated = PostgresSchemaDelta.apply(schema, "DROP VIEW IF EXISTS v0, v1 RESTRICT;");
+        assertEquals(List.of("t0", "t1"),
+                updated.getDatabaseTables().stream().map(PostgresTable::getName).collect(Collectors.toList()));
+        assertEquals(3, schema.getDatabaseTables().size());
+        assertNull(PostgresSchemaDelta.apply(schema, "DROP VIEW v1;"));
+        // dependent views are dropped as well
+        assertNull(PostgresSchemaDelta.apply(schema, "DROP TABLE t0 CASCADE;"));
+    }
+
+    @Test
+    public void testOtherStatements() {
+        assertNull(PostgresSchemaDelta.apply(schema(), "CREATE TABLE t2(c0 INT);"));
+        assertNull(PostgresSchemaDelta.apply(schema(), "ALTER TABLE t0 DROP COLUMN c0;"));
+        assertNull(PostgresSchemaDelta.apply(schema(), "INSERT INTO t0(c0) VALUES (1);"));
+    }
+
+}
@@ -0,0 +1,40 @@
+package sqlancer.pqs.sqlite;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import sqlancer.sqlite3.ast.SQLite3Constant;
+import sqlancer.sqlite3.ast.SQLite3Expression;
+import sqlancer.sqlite3.ast.SQLite3Expression.Sqlite3BinaryOperation;
+import sqlancer.sqlite3.ast.SQLite3Expression.Sqlite3BinaryOperation.BinaryOperator;
+
+public class TestExpectedValueMemoization {
+
+    @Test
+    void testDeepExpression() {
+        // without memoization, AND and OR evaluate both operands several times, which is exponential in the depth
+        SQLite3Expression expr = SQLite3Constant.createIntConstant(1);
+        for (int i = 0; i < 100; i++) {
+            BinaryOperator op = i % 2 == 0 ? BinaryOperator.AND : BinaryOperator.OR;
+            expr = new Sqlite3BinaryOperation(expr, expr, op);
+        }
+        SQLite3Expression root = expr;
+        SQLite3Constant value = assertTimeoutPreemptively(Duration.ofSeconds(10), root::getExpectedValue);
+        assertEquals(1, value.asInt());
+    }
+
+    @Test
+    void testValueIsCached() {
+        SQLite3Expression expr = new Sqlite3BinaryOperation(SQLite3Constant.createIntConstant(2),
+                SQLite3Constant.createIntConstant(3), BinaryOperator.ARITHMETIC_AND);
+        SQLite3Constant value = expr.getExpectedValue();
+        assertEquals(2, value.asInt());
+        assertSame(value, expr.getExpectedValue());
+    }
+
+}
@@ -34,6 +34,36 @@ public class TestASTBasedReducer {
         assertEquals(outcome, "SELECT * FROM v0 WHERE v0.c && v0.c;");
     }
 
+    @Test
+    void testReductionStopsAtASTReducerMaxSteps() throws Exception {
+        String query = "SELECT DISTINCT * FROM v0 WHERE (v0.c && v0.c) UNION SELECT * FROM v0;";
+        Function<List<Query<?>>, Boolean> condition = statements -> {
+            String queriesString = TestEnvironment.getQueriesString(statements);
+            try {
+                CCJSqlParserUtil.parse(queriesString);
+            } catch (JSQLParserException e) {
+                return false;
+            }
+            return queriesString.contains("&&");
+        };
+
+        TestEnvironment limited = TestEnvironment.getASTBasedReducerEnv();
+        limited.parseOptions("--ast-reducer-max-steps", "0");
+        limited.setInitialStatementsFromStrings(List.of(query));
+        limited.setBugInducingCondition(condition);
+        limited.runReduce();
+        assertEquals(query, TestEnvironment.getQueriesString(limited.getReducedStatements()));
+
+        // the limits of the statement reducer do not apply to the AST-based reducer
+        TestEnvironment unlimited = TestEnvironment.getASTBasedReducerEnv();
+        unlimited.parseOptions("--statement-reducer-max-steps", "0", "--statement-reducer-max-time", "0");
+        unlimited.setInitialStatementsFromStrings(List.of(query));
+        unlimited.setBugInducingCondition(condition);
+        unlimited.runReduce();
+        assertEquals("SELECT * FROM v0 WHERE v0.c && v0.c;",
+                TestEnvironment.getQueriesString(unlimited.getReducedStatements()));
+    }
+
     @Test
     void testReducingMultipleTokensToOne() throws Exception {
         TestEnvironment env = TestEnvironment.getASTBasedReducerEnv();
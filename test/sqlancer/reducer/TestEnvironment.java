@@ -1,5 +1,6 @@
 package sqlancer.reducer;
 
+import com.beust.jcommander.JCommander;
 import sqlancer.*;
 import sqlancer.common.query.Query;
 import sqlancer.reducer.VirtualDB.VirtualDBGlobalState;
@@ -23,6 +24,7 @@ public class TestEnvironment {
     private VirtualDBGlobalState state, newGlobalState;
 
     private Reducer<VirtualDBGlobalState> reducer = null;
+    private final List<VirtualDBGlobalState> workerStates = new ArrayList<>();
 
     enum ReducerType {
         USING_STATEMENT_REDUCER, USING_AST_BASED_REDUCER
@@ -41,6 +43,19 @@ public class TestEnvironment {
         return new TestEnvironment(ReducerType.USING_STATEMENT_REDUCER);
     }
 
+    public static TestEnvironment getParallelStatementReducerEnv(int nrWorkers) throws Exception {
+        TestEnvironment env = new TestEnvironment(ReducerType.USING_STATEMENT_REDUCER);
+        for (int i = 1; i < nrWorkers; i++) {
+            VirtualDBGlobalState workerState = env.createGlobalState();
+            workerState.setState(env.provider.getStateToReproduce(env.databaseName + "_reduce" + i));
+            workerState.setDatabaseName(env.databaseName + "_reduce" + i);
+            workerState.setMainOptions(env.options);
+            env.workerStates.add(workerState);
+        }
+        env.reducer = new StatementReducer<>(env.provider, env.workerStates);
+        return env;
+    }
+
     public static TestEnvironment getASTBasedReducerEnv() throws Exception {
         return new TestEnvironment(ReducerType.USING_AST_BASED_REDUCER);
     }
@@ -110,6 +125,10 @@ public class TestEnvironment {
         }
     }
 
+    public void parseOptions(String... args) {
+        JCommander.newBuilder().addObject(options).build().parse(args);
+    }
+
     public void setInitialStatementsFromStrings(List<String> statements) {
         List<Query<?>> queries = new ArrayList<>();
         for (String s : statements) {
@@ -121,11 +140,18 @@ public class TestEnvironment {
     public void setBugInducingCondition(Function<List<Query<?>>, Boolean> bugInducingCondition) {
         state.setBugInducingCondition(bugInducingCondition);
         newGlobalState.setBugInducingCondition(bugInducingCondition);
+        for (VirtualDBGlobalState workerState : workerStates) {
+            workerState.setBugInducingCondition(bugInducingCondition);
+        }
     }
 
     public void runReduce() throws Exception {
 
         Reproducer<VirtualDBGlobalState> reproducer = provider.generateAndTestDatabase(newGlobalState);
+        if (!workerStates.isEmpty()) {
+            // the candidates are tested on different states, so evaluate the condition on the passed state
+            reproducer = s -> s.getBugInducingCondition().apply(s.getState().getStatements());
+        }
         reducer.reduce(state, reproducer, newGlobalState);
     }
 
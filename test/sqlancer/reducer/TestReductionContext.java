@@ -0,0 +1,61 @@
+package sqlancer.reducer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import sqlancer.transformations.ReductionContext;
+import sqlancer.transformations.Transformation;
+
+public class TestReductionContext {
+
+    @Test
+    void testRepeatedCandidatesAreNotReplayed() {
+        List<String> candidate = new ArrayList<>(List.of("CREATE TABLE t0(c0 INT);", "SELECT * FROM t0;"));
+        int[] nrJudgements = new int[1];
+        ReductionContext context = new ReductionContext(() -> candidate, () -> {
+            nrJudgements[0]++;
+            return candidate.size() == 2;
+        });
+        Transformation t = new Transformation("test");
+        t.setReductionContext(context);
+
+        assertTrue(t.bugStillTriggers());
+        candidate.remove(1);
+        assertFalse(t.bugStillTriggers());
+        candidate.add("SELECT * FROM t0;");
+        assertTrue(t.bugStillTriggers());
+        candidate.remove(1);
+        assertFalse(t.bugStillTriggers());
+
+        assertEquals(2, nrJudgements[0]);
+        ReductionContext.Statistics stats = context.getStatistics().get("test");
+        assertEquals(4, stats.getNrAttempts());
+        assertEquals(2, stats.getNrHits());
+    }
+
+    @Test
+    void testDifferentStatementBoundariesAreDistinguished() {
+        List<String> candidate = new ArrayList<>(List.of("SELECT 1;", "SELECT 2;"));
+        int[] nrJudgements = new int[1];
+        ReductionContext context = new ReductionContext(() -> candidate, () -> {
+            nrJudgements[0]++;
+            return true;
+        });
+        Transformation t = new Transformation("test");
+        t.setReductionContext(context);
+
+        t.bugStillTriggers();
+        candidate.clear();
+        candidate.add("SELECT 1;SELECT 2;");
+        t.bugStillTriggers();
+
+        assertEquals(2, nrJudgements[0]);
+    }
+
+}
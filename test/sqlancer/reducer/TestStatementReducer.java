@@ -73,6 +73,27 @@ public class TestStatementReducer {
         assertEquals(queriesString, "Statement_2;\nStatement_318;\nStatement_990;");
     }
 
+    @Test
+    void testParallelDeltaDebuggingWithStatementsCombination() throws Exception {
+        TestEnvironment env = TestEnvironment.getParallelStatementReducerEnv(8);
+        List<String> fakeStatements = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            fakeStatements.add("Statement_" + i + ";");
+        }
+
+        env.setInitialStatementsFromStrings(fakeStatements);
+        env.setBugInducingCondition(queryList -> {
+            String queries = TestEnvironment.getQueriesString(queryList);
+            return queries.contains("Statement_2;") && queries.contains("Statement_318;")
+                    && queries.contains("Statement_990;");
+        });
+
+        env.runReduce();
+        List<Query<?>> reducedQueries = env.getReducedStatements();
+        String queriesString = TestEnvironment.getQueriesString(reducedQueries);
+        assertEquals("Statement_2;\nStatement_318;\nStatement_990;", queriesString);
+    }
+
     @Test
     void testSQLite3WithStatementReducer() {
         Main.executeMain(new String[] { "--random-seed", "0", "--use-reducer", "--timeout-seconds", "60",